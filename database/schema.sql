@@ -1,34 +1,44 @@
 -- ============================================================================
 -- Student Management System - Database Schema
 -- ============================================================================
+-- Reference copy of the base tables and indexes created by the application's
+-- schema migrations (core.DatabaseInitializer.MIGRATIONS). The application
+-- applies those migrations itself on startup, together with the full-text
+-- search index and the grade aggregates; keep this file in sync with them.
 
 PRAGMA foreign_keys = ON;
 
 -- 1. Students Table
 CREATE TABLE IF NOT EXISTS students (
-    student_id TEXT PRIMARY KEY,
+    studentID TEXT UNIQUE,
     name TEXT NOT NULL,
     age INTEGER CHECK(age >= 18 AND age <= 100),
-    grade REAL CHECK(grade >= 0.0 AND grade <= 100.0),
-    enrollment_date TEXT NOT NULL
+    grade REAL CHECK(grade >= 0 AND grade <= 100),
+    enrollmentDate DATE,
+    id INTEGER PRIMARY KEY -- stable rowid alias, the key of the search index
 );
 
 -- 2. Courses Table
 CREATE TABLE IF NOT EXISTS courses (
-    course_code TEXT PRIMARY KEY,
-    course_name TEXT NOT NULL,
-    credits INTEGER DEFAULT 3
+    courseCode TEXT PRIMARY KEY,
+    courseName TEXT,
+    credits INTEGER
 );
 
 -- 3. Enrollments Table (Many-to-Many)
 CREATE TABLE IF NOT EXISTS enrollments (
-    student_id TEXT,
-    course_code TEXT,
-    PRIMARY KEY (student_id, course_code),
-    FOREIGN KEY (student_id) REFERENCES students(student_id) ON DELETE CASCADE,
-    FOREIGN KEY (course_code) REFERENCES courses(course_code) ON DELETE CASCADE
+    studentID TEXT,
+    courseCode TEXT,
+    enrollmentGrade REAL,
+    PRIMARY KEY (studentID, courseCode),
+    FOREIGN KEY (studentID) REFERENCES students(studentID) ON DELETE CASCADE,
+    FOREIGN KEY (courseCode) REFERENCES courses(courseCode) ON DELETE CASCADE
 );
 
 -- Indexes for performance
-CREATE INDEX IF NOT EXISTS idx_student_name ON students(name);
-CREATE INDEX IF NOT EXISTS idx_course_code ON enrollments(course_code);
+CREATE INDEX IF NOT EXISTS idx_course_code ON enrollments(courseCode, studentID);
+CREATE INDEX IF NOT EXISTS idx_student_name ON students(name, studentID);
+CREATE INDEX IF NOT EXISTS idx_student_grade ON students(grade DESC, studentID);
+CREATE INDEX IF NOT EXISTS idx_student_age ON students(age, studentID);
+
+ANALYZE;
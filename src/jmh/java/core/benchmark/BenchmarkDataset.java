@@ -0,0 +1,175 @@
+package core.benchmark;
+
+import core.ConnectionPool;
+import core.DatabaseInitializer;
+import core.Student;
+import core.StudentDataGenerator;
+import core.StudentManagerImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Seeded student database for the benchmarks, backed by a file or held in
+ * memory.
+ *
+ * <p>
+ * The data for each size is generated once by a {@link StudentDataGenerator}
+ * seeded with {@link #SEED}, through its bulk database path, into a cached
+ * database file under {@code target/jmh-data} (configurable with the
+ * {@code jmh.dataDir} system property). Each benchmark trial then works on a
+ * private copy: a copy of the file, or an in-memory database restored from it,
+ * so writes in one trial do not leak into the next and every run starts from
+ * identical data.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BenchmarkDataset implements AutoCloseable {
+
+    /**
+     * Seed of the generated data.
+     */
+    static final long SEED = 42;
+
+    /**
+     * Where the dataset lives while benchmarks run.
+     */
+    public enum Storage {
+        FILE, MEMORY
+    }
+
+    private static final Path CACHE_DIR = Path.of(System.getProperty("jmh.dataDir", "target/jmh-data"));
+    private static final AtomicInteger MEMORY_DATABASES = new AtomicInteger();
+
+    private final ConnectionPool pool;
+    private final Connection anchor;
+    private final Path workFile;
+    private final StudentManagerImpl manager;
+
+    private BenchmarkDataset(String url, Connection anchor, Path workFile) {
+        this.pool = new ConnectionPool(url, 4, 10_000, 5_000);
+        this.anchor = anchor;
+        this.workFile = workFile;
+        this.manager = managerFor(pool);
+    }
+
+    /**
+     * Opens a private copy of the dataset of a given size.
+     *
+     * @param size    the number of students
+     * @param storage where to keep the copy
+     * @return the dataset
+     * @throws IOException  if the cached file cannot be created or copied
+     * @throws SQLException if the database cannot be opened
+     */
+    static BenchmarkDataset open(int size, Storage storage) throws IOException, SQLException {
+        Path seeded = seededFile(size);
+        if (storage == Storage.FILE) {
+            Path work = Files.createTempFile("bench_students_", ".db");
+            Files.copy(seeded, work, StandardCopyOption.REPLACE_EXISTING);
+            return new BenchmarkDataset("jdbc:sqlite:" + work, null, work);
+        }
+        String url = "jdbc:sqlite:file:bench" + MEMORY_DATABASES.incrementAndGet() + "?mode=memory&cache=shared";
+        Connection anchor = DriverManager.getConnection(url);
+        try (Statement stmt = anchor.createStatement()) {
+            stmt.executeUpdate("restore from " + seeded.toAbsolutePath());
+        }
+        return new BenchmarkDataset(url, anchor, null);
+    }
+
+    /**
+     * Returns the manager working on this dataset.
+     *
+     * @return the manager
+     */
+    StudentManagerImpl manager() {
+        return manager;
+    }
+
+    /**
+     * Returns the generator of the benchmark data.
+     *
+     * @return the generator
+     */
+    static StudentDataGenerator generator() {
+        return new StudentDataGenerator(SEED);
+    }
+
+    /**
+     * Returns the ID of a student in the middle of the generated data.
+     *
+     * @param size the dataset size
+     * @return the student ID
+     */
+    static String sampleStudentID(int size) {
+        Iterator<Student> students = generator().students(size / 2 + 1);
+        Student student = null;
+        while (students.hasNext()) {
+            student = students.next();
+        }
+        return student.getStudentID();
+    }
+
+    @Override
+    public void close() throws IOException, SQLException {
+        pool.close();
+        if (anchor != null) {
+            anchor.close();
+        }
+        if (workFile != null) {
+            Files.deleteIfExists(workFile);
+            Files.deleteIfExists(Path.of(workFile + "-wal"));
+            Files.deleteIfExists(Path.of(workFile + "-shm"));
+        }
+    }
+
+    /**
+     * Returns the cached database file of a given size, generating it first if
+     * needed.
+     */
+    private static synchronized Path seededFile(int size) throws IOException, SQLException {
+        Path file = CACHE_DIR.resolve("students-" + size + "-" + SEED + ".db");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(CACHE_DIR);
+        Path temp = Files.createTempFile(CACHE_DIR, "students-" + size, ".tmp");
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + temp);
+                Statement stmt = conn.createStatement()) {
+            DatabaseInitializer.migrate(conn);
+            generator().writeDatabase(conn, size);
+            stmt.execute("ANALYZE");
+        }
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+        return file;
+    }
+
+    private static StudentManagerImpl managerFor(ConnectionPool pool) {
+        return new StudentManagerImpl() {
+            @Override
+            protected Connection getConnection() throws SQLException {
+                return pool.getConnection();
+            }
+
+            @Override
+            protected void initializeDatabase() {
+                try (Connection conn = pool.getConnection()) {
+                    DatabaseInitializer.migrate(conn);
+                } catch (SQLException e) {
+                    throw new IllegalStateException("Cannot migrate benchmark database", e);
+                }
+            }
+        };
+    }
+}
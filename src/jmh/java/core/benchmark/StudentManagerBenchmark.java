@@ -0,0 +1,194 @@
+package core.benchmark;
+
+import core.Student;
+import core.StudentDataGenerator;
+import core.StudentManagerImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the hot paths of {@link StudentManagerImpl}.
+ *
+ * <p>
+ * Every benchmark runs against a seeded {@link BenchmarkDataset} of 1k, 100k
+ * and 1M students, both file-backed and in memory. The read caches are
+ * disabled in the forked JVMs so reads measure the database path rather than
+ * cache hits. Run through the {@code benchmark} Maven profile, which writes the
+ * results as JSON to {@code target/jmh-result.json}.
+ * </p>
+ *
+ * <p>
+ * The write benchmarks add rows, so they run in single-shot mode on a
+ * {@link Writable} copy of the dataset that is reopened for every iteration:
+ * each iteration of {@link #addStudent} inserts a batch of
+ * {@link #ADD_BATCH} students and each iteration of {@link #importCsv}
+ * imports {@link #IMPORT_ROWS}, always into a dataset of exactly the
+ * benchmarked size.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Dstudents.cache.maxEntries=0", "-Dstudents.cache.maxRows=0",
+    "-Dorg.slf4j.simpleLogger.defaultLogLevel=warn" })
+public class StudentManagerBenchmark {
+
+    /**
+     * Number of rows in the CSV file imported by {@link #importCsv}.
+     */
+    static final int IMPORT_ROWS = 1_000;
+
+    /**
+     * Number of students inserted by each iteration of {@link #addStudent};
+     * its score is the time of the whole batch.
+     */
+    static final int ADD_BATCH = 100;
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    @Param({ "FILE", "MEMORY" })
+    BenchmarkDataset.Storage storage;
+
+    private BenchmarkDataset dataset;
+    private StudentManagerImpl manager;
+    private Random random;
+    private Path importFile;
+    private Path exportFile;
+
+    /**
+     * Sort order of the list benchmarks.
+     */
+    @State(Scope.Thread)
+    public static class Sort {
+        @Param({ "name", "grade", "age" })
+        String sortBy;
+    }
+
+    /**
+     * Search query of the search benchmark: "selective" is a student ID prefix
+     * matching one student, "broad" is the most popular course code of the
+     * generated catalog ({@code generator().courses().get(0)}), matching every
+     * student enrolled in it.
+     */
+    @State(Scope.Thread)
+    public static class Query {
+        @Param({ "selective", "broad" })
+        String selectivity;
+
+        String text;
+
+        @Setup
+        public void setUp(StudentManagerBenchmark benchmark) {
+            text = selectivity.equals("selective")
+                    ? BenchmarkDataset.sampleStudentID(benchmark.size).substring(0, 8)
+                    : BenchmarkDataset.generator().courses().get(0).getCourseCode();
+        }
+    }
+
+    /**
+     * A private copy of the dataset for the write benchmarks, reopened for
+     * every iteration so the rows they add never accumulate.
+     */
+    @State(Scope.Benchmark)
+    public static class Writable {
+        private BenchmarkDataset dataset;
+        StudentManagerImpl manager;
+
+        @Setup(Level.Iteration)
+        public void open(StudentManagerBenchmark benchmark) throws IOException, SQLException {
+            dataset = BenchmarkDataset.open(benchmark.size, benchmark.storage);
+            manager = dataset.manager();
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() throws IOException, SQLException {
+            dataset.close();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        dataset = BenchmarkDataset.open(size, storage);
+        manager = dataset.manager();
+        random = new Random(BenchmarkDataset.SEED + size);
+        exportFile = Files.createTempFile("bench_export_", ".csv");
+        importFile = Files.createTempFile("bench_import_", ".csv");
+        new StudentDataGenerator(BenchmarkDataset.SEED + 1).writeCsv(importFile, IMPORT_ROWS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        dataset.close();
+        Files.deleteIfExists(exportFile);
+        Files.deleteIfExists(importFile);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5, batchSize = ADD_BATCH)
+    @Measurement(iterations = 10, batchSize = ADD_BATCH)
+    public void addStudent(Writable writable) {
+        ArrayList<String> courses = new ArrayList<>();
+        courses.add("C101");
+        writable.manager.addStudent(new Student(new UUID(random.nextLong(), random.nextLong()).toString(),
+                "Bench Student", 20, 75.0, LocalDate.of(2024, 9, 1), courses));
+    }
+
+    @Benchmark
+    public ArrayList<Student> displayAllStudents(Sort sort) {
+        return manager.displayAllStudents(sort.sortBy);
+    }
+
+    @Benchmark
+    public ArrayList<Student> searchStudents(Query query) {
+        return manager.searchStudents(query.text);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public double calculateAverageGrade() {
+        return manager.calculateAverageGrade();
+    }
+
+    @Benchmark
+    public long exportCsv() {
+        return manager.exportStudentsToCSV(exportFile.toString(), null, null);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 5)
+    @Measurement(iterations = 10)
+    public Object importCsv(Writable writable) {
+        return writable.manager.importStudentsFromCSV(importFile.toString(), null);
+    }
+}
@@ -0,0 +1,485 @@
+package core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Non-blocking facade over a {@link StudentManager}.
+ *
+ * <p>
+ * Every operation of {@link StudentManager} is mirrored by a method returning a
+ * {@link CompletableFuture}. Calls run on a configurable executor, by default
+ * one virtual thread per call, so front ends can issue many concurrent
+ * requests without tying up platform threads.
+ * </p>
+ *
+ * <p>
+ * At most {@code maxConcurrency} calls touch the database at once; the others
+ * wait for a permit on their (cheap) virtual thread. Each call is bounded by a
+ * timeout, {@link #withTimeout(Duration)} returns a view with a different one
+ * and {@link #withoutTimeout()} one without any.
+ * Cancelling a returned future, or its timeout expiring, interrupts the call:
+ * a call still waiting for a permit never runs, and a call in progress is
+ * interrupted, although a SQLite statement already executing runs to
+ * completion.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class AsyncStudentManager implements AutoCloseable {
+
+    /**
+     * Default maximum number of calls running against the database at once,
+     * matching the default connection pool size.
+     */
+    public static final int DEFAULT_MAX_CONCURRENCY = Integer.getInteger("students.async.maxConcurrency",
+            Integer.getInteger("students.db.poolSize", 4));
+
+    /**
+     * Default per-call timeout.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(
+            Long.getLong("students.async.timeoutMillis", 30_000L));
+
+    private final StudentManager delegate;
+    private final Executor executor;
+    private final Semaphore permits;
+
+    /**
+     * Per-call timeout, or null if calls are not bounded.
+     */
+    private final Duration timeout;
+
+    /**
+     * Executor created by this instance and shut down by {@link #close()}, or
+     * null if the executor was supplied by the caller.
+     */
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Creates an async facade running each call on its own virtual thread, with
+     * the default concurrency bound and timeout.
+     *
+     * @param delegate the blocking manager to call
+     */
+    public AsyncStudentManager(StudentManager delegate) {
+        this(delegate, Executors.newVirtualThreadPerTaskExecutor(), DEFAULT_MAX_CONCURRENCY, DEFAULT_TIMEOUT,
+                true);
+    }
+
+    /**
+     * Creates an async facade on the given executor. The executor is not shut
+     * down by {@link #close()}.
+     *
+     * @param delegate       the blocking manager to call
+     * @param executor       the executor running the calls
+     * @param maxConcurrency the maximum number of calls running at once
+     * @param timeout        the per-call timeout
+     */
+    public AsyncStudentManager(StudentManager delegate, Executor executor, int maxConcurrency, Duration timeout) {
+        this(delegate, executor, maxConcurrency, timeout, false);
+    }
+
+    private AsyncStudentManager(StudentManager delegate, Executor executor, int maxConcurrency, Duration timeout,
+            boolean ownsExecutor) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be at least 1");
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.timeout = timeout;
+        this.ownedExecutor = ownsExecutor ? (ExecutorService) executor : null;
+    }
+
+    private AsyncStudentManager(AsyncStudentManager parent, Duration timeout) {
+        this.delegate = parent.delegate;
+        this.executor = parent.executor;
+        this.permits = parent.permits;
+        this.timeout = timeout;
+        this.ownedExecutor = null;
+    }
+
+    /**
+     * Returns a view of this manager whose calls use a different timeout. The
+     * view shares the executor and the concurrency bound with this manager.
+     *
+     * @param timeout the per-call timeout of the view
+     * @return the view
+     */
+    public AsyncStudentManager withTimeout(Duration timeout) {
+        return new AsyncStudentManager(this, timeout);
+    }
+
+    /**
+     * Returns a view of this manager whose calls never time out, for work whose
+     * duration grows with the data, such as imports and exports. The view
+     * shares the executor and the concurrency bound with this manager; its
+     * calls can still be cancelled.
+     *
+     * @return the view
+     */
+    public AsyncStudentManager withoutTimeout() {
+        return new AsyncStudentManager(this, null);
+    }
+
+    /**
+     * Runs an arbitrary operation under the same concurrency bound, timeout and
+     * cancellation rules as the other methods, e.g. an operation specific to
+     * one StudentManager implementation.
+     *
+     * @param <T>       the result type
+     * @param operation the blocking operation
+     * @return a future completed with the operation's result
+     */
+    public <T> CompletableFuture<T> submit(Callable<T> operation) {
+        Call<T> call = new Call<>(operation, permits);
+        if (timeout != null) {
+            call.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+        call.whenComplete((result, error) -> {
+            if (error != null) {
+                call.interruptRunner();
+            }
+        });
+        executor.execute(call);
+        return call;
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#addStudent(Student)}.
+     *
+     * @param student the student to add
+     * @return a future completed when the student was written
+     */
+    public CompletableFuture<Void> addStudent(Student student) {
+        return run(() -> delegate.addStudent(student));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#addStudent(Student, ConflictPolicy)}.
+     *
+     * @param student the student to add
+     * @param policy  what to do if the student ID already exists
+     * @return a future completed with the outcome for the student
+     */
+    public CompletableFuture<BatchInsertReport.Outcome> addStudent(Student student, ConflictPolicy policy) {
+        return submit(() -> delegate.addStudent(student, policy));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#addStudents(Collection)}.
+     *
+     * @param students the students to add
+     * @return a future completed with the per-row outcome report
+     */
+    public CompletableFuture<BatchInsertReport> addStudents(Collection<Student> students) {
+        return submit(() -> delegate.addStudents(students));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#addStudents(Collection, int)}.
+     *
+     * @param students       the students to add
+     * @param commitInterval the number of students per transaction
+     * @return a future completed with the per-row outcome report
+     */
+    public CompletableFuture<BatchInsertReport> addStudents(Collection<Student> students, int commitInterval) {
+        return submit(() -> delegate.addStudents(students, commitInterval));
+    }
+
+    /**
+     * Asynchronous
+     * {@link StudentManager#addStudents(Collection, int, ConflictPolicy)}.
+     *
+     * @param students       the students to add
+     * @param commitInterval the number of students per transaction
+     * @param policy         what to do with rows whose student ID already exists
+     * @return a future completed with the per-row outcome report
+     */
+    public CompletableFuture<BatchInsertReport> addStudents(Collection<Student> students, int commitInterval,
+            ConflictPolicy policy) {
+        return submit(() -> delegate.addStudents(students, commitInterval, policy));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#removeStudent(String)}.
+     *
+     * @param studentID the ID of the student to remove
+     * @return a future completed when the student was removed
+     */
+    public CompletableFuture<Void> removeStudent(String studentID) {
+        return run(() -> delegate.removeStudent(studentID));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#updateStudent(String, Student)}.
+     *
+     * @param studentID      the ID of the student to update
+     * @param updatedStudent the new student details
+     * @return a future completed when the student was updated
+     */
+    public CompletableFuture<Void> updateStudent(String studentID, Student updatedStudent) {
+        return run(() -> delegate.updateStudent(studentID, updatedStudent));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#displayAllStudents()}.
+     *
+     * @return a future completed with all students sorted by name
+     */
+    public CompletableFuture<ArrayList<Student>> displayAllStudents() {
+        return submit(delegate::displayAllStudents);
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#displayAllStudents(String)}.
+     *
+     * @param sortBy the sort key
+     * @return a future completed with all students in sort order
+     */
+    public CompletableFuture<ArrayList<Student>> displayAllStudents(String sortBy) {
+        return submit(() -> delegate.displayAllStudents(sortBy));
+    }
+
+    /**
+     * Asynchronous counterpart of {@link StudentManager#streamStudents(String)}.
+     *
+     * <p>
+     * A stream holds a database connection until it is closed, so it is not
+     * handed across threads. Instead the stream is consumed on the worker, each
+     * student is passed to {@code action}, and the stream is closed afterwards.
+     * </p>
+     *
+     * @param sortBy the sort key
+     * @param action called for each student, in sort order, on the worker
+     * @return a future completed with the number of students visited
+     */
+    public CompletableFuture<Long> forEachStudent(String sortBy, Consumer<? super Student> action) {
+        return submit(() -> {
+            long count = 0;
+            try (Stream<Student> students = delegate.streamStudents(sortBy)) {
+                var it = students.iterator();
+                while (it.hasNext()) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Student stream cancelled");
+                    }
+                    action.accept(it.next());
+                    count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#displayStudentsByCourse(String, String)}.
+     *
+     * @param courseCode the course to filter by
+     * @param sortBy     the sort key
+     * @return a future completed with the enrolled students in sort order
+     */
+    public CompletableFuture<ArrayList<Student>> displayStudentsByCourse(String courseCode, String sortBy) {
+        return submit(() -> delegate.displayStudentsByCourse(courseCode, sortBy));
+    }
+
+    /**
+     * Asynchronous
+     * {@link StudentManager#displayStudentsPage(String, String, PageCursor, int)}.
+     *
+     * @param sortBy     the sort key
+     * @param courseCode the course to filter by, or null
+     * @param after      the cursor of the previous page, or null
+     * @param pageSize   the maximum number of students per page
+     * @return a future completed with the page
+     */
+    public CompletableFuture<StudentPage> displayStudentsPage(String sortBy, String courseCode, PageCursor after,
+            int pageSize) {
+        return submit(() -> delegate.displayStudentsPage(sortBy, courseCode, after, pageSize));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#seekCursor(String, String, int)}.
+     *
+     * @param sortBy     the sort key
+     * @param courseCode the course to filter by, or null
+     * @param offset     the number of students to skip
+     * @return a future completed with the cursor, or null for offset 0
+     */
+    public CompletableFuture<PageCursor> seekCursor(String sortBy, String courseCode, int offset) {
+        return submit(() -> delegate.seekCursor(sortBy, courseCode, offset));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#countStudents(String)}.
+     *
+     * @param courseCode the course to filter by, or null
+     * @return a future completed with the number of students
+     */
+    public CompletableFuture<Integer> countStudents(String courseCode) {
+        return submit(() -> delegate.countStudents(courseCode));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#findStudent(String)}.
+     *
+     * @param studentID the ID of the student
+     * @return a future completed with the student, or null if not found
+     */
+    public CompletableFuture<Student> findStudent(String studentID) {
+        return submit(() -> delegate.findStudent(studentID));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#calculateAverageGrade()}.
+     *
+     * @return a future completed with the average grade
+     */
+    public CompletableFuture<Double> calculateAverageGrade() {
+        return submit(delegate::calculateAverageGrade);
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#calculateAverageGrade(String)}.
+     *
+     * @param courseCode the course to filter by
+     * @return a future completed with the average grade of the course
+     */
+    public CompletableFuture<Double> calculateAverageGrade(String courseCode) {
+        return submit(() -> delegate.calculateAverageGrade(courseCode));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#getGradeStats(String)}.
+     *
+     * @param courseCode the course to report on, or null for all students
+     * @return a future completed with the grade aggregates
+     */
+    public CompletableFuture<GradeStats> getGradeStats(String courseCode) {
+        return submit(() -> delegate.getGradeStats(courseCode));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#searchStudents(String)}.
+     *
+     * @param query the search term
+     * @return a future completed with the matching students
+     */
+    public CompletableFuture<ArrayList<Student>> searchStudents(String query) {
+        return submit(() -> delegate.searchStudents(query));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#exportStudentsToCSV(String)}.
+     *
+     * @param filePath the file to write
+     * @return a future completed when the export finished
+     */
+    public CompletableFuture<Void> exportStudentsToCSV(String filePath) {
+        return run(() -> delegate.exportStudentsToCSV(filePath));
+    }
+
+    /**
+     * Asynchronous {@link StudentManager#importStudentsFromCSV(String)}.
+     *
+     * @param filePath the file to read
+     * @return a future completed when the import finished
+     */
+    public CompletableFuture<Void> importStudentsFromCSV(String filePath) {
+        return run(() -> delegate.importStudentsFromCSV(filePath));
+    }
+
+    /**
+     * Shuts down the default virtual-thread executor, if this instance created
+     * it. Calls already submitted still complete.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private CompletableFuture<Void> run(Runnable operation) {
+        return submit(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Future of one submitted call, and the task that runs it.
+     *
+     * <p>
+     * The task records the thread running it so that cancellation and timeouts
+     * can interrupt it, whether it is waiting for a permit or running.
+     * </p>
+     *
+     * @param <T> the result type
+     */
+    private static final class Call<T> extends CompletableFuture<T> implements Runnable {
+        private final Callable<T> operation;
+        private final Semaphore permits;
+        private Thread runner;
+
+        private Call(Callable<T> operation, Semaphore permits) {
+            this.operation = operation;
+            this.permits = permits;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            boolean acquired = false;
+            try {
+                permits.acquire();
+                acquired = true;
+                if (!isDone()) {
+                    complete(operation.call());
+                }
+            } catch (Throwable t) {
+                completeExceptionally(t);
+            } finally {
+                if (acquired) {
+                    permits.release();
+                }
+                synchronized (this) {
+                    runner = null;
+                    // Do not leak an interrupt aimed at this call into the
+                    // executor's next task.
+                    Thread.interrupted();
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            interruptRunner();
+            return cancelled;
+        }
+
+        private synchronized void interruptRunner() {
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Per-row outcome report of a bulk student insert.
+ *
+ * <p>
+ * Each row passed to {@link StudentManager#addStudents(java.util.Collection)}
+ * gets exactly one {@link RowResult}, in input order, describing whether the
+ * student was inserted, skipped or updated as an existing ID (depending on the
+ * {@link ConflictPolicy}), rejected by validation or failed at the database
+ * level.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class BatchInsertReport {
+
+    /**
+     * Possible outcomes for a single row of a bulk insert.
+     */
+    public enum Outcome {
+        /** The student was inserted. */
+        INSERTED,
+        /** A student with the same ID already existed; the row was skipped. */
+        DUPLICATE,
+        /**
+         * A student with the same ID already existed and was replaced or had
+         * courses merged into it.
+         */
+        UPDATED,
+        /** The row violated a validation rule and was not sent to the database. */
+        INVALID,
+        /** The database rejected the row. */
+        FAILED
+    }
+
+    /**
+     * Outcome of one input row.
+     *
+     * @param index     the zero-based position of the row in the input
+     * @param studentID the ID of the student, or null if the row had none
+     * @param outcome   what happened to the row
+     * @param message   a short explanation for non-inserted rows, otherwise null
+     */
+    public record RowResult(int index, String studentID, Outcome outcome, String message) {
+    }
+
+    private final List<RowResult> rows = new ArrayList<>();
+    private final int[] counts = new int[Outcome.values().length];
+
+    /**
+     * Records the outcome of a row.
+     *
+     * @param index     the zero-based position of the row in the input
+     * @param studentID the ID of the student
+     * @param outcome   what happened to the row
+     * @param message   an optional explanation
+     */
+    void record(int index, String studentID, Outcome outcome, String message) {
+        rows.add(new RowResult(index, studentID, outcome, message));
+        counts[outcome.ordinal()]++;
+    }
+
+    /**
+     * Appends all rows of another report, shifting their indexes by the given
+     * offset.
+     *
+     * @param other  the report to append
+     * @param offset the index of the first row of {@code other} in this report
+     */
+    void append(BatchInsertReport other, int offset) {
+        for (RowResult row : other.rows) {
+            record(row.index() + offset, row.studentID(), row.outcome(), row.message());
+        }
+    }
+
+    /**
+     * Returns the per-row results in input order.
+     *
+     * @return an unmodifiable list of row results
+     */
+    public List<RowResult> getRows() {
+        return Collections.unmodifiableList(rows);
+    }
+
+    /**
+     * Returns the number of rows with the given outcome.
+     *
+     * @param outcome the outcome to count
+     * @return the number of rows with that outcome
+     */
+    public int count(Outcome outcome) {
+        return counts[outcome.ordinal()];
+    }
+
+    /**
+     * Returns the number of inserted students.
+     *
+     * @return the inserted row count
+     */
+    public int getInserted() {
+        return count(Outcome.INSERTED);
+    }
+
+    /**
+     * Returns the number of rows whose ID already existed, whether they were
+     * skipped or applied to the existing student.
+     * 
+     * @return the conflicting row count
+     */
+    public int getConflicts() {
+        return count(Outcome.DUPLICATE) + count(Outcome.UPDATED);
+    }
+
+    /**
+     * Returns the total number of rows in the report.
+     *
+     * @return the row count
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    @Override
+    public String toString() {
+        return "inserted=" + count(Outcome.INSERTED)
+                + ", duplicate=" + count(Outcome.DUPLICATE)
+                + ", updated=" + count(Outcome.UPDATED)
+                + ", invalid=" + count(Outcome.INVALID)
+                + ", failed=" + count(Outcome.FAILED);
+    }
+}
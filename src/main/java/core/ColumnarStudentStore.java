@@ -0,0 +1,479 @@
+package core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory, column-oriented copy of the student data used for analytics.
+ *
+ * <p>
+ * Each student occupies one row of parallel primitive arrays: grades
+ * ({@code double[]}), ages ({@code int[]}) and enrollment dates as epoch days
+ * ({@code int[]}). Enrollments are held as a bit matrix with one row of
+ * {@code long} words per course, whose courses are coded as dense ints. Rows
+ * are kept dense: removing a student moves the last row into its place.
+ * </p>
+ *
+ * <p>
+ * A query first turns its {@link Filter} into a selection vector of matching
+ * row numbers, scanning only the set bits of the course row when a course is
+ * given, and then aggregates the selected values in a plain loop over the
+ * arrays. No Student objects are touched, so averages, histograms and
+ * percentiles stay cheap enough to run on every refresh.
+ * </p>
+ *
+ * <p>
+ * Like {@link TrigramIndex}, the store is built from the database and kept
+ * current by the write methods of {@link StudentManagerImpl}. All operations
+ * are thread-safe.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ColumnarStudentStore {
+
+    /**
+     * Epoch day stored for students without an enrollment date; it is outside
+     * every date range a filter can express.
+     */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /**
+     * Selects the students a query aggregates over. Bounds are inclusive;
+     * {@link #ALL} selects everyone.
+     *
+     * @param courseCode   only students enrolled in this course, or null
+     * @param minAge       the lowest age
+     * @param maxAge       the highest age
+     * @param enrolledFrom the earliest enrollment date, or null
+     * @param enrolledTo   the latest enrollment date, or null
+     */
+    public record Filter(String courseCode, int minAge, int maxAge, LocalDate enrolledFrom, LocalDate enrolledTo) {
+
+        /** Selects every student. */
+        public static final Filter ALL = new Filter(null, Integer.MIN_VALUE, Integer.MAX_VALUE, null, null);
+
+        /**
+         * Selects the students of one course.
+         *
+         * @param courseCode the course, or null for all students
+         * @return the filter
+         */
+        public static Filter course(String courseCode) {
+            return ALL.withCourse(courseCode);
+        }
+
+        /**
+         * Returns this filter restricted to a course.
+         *
+         * @param code the course, or null for any course
+         * @return the new filter
+         */
+        public Filter withCourse(String code) {
+            return new Filter(code, minAge, maxAge, enrolledFrom, enrolledTo);
+        }
+
+        /**
+         * Returns this filter restricted to an age range.
+         *
+         * @param min the lowest age
+         * @param max the highest age
+         * @return the new filter
+         */
+        public Filter withAges(int min, int max) {
+            return new Filter(courseCode, min, max, enrolledFrom, enrolledTo);
+        }
+
+        /**
+         * Returns this filter restricted to an enrollment date range.
+         *
+         * @param from the earliest date, or null for no lower bound
+         * @param to   the latest date, or null for no upper bound
+         * @return the new filter
+         */
+        public Filter withEnrollment(LocalDate from, LocalDate to) {
+            return new Filter(courseCode, minAge, maxAge, from, to);
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final HashMap<String, Integer> rows = new HashMap<>();
+    private final HashMap<String, Integer> courseCodes = new HashMap<>();
+    private final List<long[]> enrollments = new ArrayList<>();
+    private String[] ids = new String[256];
+    private double[] grades = new double[256];
+    private int[] ages = new int[256];
+    private int[] enrollmentDays = new int[256];
+    private int size;
+
+    /**
+     * Replaces the contents of the store with the given students.
+     *
+     * @param students the students to load
+     */
+    public void rebuild(Iterator<Student> students) {
+        lock.writeLock().lock();
+        try {
+            rows.clear();
+            courseCodes.clear();
+            enrollments.clear();
+            Arrays.fill(ids, 0, size, null);
+            size = 0;
+            while (students.hasNext()) {
+                putLocked(students.next());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a student, replacing any row with the same ID.
+     *
+     * @param student the student to add
+     */
+    public void put(Student student) {
+        lock.writeLock().lock();
+        try {
+            putLocked(student);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the age, grade and enrollment date of a student, keeping their
+     * courses. Does nothing if the student is not stored.
+     *
+     * @param studentID the ID of the student to update
+     * @param updated   the new student details
+     */
+    public void update(String studentID, Student updated) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(studentID);
+            if (row != null) {
+                setValuesLocked(row, updated);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Enrolls a stored student in a course. Does nothing if the student is not
+     * stored.
+     *
+     * @param studentID  the ID of the student
+     * @param courseCode the course code to add
+     */
+    public void addCourse(String studentID, String courseCode) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(studentID);
+            if (row != null) {
+                long[] bits = courseBitsLocked(courseCode);
+                bits[row >>> 6] |= 1L << row;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a course from a stored student. Does nothing if the student is not
+     * stored.
+     *
+     * @param studentID  the ID of the student
+     * @param courseCode the course code to remove
+     */
+    public void removeCourse(String studentID, String courseCode) {
+        lock.writeLock().lock();
+        try {
+            Integer row = rows.get(studentID);
+            Integer course = courseCodes.get(courseCode);
+            if (row != null && course != null) {
+                enrollments.get(course)[row >>> 6] &= ~(1L << row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a student.
+     *
+     * @param studentID the ID of the student to remove
+     */
+    public void remove(String studentID) {
+        lock.writeLock().lock();
+        try {
+            Integer removed = rows.remove(studentID);
+            if (removed == null) {
+                return;
+            }
+            int row = removed;
+            int last = --size;
+            for (long[] bits : enrollments) {
+                boolean lastEnrolled = (bits[last >>> 6] & (1L << last)) != 0;
+                bits[last >>> 6] &= ~(1L << last);
+                if (row == last) {
+                    continue;
+                }
+                if (lastEnrolled) {
+                    bits[row >>> 6] |= 1L << row;
+                } else {
+                    bits[row >>> 6] &= ~(1L << row);
+                }
+            }
+            if (row != last) {
+                ids[row] = ids[last];
+                grades[row] = grades[last];
+                ages[row] = ages[last];
+                enrollmentDays[row] = enrollmentDays[last];
+                rows.put(ids[row], row);
+            }
+            ids[last] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of stored students.
+     *
+     * @return the row count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the students matching a filter.
+     *
+     * @param filter the students to count
+     * @return the number of matching students
+     */
+    public int count(Filter filter) {
+        lock.readLock().lock();
+        try {
+            int[] selection = selectLocked(filter);
+            return selection == null ? size : selection.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Computes count, sum, sum of squares, minimum and maximum of the grades of
+     * the matching students in one pass.
+     *
+     * @param filter the students to aggregate
+     * @return the aggregates, or {@link GradeStats#EMPTY} if none match
+     */
+    public GradeStats gradeStats(Filter filter) {
+        lock.readLock().lock();
+        try {
+            int[] selection = selectLocked(filter);
+            int n = selection == null ? size : selection.length;
+            if (n == 0) {
+                return GradeStats.EMPTY;
+            }
+            double sum = 0;
+            double sumOfSquares = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < n; i++) {
+                double g = grades[selection == null ? i : selection[i]];
+                sum += g;
+                sumOfSquares += g * g;
+                min = Math.min(min, g);
+                max = Math.max(max, g);
+            }
+            return new GradeStats(n, sum, sumOfSquares, min, max);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the matching students per grade band.
+     *
+     * @param filter      the students to count
+     * @param upperBounds the exclusive upper bound of every band but the last,
+     *                    in ascending order; e.g. {@code 60, 70, 80, 90} gives
+     *                    the bands 0-59, 60-69, 70-79, 80-89 and 90-100
+     * @return {@code upperBounds.length + 1} counts
+     */
+    public int[] gradeHistogram(Filter filter, double... upperBounds) {
+        int[] counts = new int[upperBounds.length + 1];
+        lock.readLock().lock();
+        try {
+            int[] selection = selectLocked(filter);
+            int n = selection == null ? size : selection.length;
+            for (int i = 0; i < n; i++) {
+                double g = grades[selection == null ? i : selection[i]];
+                int band = 0;
+                while (band < upperBounds.length && g >= upperBounds[band]) {
+                    band++;
+                }
+                counts[band]++;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return counts;
+    }
+
+    /**
+     * Computes a percentile of the grades of the matching students, linearly
+     * interpolating between the two nearest ranks.
+     *
+     * @param filter     the students to consider
+     * @param percentile the percentile, from 0 (minimum) to 100 (maximum)
+     * @return the grade at the percentile, or 0.0 if no students match
+     */
+    public double gradePercentile(Filter filter, double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be 0-100: " + percentile);
+        }
+        double[] selected;
+        lock.readLock().lock();
+        try {
+            int[] selection = selectLocked(filter);
+            if (selection == null) {
+                selected = Arrays.copyOf(grades, size);
+            } else {
+                selected = new double[selection.length];
+                for (int i = 0; i < selected.length; i++) {
+                    selected[i] = grades[selection[i]];
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (selected.length == 0) {
+            return 0.0;
+        }
+        Arrays.sort(selected);
+        double rank = percentile / 100 * (selected.length - 1);
+        int lower = (int) rank;
+        int upper = Math.min(lower + 1, selected.length - 1);
+        return selected[lower] + (rank - lower) * (selected[upper] - selected[lower]);
+    }
+
+    /**
+     * Builds the selection vector of a filter.
+     *
+     * @return the matching rows in ascending order, or null if the filter
+     *         matches every row
+     */
+    private int[] selectLocked(Filter filter) {
+        int minDay = filter.enrolledFrom() == null ? NO_DATE : (int) filter.enrolledFrom().toEpochDay();
+        int maxDay = filter.enrolledTo() == null ? Integer.MAX_VALUE : (int) filter.enrolledTo().toEpochDay();
+        boolean anyDate = filter.enrolledFrom() == null && filter.enrolledTo() == null;
+        int minAge = filter.minAge();
+        int maxAge = filter.maxAge();
+
+        if (filter.courseCode() == null) {
+            if (anyDate && minAge == Integer.MIN_VALUE && maxAge == Integer.MAX_VALUE) {
+                return null;
+            }
+            int[] selection = new int[size];
+            int n = 0;
+            for (int row = 0; row < size; row++) {
+                int age = ages[row];
+                int day = enrollmentDays[row];
+                if (age >= minAge && age <= maxAge && (anyDate || day != NO_DATE && day >= minDay && day <= maxDay)) {
+                    selection[n++] = row;
+                }
+            }
+            return Arrays.copyOf(selection, n);
+        }
+
+        Integer course = courseCodes.get(filter.courseCode());
+        if (course == null) {
+            return new int[0];
+        }
+        long[] bits = enrollments.get(course);
+        int words = (size + 63) >>> 6;
+        int[] selection = new int[size];
+        int n = 0;
+        for (int w = 0; w < words; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                int row = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                int age = ages[row];
+                int day = enrollmentDays[row];
+                if (age >= minAge && age <= maxAge && (anyDate || day != NO_DATE && day >= minDay && day <= maxDay)) {
+                    selection[n++] = row;
+                }
+            }
+        }
+        return Arrays.copyOf(selection, n);
+    }
+
+    private void putLocked(Student student) {
+        Integer existing = rows.get(student.getStudentID());
+        int row;
+        if (existing != null) {
+            row = existing;
+            for (long[] bits : enrollments) {
+                bits[row >>> 6] &= ~(1L << row);
+            }
+        } else {
+            row = size++;
+            if (row == ids.length) {
+                int capacity = row * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                grades = Arrays.copyOf(grades, capacity);
+                ages = Arrays.copyOf(ages, capacity);
+                enrollmentDays = Arrays.copyOf(enrollmentDays, capacity);
+                for (int c = 0; c < enrollments.size(); c++) {
+                    enrollments.set(c, Arrays.copyOf(enrollments.get(c), capacity >>> 6));
+                }
+            }
+            ids[row] = student.getStudentID();
+            rows.put(student.getStudentID(), row);
+        }
+        setValuesLocked(row, student);
+        for (String code : student.getCourses()) {
+            long[] bits = courseBitsLocked(code);
+            bits[row >>> 6] |= 1L << row;
+        }
+    }
+
+    private void setValuesLocked(int row, Student student) {
+        grades[row] = student.getGrade();
+        ages[row] = student.getAge();
+        enrollmentDays[row] = student.getEnrollmentDate() == null ? NO_DATE
+                : (int) student.getEnrollmentDate().toEpochDay();
+    }
+
+    /**
+     * Returns the enrollment bit row of a course, adding the course if needed.
+     */
+    private long[] courseBitsLocked(String courseCode) {
+        Integer course = courseCodes.get(courseCode);
+        if (course == null) {
+            course = enrollments.size();
+            courseCodes.put(courseCode, course);
+            enrollments.add(new long[ids.length >>> 6]);
+        }
+        return enrollments.get(course);
+    }
+}
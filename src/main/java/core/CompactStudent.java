@@ -0,0 +1,350 @@
+package core;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Compact, immutable in-memory view of a student.
+ *
+ * <p>
+ * A {@link Student} holds a 36-character ID string, a {@link LocalDate} and an
+ * {@code ArrayList} of course code strings. This view stores a UUID ID as two
+ * {@code long}s, the enrollment date as an {@code int} epoch day, age and grade
+ * as primitives and the courses as indexes into a shared
+ * {@link CourseDictionary}, which cuts the per-student heap cost to the object
+ * header, the name and one small {@code int[]}. IDs that are not canonical
+ * UUIDs are kept as strings.
+ * </p>
+ *
+ * <p>
+ * Use {@link #of(Student, CourseDictionary)} and {@link #toStudent()} to
+ * convert to and from the mutable Student class.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CompactStudent {
+
+    /**
+     * Epoch day stored for students without an enrollment date.
+     */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int[] NO_COURSES = new int[0];
+
+    private final long idHigh;
+    private final long idLow;
+    private final String textID;
+    private final String name;
+    private final int age;
+    private final double grade;
+    private final int enrollmentDay;
+    private final int[] courses;
+    private final CourseDictionary dictionary;
+
+    private CompactStudent(long idHigh, long idLow, String textID, String name, int age, double grade,
+            int enrollmentDay, int[] courses, CourseDictionary dictionary) {
+        this.idHigh = idHigh;
+        this.idLow = idLow;
+        this.textID = textID;
+        this.name = name;
+        this.age = age;
+        this.grade = grade;
+        this.enrollmentDay = enrollmentDay;
+        this.courses = courses;
+        this.dictionary = dictionary;
+    }
+
+    /**
+     * Creates a compact view from individual values, such as the columns of a
+     * database row.
+     *
+     * @param studentID      the student ID
+     * @param name           the name
+     * @param age            the age
+     * @param grade          the grade
+     * @param enrollmentDate the enrollment date, or null
+     * @param courseCodes    the course codes, or null for none
+     * @param dictionary     the dictionary coding the course codes
+     * @return the compact student
+     */
+    public static CompactStudent of(String studentID, String name, int age, double grade,
+            LocalDate enrollmentDate, Collection<String> courseCodes, CourseDictionary dictionary) {
+        int[] courses = NO_COURSES;
+        if (courseCodes != null && !courseCodes.isEmpty()) {
+            courses = new int[courseCodes.size()];
+            int i = 0;
+            for (String code : courseCodes) {
+                courses[i++] = dictionary.indexOf(code);
+            }
+        }
+        int day = enrollmentDate == null ? NO_DATE : (int) enrollmentDate.toEpochDay();
+        UUID uuid = parseUuid(studentID);
+        if (uuid != null) {
+            return new CompactStudent(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), null, name,
+                    age, grade, day, courses, dictionary);
+        }
+        return new CompactStudent(0, 0, studentID, name, age, grade, day, courses, dictionary);
+    }
+
+    /**
+     * Creates a compact view of a student.
+     *
+     * @param student    the student
+     * @param dictionary the dictionary coding the course codes
+     * @return the compact student
+     */
+    public static CompactStudent of(Student student, CourseDictionary dictionary) {
+        return of(student.getStudentID(), student.getName(), student.getAge(), student.getGrade(),
+                student.getEnrollmentDate(), student.getCourses(), dictionary);
+    }
+
+    /**
+     * Creates a new mutable Student with the same values.
+     *
+     * @return the student
+     */
+    public Student toStudent() {
+        ArrayList<String> codes = new ArrayList<>(courses.length);
+        for (int course : courses) {
+            codes.add(dictionary.codeOf(course));
+        }
+        return new Student(studentID(), name, age, grade, enrollmentDate(), codes);
+    }
+
+    /**
+     * Returns a copy with different details and the same ID and courses.
+     *
+     * @param name           the new name
+     * @param age            the new age
+     * @param grade          the new grade
+     * @param enrollmentDate the new enrollment date, or null
+     * @return the updated copy
+     */
+    public CompactStudent withDetails(String name, int age, double grade, LocalDate enrollmentDate) {
+        int day = enrollmentDate == null ? NO_DATE : (int) enrollmentDate.toEpochDay();
+        return new CompactStudent(idHigh, idLow, textID, name, age, grade, day, courses, dictionary);
+    }
+
+    /**
+     * Returns a copy enrolled in one more course, or this instance if already
+     * enrolled.
+     *
+     * @param courseCode the course code to add
+     * @return the updated copy
+     */
+    public CompactStudent withCourse(String courseCode) {
+        int course = dictionary.indexOf(courseCode);
+        if (hasCourse(course)) {
+            return this;
+        }
+        int[] added = Arrays.copyOf(courses, courses.length + 1);
+        added[courses.length] = course;
+        return new CompactStudent(idHigh, idLow, textID, name, age, grade, enrollmentDay, added, dictionary);
+    }
+
+    /**
+     * Returns a copy without one course, or this instance if not enrolled.
+     *
+     * @param courseCode the course code to remove
+     * @return the updated copy
+     */
+    public CompactStudent withoutCourse(String courseCode) {
+        int course = dictionary.indexOf(courseCode);
+        if (!hasCourse(course)) {
+            return this;
+        }
+        int[] remaining = new int[courses.length - 1];
+        int n = 0;
+        for (int c : courses) {
+            if (c != course) {
+                remaining[n++] = c;
+            }
+        }
+        return new CompactStudent(idHigh, idLow, textID, name, age, grade, enrollmentDay, remaining, dictionary);
+    }
+
+    /**
+     * Returns the student ID.
+     *
+     * @return the ID, rebuilt as a string for UUID IDs
+     */
+    public String studentID() {
+        return textID != null ? textID : new UUID(idHigh, idLow).toString();
+    }
+
+    /**
+     * Tells whether the ID is a UUID held as {@link #idHigh()} and
+     * {@link #idLow()}.
+     *
+     * @return false if the ID is kept as a string
+     */
+    boolean hasUuid() {
+        return textID == null;
+    }
+
+    /**
+     * Returns the most significant bits of a UUID ID.
+     *
+     * @return the bits, or 0 if the ID is not a UUID
+     */
+    long idHigh() {
+        return idHigh;
+    }
+
+    /**
+     * Returns the least significant bits of a UUID ID.
+     *
+     * @return the bits, or 0 if the ID is not a UUID
+     */
+    long idLow() {
+        return idLow;
+    }
+
+    /**
+     * Writes a UUID ID in its canonical 36-character form without creating a
+     * String.
+     *
+     * @param dst receives the characters from index 0
+     */
+    void uuidChars(char[] dst) {
+        hex(idHigh >>> 32, 8, dst, 0);
+        dst[8] = '-';
+        hex(idHigh >>> 16, 4, dst, 9);
+        dst[13] = '-';
+        hex(idHigh, 4, dst, 14);
+        dst[18] = '-';
+        hex(idLow >>> 48, 4, dst, 19);
+        dst[23] = '-';
+        hex(idLow, 12, dst, 24);
+    }
+
+    private static void hex(long value, int digits, char[] dst, int offset) {
+        for (int i = digits - 1; i >= 0; i--) {
+            dst[offset + i] = Character.forDigit((int) (value & 0xF), 16);
+            value >>>= 4;
+        }
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return the name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Returns the age.
+     *
+     * @return the age
+     */
+    public int age() {
+        return age;
+    }
+
+    /**
+     * Returns the grade.
+     *
+     * @return the grade
+     */
+    public double grade() {
+        return grade;
+    }
+
+    /**
+     * Returns the enrollment date.
+     *
+     * @return the date, or null if unknown
+     */
+    public LocalDate enrollmentDate() {
+        return enrollmentDay == NO_DATE ? null : LocalDate.ofEpochDay(enrollmentDay);
+    }
+
+    /**
+     * Returns the enrollment date as a day count.
+     *
+     * @return the epoch day, or {@link Integer#MIN_VALUE} if unknown
+     */
+    public int enrollmentEpochDay() {
+        return enrollmentDay;
+    }
+
+    /**
+     * Returns the number of courses.
+     *
+     * @return the course count
+     */
+    public int courseCount() {
+        return courses.length;
+    }
+
+    /**
+     * Returns a course code.
+     *
+     * @param i the position of the course, from 0 to {@link #courseCount()} - 1
+     * @return the course code
+     */
+    public String courseCode(int i) {
+        return dictionary.codeOf(courses[i]);
+    }
+
+    private boolean hasCourse(int course) {
+        for (int c : courses) {
+            if (c == course) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Parses an ID that is a canonical lowercase UUID, the form generated for
+     * new students, so that it round-trips exactly.
+     *
+     * @return the UUID, or null if the ID has any other form
+     */
+    static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CompactStudent other)) {
+            return false;
+        }
+        return idHigh == other.idHigh && idLow == other.idLow && Objects.equals(textID, other.textID)
+                && Objects.equals(name, other.name) && age == other.age
+                && Double.compare(grade, other.grade) == 0 && enrollmentDay == other.enrollmentDay
+                && dictionary == other.dictionary && Arrays.equals(courses, other.courses);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(idHigh, idLow, textID, name, age, grade, enrollmentDay,
+                Arrays.hashCode(courses));
+    }
+
+    @Override
+    public String toString() {
+        return "CompactStudent[" + studentID() + ", " + name + "]";
+    }
+}
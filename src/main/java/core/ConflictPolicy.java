@@ -0,0 +1,34 @@
+package core;
+
+/**
+ * What an insert does when a student with the same ID already exists.
+ *
+ * <p>
+ * Conflicts are detected by the insert statement itself
+ * ({@code INSERT ... ON CONFLICT(studentID) DO NOTHING}), so no existence check
+ * is run beforehand. Rows that conflict are reported as
+ * {@link BatchInsertReport.Outcome#DUPLICATE} under {@link #SKIP} and as
+ * {@link BatchInsertReport.Outcome#UPDATED} under the other policies.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public enum ConflictPolicy {
+
+    /** Leave the existing student untouched. */
+    SKIP,
+
+    /**
+     * Overwrite the existing student's name, age, grade and enrollment date, and
+     * replace their enrollments with the new student's courses.
+     */
+    REPLACE,
+
+    /**
+     * Keep the existing student's details and enroll them in any of the new
+     * student's courses they are not enrolled in yet.
+     */
+    MERGE_COURSES
+}
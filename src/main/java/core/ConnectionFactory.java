@@ -16,6 +16,14 @@ import java.sql.SQLException;
  * </p>
  * 
  * <p>
+ * Connections are served from a shared {@link ConnectionPool} so that the
+ * database file is not reopened on every operation. The pool size and timeouts
+ * can be tuned with the system properties {@code students.db.poolSize},
+ * {@code students.db.acquireTimeoutMillis} and
+ * {@code students.db.busyTimeoutMillis}.
+ * </p>
+ * 
+ * <p>
  * The class is designed as a utility class with a private constructor to
  * prevent
  * instantiation, providing only static methods for connection creation.
@@ -33,6 +41,26 @@ public final class ConnectionFactory {
      */
     private static final String URL = "jdbc:sqlite:students.db";
 
+    /**
+     * Maximum number of pooled connections handed out at the same time.
+     */
+    private static final int POOL_SIZE = Integer.getInteger("students.db.poolSize", 4);
+
+    /**
+     * How long a caller waits for a free pooled connection, in milliseconds.
+     */
+    private static final long ACQUIRE_TIMEOUT_MILLIS = Long.getLong("students.db.acquireTimeoutMillis", 10_000L);
+
+    /**
+     * SQLite busy timeout applied to every pooled connection, in milliseconds.
+     */
+    private static final int BUSY_TIMEOUT_MILLIS = Integer.getInteger("students.db.busyTimeoutMillis", 5_000);
+
+    /**
+     * Shared connection pool, created on first use.
+     */
+    private static ConnectionPool pool;
+
     /**
      * Private constructor to prevent instantiation.
      * This class should only be used through its static methods.
@@ -41,10 +69,26 @@ public final class ConnectionFactory {
     }
 
     /**
-     * Creates and returns a new database connection.
+     * Returns a pooled connection to the students database.
      * 
      * <p>
-     * Each call to this method creates a new connection to the SQLite database.
+     * Callers are responsible for closing the connection when finished; closing
+     * it returns the underlying SQLite connection to the pool.
+     * </p>
+     * 
+     * @return a pooled Connection object to the students database
+     * @throws SQLException if a database access error occurs or no connection
+     *                      becomes available in time
+     */
+    public static Connection getConnection() throws SQLException {
+        return getPool().getConnection();
+    }
+
+    /**
+     * Creates and returns a new, unpooled database connection.
+     * 
+     * <p>
+     * Each call to this method opens a new connection to the SQLite database.
      * Callers are responsible for closing the connection when finished to prevent
      * resource leaks.
      * </p>
@@ -52,8 +96,30 @@ public final class ConnectionFactory {
      * @return a new Connection object to the students database
      * @throws SQLException if a database access error occurs or the URL is invalid
      */
-
-    public static Connection getConnection() throws SQLException {
+    public static Connection newConnection() throws SQLException {
         return DriverManager.getConnection(URL);
     }
+
+    /**
+     * Returns the shared connection pool, creating it on first access.
+     * 
+     * @return the shared ConnectionPool
+     */
+    public static synchronized ConnectionPool getPool() {
+        if (pool == null) {
+            pool = new ConnectionPool(URL, POOL_SIZE, ACQUIRE_TIMEOUT_MILLIS, BUSY_TIMEOUT_MILLIS);
+        }
+        return pool;
+    }
+
+    /**
+     * Closes the shared connection pool. A new pool is created if a connection
+     * is requested afterwards.
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+        }
+    }
 }
@@ -0,0 +1,373 @@
+package core;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of long-lived SQLite connections.
+ *
+ * <p>
+ * Opening a SQLite connection means opening the database file, reading the
+ * schema and running driver setup. This pool keeps up to {@code maxSize}
+ * physical connections open and hands out lightweight wrappers whose
+ * {@link Connection#close()} returns the underlying connection to the pool
+ * instead of closing it.
+ * </p>
+ *
+ * <p>
+ * Every physical connection is initialized once with:
+ * </p>
+ * <ul>
+ * <li>{@code PRAGMA foreign_keys = ON} so cascade deletes are enforced</li>
+ * <li>{@code PRAGMA journal_mode = WAL} so readers do not block the writer</li>
+ * <li>{@code PRAGMA busy_timeout} so concurrent writers wait instead of
+ * failing with SQLITE_BUSY</li>
+ * </ul>
+ *
+ * <p>
+ * Idle connections are health-checked before being handed out again, and any
+ * statements a caller forgot to close are closed when the connection is
+ * returned. Pool metrics are available through {@link #getStats()}.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class ConnectionPool implements AutoCloseable {
+    /**
+     * Logger instance for recording pool events.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    /**
+     * Idle connections are validated with a test query once they have been idle
+     * for longer than this many milliseconds.
+     */
+    private static final long VALIDATION_INTERVAL_MILLIS = 30_000;
+
+    private final String url;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final int busyTimeoutMillis;
+
+    private final BlockingQueue<PooledEntry> idle;
+    private final Semaphore permits;
+    private volatile boolean closed;
+
+    private final AtomicLong created = new AtomicLong();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a new pool. Physical connections are opened lazily on demand.
+     *
+     * @param url                  the JDBC URL of the SQLite database
+     * @param maxSize              the maximum number of connections handed out
+     *                             at the same time (must be at least 1)
+     * @param acquireTimeoutMillis how long {@link #getConnection()} waits for a
+     *                             free connection before failing
+     * @param busyTimeoutMillis    the SQLite busy timeout applied to every
+     *                             connection
+     */
+    public ConnectionPool(String url, int maxSize, long acquireTimeoutMillis, int busyTimeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1");
+        }
+        this.url = url;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.busyTimeoutMillis = busyTimeoutMillis;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Borrows a connection from the pool.
+     *
+     * <p>
+     * Blocks for up to the configured acquire timeout when all connections are
+     * in use. The returned connection must be closed by the caller, which
+     * returns it to the pool.
+     * </p>
+     *
+     * @return a pooled connection
+     * @throws SQLException if the pool is closed, the timeout expires or a new
+     *                      connection cannot be opened
+     */
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeouts.incrementAndGet();
+                throw new SQLException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledEntry entry = takeHealthyIdle();
+            if (entry == null) {
+                entry = new PooledEntry(openPhysical());
+            }
+            acquired.incrementAndGet();
+            return entry.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a snapshot of the pool metrics.
+     *
+     * @return the current pool statistics
+     */
+    public Stats getStats() {
+        long count = acquired.get();
+        return new Stats(
+                maxSize,
+                maxSize - permits.availablePermits(),
+                idle.size(),
+                created.get(),
+                count,
+                timeouts.get(),
+                validationFailures.get(),
+                count == 0 ? 0 : totalWaitNanos.get() / count,
+                maxWaitNanos.get());
+    }
+
+    /**
+     * Closes all idle connections and rejects further requests. Connections
+     * still in use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledEntry entry;
+        while ((entry = idle.poll()) != null) {
+            closeQuietly(entry.physical);
+        }
+    }
+
+    /**
+     * Polls idle connections until a healthy one is found.
+     *
+     * @return a healthy idle entry, or null if none is available
+     */
+    private PooledEntry takeHealthyIdle() {
+        PooledEntry entry;
+        while ((entry = idle.poll()) != null) {
+            if (isHealthy(entry)) {
+                return entry;
+            }
+            validationFailures.incrementAndGet();
+            logger.warn("Discarding broken pooled connection");
+            closeQuietly(entry.physical);
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether an idle connection can still be used. Connections that have
+     * been idle for a while are probed with a trivial query.
+     */
+    private boolean isHealthy(PooledEntry entry) {
+        try {
+            if (entry.physical.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - entry.lastUsed < VALIDATION_INTERVAL_MILLIS) {
+                return true;
+            }
+            try (Statement stmt = entry.physical.createStatement()) {
+                stmt.execute("SELECT 1");
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens and initializes a new physical connection.
+     */
+    private Connection openPhysical() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("PRAGMA journal_mode = WAL");
+            stmt.execute("PRAGMA busy_timeout = " + busyTimeoutMillis);
+        } catch (SQLException e) {
+            closeQuietly(conn);
+            throw e;
+        }
+        created.incrementAndGet();
+        logger.debug("Opened pooled connection #{} to {}", created.get(), url);
+        return conn;
+    }
+
+    /**
+     * Resets a connection returned by a caller and puts it back into the idle
+     * queue, or closes it if it cannot be reused.
+     */
+    private void release(PooledEntry entry) {
+        try {
+            entry.closeOpenStatements();
+            boolean reusable = !closed && !entry.physical.isClosed();
+            if (reusable && !entry.physical.getAutoCommit()) {
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            entry.lastUsed = System.currentTimeMillis();
+            if (!reusable || !idle.offer(entry)) {
+                closeQuietly(entry.physical);
+            }
+        } catch (SQLException e) {
+            logger.warn("Failed to reset pooled connection, closing it", e);
+            closeQuietly(entry.physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.addAndGet(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException e) {
+            logger.debug("Error closing connection", e);
+        }
+    }
+
+    /**
+     * Snapshot of pool metrics.
+     *
+     * @param maxSize            the configured maximum pool size
+     * @param active             connections currently handed out
+     * @param idle               open connections waiting in the pool
+     * @param created            physical connections opened so far
+     * @param acquired           successful {@code getConnection()} calls
+     * @param timeouts           calls that gave up waiting for a connection
+     * @param validationFailures idle connections discarded by the health check
+     * @param avgWaitNanos       average time spent waiting for a connection
+     * @param maxWaitNanos       longest time spent waiting for a connection
+     */
+    public record Stats(int maxSize, int active, int idle, long created, long acquired, long timeouts,
+            long validationFailures, long avgWaitNanos, long maxWaitNanos) {
+    }
+
+    /**
+     * A physical connection together with the statements opened through its
+     * current lease.
+     */
+    private final class PooledEntry {
+        private final Connection physical;
+        private final List<Statement> openStatements = new ArrayList<>();
+        private long lastUsed = System.currentTimeMillis();
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+
+        /**
+         * Wraps the physical connection in a proxy whose close() returns it to
+         * the pool. Closing the proxy more than once has no further effect.
+         */
+        private Connection lease() {
+            InvocationHandler handler = new InvocationHandler() {
+                private boolean released;
+
+                @Override
+                public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    String name = method.getName();
+                    switch (name) {
+                        case "close" -> {
+                            if (!released) {
+                                released = true;
+                                release(PooledEntry.this);
+                            }
+                            return null;
+                        }
+                        case "isClosed" -> {
+                            return released || physical.isClosed();
+                        }
+                        case "unwrap" -> {
+                            return physical.unwrap((Class<?>) args[0]);
+                        }
+                        case "isWrapperFor" -> {
+                            return physical.isWrapperFor((Class<?>) args[0]);
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return "Pooled[" + physical + "]";
+                        }
+                        default -> {
+                        }
+                    }
+                    if (released) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        Object result = method.invoke(physical, args);
+                        if (result instanceof Statement stmt) {
+                            openStatements.add(stmt);
+                        }
+                        return result;
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            };
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, handler);
+        }
+
+        private void closeOpenStatements() {
+            for (Statement stmt : openStatements) {
+                try {
+                    stmt.close();
+                } catch (SQLException e) {
+                    logger.debug("Error closing leaked statement", e);
+                }
+            }
+            openStatements.clear();
+        }
+    }
+}
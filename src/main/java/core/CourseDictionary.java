@@ -0,0 +1,77 @@
+package core;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared dictionary that codes course codes as dense ints.
+ *
+ * <p>
+ * Each distinct course code is stored once and identified by the order in
+ * which it was first seen, so that many {@link CompactStudent} instances can
+ * reference their courses as small {@code int} arrays instead of lists of
+ * strings. Codes are never removed. All operations are thread-safe; lookups
+ * by index do not lock.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CourseDictionary {
+
+    /**
+     * Dictionary shared by the application's in-memory student views.
+     */
+    public static final CourseDictionary SHARED = new CourseDictionary();
+
+    private final ConcurrentHashMap<String, Integer> indexes = new ConcurrentHashMap<>();
+    private volatile String[] codes = new String[16];
+    private int size;
+
+    /**
+     * Returns the index of a course code, adding the code if it is new.
+     *
+     * @param courseCode the course code
+     * @return the code's index
+     */
+    public int indexOf(String courseCode) {
+        Integer index = indexes.get(courseCode);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = indexes.get(courseCode);
+            if (index == null) {
+                String[] current = codes;
+                if (size == current.length) {
+                    current = Arrays.copyOf(current, size * 2);
+                }
+                current[size] = courseCode;
+                codes = current;
+                index = size++;
+                indexes.put(courseCode, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Returns the course code with a given index.
+     *
+     * @param index an index returned by {@link #indexOf(String)}
+     * @return the course code
+     */
+    public String codeOf(int index) {
+        return codes[index];
+    }
+
+    /**
+     * Returns the number of distinct course codes.
+     *
+     * @return the dictionary size
+     */
+    public int size() {
+        return indexes.size();
+    }
+}
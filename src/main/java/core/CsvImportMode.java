@@ -0,0 +1,25 @@
+package core;
+
+/**
+ * How {@link StudentManagerImpl} reads a CSV file during import.
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public enum CsvImportMode {
+
+    /**
+     * Read lines through a buffered reader and parse them on several threads
+     * with a {@link CsvImportPipeline}. Quoted fields are supported as long as
+     * they do not contain line breaks.
+     */
+    PIPELINED,
+
+    /**
+     * Parse RFC 4180 records straight from a memory-mapped view of the file
+     * with a {@link MappedCsvReader}, creating objects only for valid rows.
+     * Supports quoted fields, e.g. names that contain commas.
+     */
+    MAPPED
+}
@@ -0,0 +1,335 @@
+package core;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Staged, parallel CSV import.
+ *
+ * <p>
+ * An import runs as three stages connected by bounded queues:
+ * </p>
+ * <ol>
+ * <li><b>Reader</b>: one thread reads the file sequentially through a large
+ * buffer and hands out blocks of raw lines.</li>
+ * <li><b>Parsers</b>: {@code workers} threads parse and validate the lines of
+ * each block into students. Lines that fail are counted and logged.</li>
+ * <li><b>Writer</b>: the calling thread collects parsed students into batches
+ * of {@code commitInterval} and writes each batch, e.g. with
+ * {@link StudentManager#addStudents(java.util.Collection, int)}.</li>
+ * </ol>
+ *
+ * <p>
+ * Because the queues are bounded, a slow writer stalls the parsers and a slow
+ * parser stage stalls the reader, so memory use stays constant regardless of
+ * the file size. Progress (lines read, bytes read, rows written, throughput) is
+ * reported after every written batch.
+ * </p>
+ *
+ * <p>
+ * Rows are written in roughly, but not exactly, file order, since blocks may
+ * finish parsing out of order.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class CsvImportPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvImportPipeline.class);
+
+    /**
+     * Number of invalid lines logged individually before only the totals are
+     * reported. Shared with the memory-mapped import in
+     * {@link StudentManagerImpl}.
+     */
+    static final int MAX_LOGGED_INVALID_LINES = 100;
+
+    /**
+     * Size of the reader stage's buffer, in characters.
+     */
+    private static final int READ_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Queue marker telling the next stage that its producer has finished.
+     */
+    private static final Block END = new Block(-1, List.of());
+
+    /**
+     * Import progress and throughput snapshot.
+     *
+     * @param linesRead    data lines read so far (excluding the header)
+     * @param bytesRead    approximate bytes read so far
+     * @param invalid      lines that could not be parsed or validated
+     * @param inserted     students written to the database
+     * @param skipped      parsed students the writer did not insert (e.g.,
+     *                     duplicates or rows rejected by the database)
+     * @param elapsedNanos time since the import started
+     */
+    public record ImportStats(long linesRead, long bytesRead, long invalid, long inserted, long skipped,
+            long elapsedNanos) {
+
+        /**
+         * Returns the number of lines processed per second.
+         *
+         * @return the line throughput
+         */
+        public double linesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : linesRead * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns the read throughput in MiB per second.
+         *
+         * @return the byte throughput
+         */
+        public double mebibytesPerSecond() {
+            return elapsedNanos == 0 ? 0.0 : bytesRead * 1e9 / elapsedNanos / (1 << 20);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("lines=%d, inserted=%d, skipped=%d, invalid=%d, %.0f lines/s, %.1f MiB/s",
+                    linesRead, inserted, skipped, invalid, linesPerSecond(), mebibytesPerSecond());
+        }
+    }
+
+    private final int workers;
+    private final int blockSize;
+    private final int commitInterval;
+
+    /**
+     * Creates a pipeline.
+     *
+     * @param workers        the number of parser threads (at least 1)
+     * @param blockSize      the number of lines handed to a parser at a time
+     * @param commitInterval the number of students per written batch
+     */
+    public CsvImportPipeline(int workers, int blockSize, int commitInterval) {
+        if (workers < 1 || blockSize < 1 || commitInterval < 1) {
+            throw new IllegalArgumentException("Workers, block size and commit interval must be at least 1");
+        }
+        this.workers = workers;
+        this.blockSize = blockSize;
+        this.commitInterval = commitInterval;
+    }
+
+    /**
+     * Imports a CSV file with a header row.
+     *
+     * @param file     the file to import
+     * @param parser   parses and validates one data line, throwing any runtime
+     *                 exception if the line is invalid; called concurrently
+     * @param writer   writes one batch of students and reports the outcome of
+     *                 each; called from the calling thread only
+     * @param progress receives a snapshot after every written batch; may be
+     *                 null
+     * @return the final statistics
+     * @throws IOException          if the file cannot be read
+     * @throws InterruptedException if the calling thread is interrupted
+     */
+    public ImportStats run(Path file, Function<String, Student> parser,
+            Function<List<Student>, BatchInsertReport> writer, Consumer<ImportStats> progress)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        AtomicLong linesRead = new AtomicLong();
+        AtomicLong bytesRead = new AtomicLong();
+        AtomicLong invalid = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        BlockingQueue<Block> lines = new ArrayBlockingQueue<>(workers * 2);
+        BlockingQueue<Block> parsed = new ArrayBlockingQueue<>(workers * 2);
+
+        List<Thread> threads = new ArrayList<>(workers + 1);
+        threads.add(startThread("csv-import-reader", () -> {
+            try (BufferedReader br = new BufferedReader(
+                    Files.newBufferedReader(file, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+                readBlocks(br, lines, linesRead, bytesRead);
+            } catch (IOException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                for (int i = 0; i < workers; i++) {
+                    putQuietly(lines, END);
+                }
+            }
+        }));
+        for (int w = 0; w < workers; w++) {
+            threads.add(startThread("csv-import-parser-" + w, () -> {
+                try {
+                    parseBlocks(lines, parsed, parser, invalid);
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    putQuietly(parsed, END);
+                }
+            }));
+        }
+
+        long inserted = 0;
+        long skipped = 0;
+        try {
+            List<Student> batch = new ArrayList<>(commitInterval);
+            int finishedWorkers = 0;
+            while (finishedWorkers < workers) {
+                Block block = parsed.take();
+                if (block == END) {
+                    finishedWorkers++;
+                    continue;
+                }
+                for (Student s : block.students()) {
+                    batch.add(s);
+                    if (batch.size() == commitInterval) {
+                        BatchInsertReport report = writer.apply(batch);
+                        inserted += report.getInserted();
+                        skipped += report.size() - report.getInserted();
+                        batch.clear();
+                        if (progress != null) {
+                            progress.accept(new ImportStats(linesRead.get(), bytesRead.get(), invalid.get(),
+                                    inserted, skipped, System.nanoTime() - start));
+                        }
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                BatchInsertReport report = writer.apply(batch);
+                inserted += report.getInserted();
+                skipped += report.size() - report.getInserted();
+            }
+        } finally {
+            for (Thread t : threads) {
+                t.interrupt();
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+        }
+
+        Throwable error = failure.get();
+        if (error instanceof IOException io) {
+            throw io;
+        } else if (error != null) {
+            throw new IOException("CSV import failed", error);
+        }
+
+        ImportStats stats = new ImportStats(linesRead.get(), bytesRead.get(), invalid.get(), inserted, skipped,
+                System.nanoTime() - start);
+        if (progress != null) {
+            progress.accept(stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Reader stage: splits the file into blocks of lines, skipping the header.
+     */
+    private void readBlocks(BufferedReader br, BlockingQueue<Block> out, AtomicLong linesRead,
+            AtomicLong bytesRead) throws IOException {
+        String header = br.readLine();
+        if (header == null) {
+            return;
+        }
+        bytesRead.addAndGet(header.length() + 1);
+
+        long firstLine = 2;
+        List<String> block = new ArrayList<>(blockSize);
+        String line;
+        try {
+            while ((line = br.readLine()) != null) {
+                block.add(line);
+                bytesRead.addAndGet(line.length() + 1);
+                if (block.size() == blockSize) {
+                    out.put(new Block(firstLine, block));
+                    linesRead.addAndGet(block.size());
+                    firstLine += block.size();
+                    block = new ArrayList<>(blockSize);
+                }
+            }
+            if (!block.isEmpty()) {
+                out.put(new Block(firstLine, block));
+                linesRead.addAndGet(block.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Parser stage: turns blocks of lines into blocks of students until the
+     * reader finishes.
+     */
+    private static void parseBlocks(BlockingQueue<Block> in, BlockingQueue<Block> out,
+            Function<String, Student> parser, AtomicLong invalid) {
+        try {
+            while (true) {
+                Block block = in.take();
+                if (block == END) {
+                    return;
+                }
+                List<Student> students = new ArrayList<>(block.items().size());
+                List<?> items = block.items();
+                for (int i = 0; i < items.size(); i++) {
+                    String line = (String) items.get(i);
+                    try {
+                        students.add(parser.apply(line));
+                    } catch (RuntimeException e) {
+                        if (invalid.incrementAndGet() <= MAX_LOGGED_INVALID_LINES) {
+                            logger.warn("Skipping invalid line {}: {} ({})", block.firstLine() + i, line,
+                                    e.getMessage());
+                        }
+                    }
+                }
+                out.put(new Block(block.firstLine(), students));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Thread startThread(String name, Runnable stage) {
+        Thread t = new Thread(stage, name);
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /**
+     * Enqueues an end marker, giving up only if the pipeline is being torn down.
+     */
+    private static void putQuietly(BlockingQueue<Block> queue, Block block) {
+        try {
+            queue.put(block);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A block of consecutive lines or of the students parsed from them.
+     *
+     * @param firstLine the 1-based file line number of the first item
+     * @param items     the lines (reader to parsers) or students (parsers to
+     *                  writer)
+     */
+    private record Block(long firstLine, List<?> items) {
+
+        @SuppressWarnings("unchecked")
+        private List<Student> students() {
+            return (List<Student>) items;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered RFC 4180 CSV writer that encodes straight into a byte buffer and
+ * writes it to a file channel.
+ *
+ * <p>
+ * Numbers are formatted by hand instead of through {@code String.format} or
+ * {@code PrintWriter.printf}, so writing a row allocates nothing for ASCII
+ * text. Fields containing commas, quotes or line breaks are quoted, with
+ * embedded quotes doubled. Output is UTF-8 with LF record separators and does
+ * not depend on the default locale.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class CsvWriter implements AutoCloseable {
+
+    /**
+     * Default size of the output buffer.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean firstField = true;
+
+    /**
+     * Creates or truncates a file for writing.
+     *
+     * @param file the output file
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvWriter(Path file) throws IOException {
+        this(file, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates or truncates a file for writing with a custom buffer size.
+     *
+     * @param file       the output file
+     * @param bufferSize the output buffer size in bytes; at least 16
+     * @throws IOException if the file cannot be opened
+     */
+    public CsvWriter(Path file, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(16, bufferSize));
+    }
+
+    /**
+     * Writes a text field, quoting it if necessary. Null is written as an empty
+     * field.
+     *
+     * @param value the field value
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter field(String value) throws IOException {
+        separate();
+        if (value == null) {
+            return this;
+        }
+        boolean quote = needsQuotes(value);
+        if (quote) {
+            put((byte) '"');
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                putUtf8(value, i, quote);
+                break;
+            }
+            if (c == '"') {
+                put((byte) '"');
+            }
+            put((byte) c);
+        }
+        if (quote) {
+            put((byte) '"');
+        }
+        return this;
+    }
+
+    /**
+     * Writes an integer field.
+     *
+     * @param value the field value
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter field(long value) throws IOException {
+        separate();
+        putLong(value);
+        return this;
+    }
+
+    /**
+     * Writes a decimal field with exactly two fraction digits, rounding half
+     * away from zero, e.g. {@code 87.5} as {@code 87.50}. Values that are not
+     * finite or too large for exact cents are written with
+     * {@link Double#toString(double)}.
+     *
+     * @param value the field value
+     * @return this writer
+     * @throws IOException if writing fails
+     */
+    public CsvWriter fieldFixed2(double value) throws IOException {
+        separate();
+        if (!(Math.abs(value) < 1e15)) {
+            putAscii(Double.toString(value));
+            return this;
+        }
+        long cents = Math.round(Math.abs(value) * 100);
+        if (value < 0 && cents != 0) {
+            put((byte) '-');
+        }
+        putLong(cents / 100);
+        put((byte) '.');
+        int fraction = (int) (cents % 100);
+        put((byte) ('0' + fraction / 10));
+        put((byte) ('0' + fraction % 10));
+        return this;
+    }
+
+    /**
+     * Ends the current record.
+     *
+     * @throws IOException if writing fails
+     */
+    public void endRecord() throws IOException {
+        put((byte) '\n');
+        firstField = true;
+    }
+
+    /**
+     * Writes buffered bytes to the file.
+     *
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes and closes the file.
+     *
+     * @throws IOException if writing or closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void separate() throws IOException {
+        if (!firstField) {
+            put((byte) ',');
+        }
+        firstField = false;
+    }
+
+    private static boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Encodes the rest of a value containing non-ASCII characters.
+     */
+    private void putUtf8(String value, int from, boolean quoted) throws IOException {
+        String rest = value.substring(from);
+        if (quoted) {
+            rest = rest.replace("\"", "\"\"");
+        }
+        byte[] bytes = rest.getBytes(StandardCharsets.UTF_8);
+        for (byte b : bytes) {
+            put(b);
+        }
+    }
+
+    private void putAscii(String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            put((byte) value.charAt(i));
+        }
+    }
+
+    private void putLong(long value) throws IOException {
+        if (value < 0) {
+            put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                putAscii("9223372036854775808");
+                return;
+            }
+            value = -value;
+        }
+        if (value >= 10) {
+            putLong(value / 10);
+        }
+        put((byte) ('0' + value % 10));
+    }
+
+    private void put(byte b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+}
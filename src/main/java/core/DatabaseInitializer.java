@@ -1,8 +1,11 @@
 package core;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Utility class for initializing the database schema.
@@ -21,8 +24,23 @@ import java.sql.Statement;
  * </ul>
  * 
  * <p>
+ * It also creates the {@code student_search} full-text index used by student
+ * search, the {@code grade_stats} table of running grade aggregates and the
+ * {@code data_version} change counter, together with the triggers that keep
+ * them in sync.
+ * </p>
+ * 
+ * <p>
  * The schema includes appropriate constraints, foreign keys, and cascade delete
- * behavior to maintain referential integrity.
+ * behavior to maintain referential integrity, plus secondary indexes for the
+ * course filter and the sorted student reads.
+ * </p>
+ * 
+ * <p>
+ * The schema is built by the versioned {@link #MIGRATIONS}, applied by a
+ * {@link SchemaMigrator}. New schema changes must be appended as new
+ * migrations; applied migrations must never be edited, since their checksums
+ * are verified on every startup.
  * </p>
  * 
  * @author Student Management System Team
@@ -32,21 +50,45 @@ import java.sql.Statement;
 public class DatabaseInitializer {
 
     /**
-     * Initializes the database schema by creating all necessary tables.
+     * The schema migrations, in version order.
+     */
+    static final List<SchemaMigrator.Migration> MIGRATIONS = List.of(
+            SchemaMigrator.Migration.of(1, "Create students, courses and enrollments tables",
+                    baseTableStatements()),
+            SchemaMigrator.Migration.of(2, "Create student_search full-text index",
+                    searchIndexStatements(false)),
+            SchemaMigrator.Migration.of(3, "Create grade_stats running aggregates",
+                    gradeStatsStatements()),
+            SchemaMigrator.Migration.of(4, "Add secondary indexes for course filters and sorted reads",
+                    secondaryIndexStatements()),
+            SchemaMigrator.Migration.of(5, "Create data_version change counter",
+                    dataVersionStatements()),
+            SchemaMigrator.Migration.of(6, "Store UUID student IDs as 16-byte blobs",
+                    blobStudentKeyStatements()),
+            SchemaMigrator.Migration.of(7, "Give students a stable INTEGER PRIMARY KEY id",
+                    studentIdColumnStatements()));
+
+    /**
+     * Initializes the database schema by applying all pending migrations.
      * 
      * <p>
-     * This method creates three tables if they don't already exist:
+     * On a new database this creates three tables, the search index, the grade
+     * aggregates and the secondary indexes. On an up-to-date database no DDL is
+     * executed.
      * </p>
      * 
      * <p>
      * <b>students table:</b>
      * </p>
      * <ul>
-     * <li>studentID (TEXT, PRIMARY KEY): Unique student identifier</li>
+     * <li>studentID (TEXT, UNIQUE): Unique student identifier, stored as a
+     * 16-byte BLOB for UUIDs</li>
      * <li>name (TEXT, NOT NULL): Student's full name</li>
      * <li>age (INTEGER, CHECK 18-100): Student's age with validation</li>
      * <li>grade (REAL, CHECK 0-100): Student's overall grade percentage</li>
      * <li>enrollmentDate (DATE): Date the student enrolled</li>
+     * <li>id (INTEGER, PRIMARY KEY): Alias of the rowid, which the search
+     * index refers to</li>
      * </ul>
      * 
      * <p>
@@ -62,7 +104,8 @@ public class DatabaseInitializer {
      * <b>enrollments table:</b>
      * </p>
      * <ul>
-     * <li>studentID (TEXT, FOREIGN KEY): References students table</li>
+     * <li>studentID (TEXT, FOREIGN KEY): References students table, in the
+     * same representation</li>
      * <li>courseCode (TEXT, FOREIGN KEY): References courses table</li>
      * <li>enrollmentGrade (REAL): Grade for this specific course enrollment</li>
      * <li>PRIMARY KEY (studentID, courseCode): Composite key</li>
@@ -71,14 +114,48 @@ public class DatabaseInitializer {
      * </ul>
      * 
      * <p>
-     * If any SQL errors occur during table creation, they are printed to stderr.
+     * If any SQL errors occur during migration, they are printed to stderr.
      * </p>
      */
     public static void initialize() {
-        try (Connection conn = ConnectionFactory.getConnection();
-                Statement stmt = conn.createStatement()) {
+        try (Connection conn = ConnectionFactory.getConnection()) {
+            migrate(conn);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Brings the schema of the given database up to the latest version.
+     * 
+     * <p>
+     * Applies the pending entries of {@link #MIGRATIONS} through a
+     * {@link SchemaMigrator}. On an up-to-date database this only reads the
+     * {@code schema_version} table.
+     * </p>
+     * 
+     * @param conn an open connection to the database to migrate
+     * @return the number of migrations applied
+     * @throws SQLException if a migration fails or an applied one was modified
+     */
+    public static int migrate(Connection conn) throws SQLException {
+        return new SchemaMigrator(MIGRATIONS).migrate(conn);
+    }
 
-            stmt.execute("""
+    /**
+     * Returns the statements creating the students, courses and enrollments
+     * tables.
+     * 
+     * <p>
+     * They use {@code IF NOT EXISTS} so that databases created before schema
+     * versioning are adopted as-is.
+     * </p>
+     * 
+     * @return the statements, in execution order
+     */
+    private static String[] baseTableStatements() {
+        return new String[] {
+            """
                         CREATE TABLE IF NOT EXISTS students (
                             studentID TEXT PRIMARY KEY,
                             name TEXT NOT NULL,
@@ -86,17 +163,17 @@ public class DatabaseInitializer {
                             grade REAL CHECK(grade >= 0 AND grade <= 100),
                             enrollmentDate DATE
                         )
-                    """);
+                    """,
 
-            stmt.execute("""
+            """
                         CREATE TABLE IF NOT EXISTS courses (
                             courseCode TEXT PRIMARY KEY,
                             courseName TEXT,
                             credits INTEGER
                         )
-                    """);
+                    """,
 
-            stmt.execute("""
+            """
                         CREATE TABLE IF NOT EXISTS enrollments (
                             studentID TEXT,
                             courseCode TEXT,
@@ -105,10 +182,537 @@ public class DatabaseInitializer {
                             FOREIGN KEY (studentID) REFERENCES students(studentID) ON DELETE CASCADE,
                             FOREIGN KEY (courseCode) REFERENCES courses(courseCode) ON DELETE CASCADE
                         )
-                    """);
+                    """
+        };
+    }
 
-        } catch (SQLException e) {
-            e.printStackTrace();
+    /**
+     * Returns the statements creating the secondary indexes.
+     * 
+     * <p>
+     * Each students index ends with studentID so it matches the
+     * {@code ORDER BY key, studentID} of the sorted and keyset-paged reads and
+     * can serve them without a sort. The enrollments index serves the course
+     * filter, which the (studentID, courseCode) primary key cannot.
+     * </p>
+     * 
+     * @return the statements, in execution order
+     */
+    private static String[] secondaryIndexStatements() {
+        return new String[] {
+            "CREATE INDEX IF NOT EXISTS idx_course_code ON enrollments(courseCode, studentID)",
+            "CREATE INDEX IF NOT EXISTS idx_student_name ON students(name, studentID)",
+            "CREATE INDEX IF NOT EXISTS idx_student_grade ON students(grade DESC, studentID)",
+            "CREATE INDEX IF NOT EXISTS idx_student_age ON students(age, studentID)"
+        };
+    }
+
+    /**
+     * Returns the statements creating the {@code data_version} table and the
+     * triggers that maintain it.
+     * 
+     * <p>
+     * The table holds a single row with a random database ID, generated once,
+     * and a version counter that every insert, update and delete on students,
+     * courses and enrollments increments. Together they identify the state of
+     * the data, so derived files such as a {@link StudentSnapshot} can tell
+     * whether they are still current.
+     * </p>
+     * 
+     * @return the statements, in execution order
+     */
+    private static String[] dataVersionStatements() {
+        List<String> statements = new ArrayList<>();
+        statements.add("""
+                    CREATE TABLE IF NOT EXISTS data_version (
+                        id INTEGER PRIMARY KEY CHECK (id = 1),
+                        databaseID TEXT NOT NULL,
+                        version INTEGER NOT NULL
+                    )
+                """);
+        statements.add("INSERT OR IGNORE INTO data_version VALUES (1, lower(hex(randomblob(16))), 0)");
+        for (String table : new String[] { "students", "courses", "enrollments" }) {
+            for (String event : new String[] { "INSERT", "UPDATE", "DELETE" }) {
+                statements.add("CREATE TRIGGER IF NOT EXISTS data_version_" + table + "_"
+                        + event.toLowerCase() + " AFTER " + event + " ON " + table
+                        + " BEGIN UPDATE data_version SET version = version + 1; END");
+            }
+        }
+        return statements.toArray(new String[0]);
+    }
+
+    /**
+     * Creates the full-text search index used by student search, if missing.
+     * Used to rebuild the index.
+     * 
+     * <p>
+     * The index is an FTS5 virtual table, {@code student_search}, with one row
+     * per student holding the student ID, name, enrolled course codes and course
+     * names. Its rowid mirrors the {@code id} of the student in the students
+     * table, an alias of the rowid that VACUUM never renumbers.
+     * Triggers on students, enrollments and courses keep it in sync with every
+     * write, so no application code has to maintain it.
+     * </p>
+     * 
+     * <p>
+     * When the index is empty, for example because it was just created for an
+     * existing database, it is populated from the current data.
+     * </p>
+     * 
+     * @param conn an open connection to the database to initialize
+     * @throws SQLException if the index or its triggers cannot be created
+     */
+    public static void initializeSearchIndex(Connection conn) throws SQLException {
+        execute(conn, searchIndexStatements(true));
+    }
+
+    /**
+     * Returns the statements creating the {@code student_search} index and its
+     * triggers.
+     * 
+     * <p>
+     * Migration 2 created the index for text student IDs. Since migration 6
+     * UUID IDs are stored as 16-byte blobs, so the index is given their text
+     * form, keeping them searchable, and course names are looked up through the
+     * rowid instead of by comparing the indexed ID.
+     * </p>
+     * 
+     * @param blobKeys whether student IDs may be stored as blobs
+     * @return the statements, in execution order
+     */
+    private static String[] searchIndexStatements(boolean blobKeys) {
+        String newID = blobKeys ? studentIdText("new.studentID") : "new.studentID";
+        String indexedID = blobKeys ? studentIdText("s.studentID") : "s.studentID";
+        String indexedStudent = blobKeys
+                ? "(SELECT studentID FROM students WHERE rowid = student_search.rowid)"
+                : "student_search.studentID";
+        return new String[] {
+            """
+                        CREATE VIRTUAL TABLE IF NOT EXISTS student_search USING fts5(
+                            studentID, name, courseCodes, courseNames
+                        )
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS student_search_ai AFTER INSERT ON students BEGIN
+                            INSERT INTO student_search(rowid, studentID, name, courseCodes, courseNames)
+                            VALUES (new.rowid, %s, new.name, '', '');
+                        END
+                    """.formatted(newID),
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS student_search_au AFTER UPDATE OF name ON students BEGIN
+                            UPDATE student_search SET name = new.name WHERE rowid = new.rowid;
+                        END
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS student_search_ad AFTER DELETE ON students BEGIN
+                            DELETE FROM student_search WHERE rowid = old.rowid;
+                        END
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS student_search_enroll_ai AFTER INSERT ON enrollments BEGIN
+            """ + refreshCourses("new.studentID") + """
+                        END
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS student_search_enroll_ad AFTER DELETE ON enrollments BEGIN
+            """ + refreshCourses("old.studentID") + """
+                        END
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS student_search_course_au AFTER UPDATE OF courseName ON courses BEGIN
+                            UPDATE student_search
+                            SET courseNames = (
+                                SELECT group_concat(c.courseName, ' ')
+                                FROM enrollments e JOIN courses c ON c.courseCode = e.courseCode
+                                WHERE e.studentID = %s
+                            )
+                            WHERE rowid IN (
+                                SELECT s.rowid FROM students s
+                                JOIN enrollments e ON e.studentID = s.studentID
+                                WHERE e.courseCode = new.courseCode
+                            );
+                        END
+                    """.formatted(indexedStudent),
+
+            // Populates an index created for an existing database.
+            """
+                        INSERT INTO student_search(rowid, studentID, name, courseCodes, courseNames)
+                        SELECT s.rowid, %s, s.name,
+                               COALESCE((SELECT group_concat(e.courseCode, ' ')
+                                         FROM enrollments e WHERE e.studentID = s.studentID), ''),
+                               COALESCE((SELECT group_concat(c.courseName, ' ')
+                                         FROM enrollments e JOIN courses c ON c.courseCode = e.courseCode
+                                         WHERE e.studentID = s.studentID), '')
+                        FROM students s
+                        WHERE NOT EXISTS (SELECT 1 FROM student_search)
+                    """.formatted(indexedID)
+        };
+    }
+
+    /**
+     * Returns the statements converting UUID student IDs to 16-byte blobs.
+     * 
+     * <p>
+     * IDs in the canonical lowercase form generated for new students (see
+     * {@link StudentKeys}) are replaced by their 16 raw bytes in students and
+     * enrollments, which shrinks the primary keys, the enrollments table and
+     * every secondary index ending in the ID to less than half their key size.
+     * Other IDs stay text. Foreign key checks are deferred to the end of the
+     * migration's transaction, since the parent and child keys are rewritten by
+     * separate statements. The search index is recreated for blob keys.
+     * </p>
+     * 
+     * @return the statements, in execution order
+     */
+    private static String[] blobStudentKeyStatements() {
+        String hex = "[0-9a-f]".repeat(4);
+        String canonical = "studentID GLOB '" + hex + hex + "-" + hex + "-" + hex + "-" + hex + "-"
+                + hex + hex + hex + "'";
+        List<String> statements = new ArrayList<>();
+        statements.add("PRAGMA defer_foreign_keys = ON");
+        for (String trigger : new String[] { "ai", "au", "ad", "enroll_ai", "enroll_ad", "course_au" }) {
+            statements.add("DROP TRIGGER IF EXISTS student_search_" + trigger);
+        }
+        statements.add("DROP TABLE IF EXISTS student_search");
+        for (String table : new String[] { "enrollments", "students" }) {
+            statements.add("UPDATE " + table + " SET studentID = unhex(replace(studentID, '-', ''))"
+                    + " WHERE typeof(studentID) = 'text' AND " + canonical);
         }
+        statements.addAll(List.of(searchIndexStatements(true)));
+        return statements.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the statements rebuilding the students table with an explicit
+     * {@code id INTEGER PRIMARY KEY}.
+     * 
+     * <p>
+     * The search index is keyed by the students rowid. Without an INTEGER
+     * PRIMARY KEY that rowid is implicit, and VACUUM may renumber it, after which
+     * searches would return the wrong students. The table is rebuilt with an
+     * {@code id} column aliasing the rowid, and the existing rowids are copied
+     * into it so the index stays valid. studentID keeps a UNIQUE constraint,
+     * which serves its lookups and the enrollments foreign key as the primary
+     * key did.
+     * </p>
+     * 
+     * <p>
+     * SQLite cannot add a primary key in place, and foreign key enforcement
+     * cannot be switched off inside the migration's transaction, so the
+     * enrollments are set aside in a temporary table while the old students
+     * table is dropped, then restored. The derived-data triggers are dropped
+     * first so this churn does not reach them, and are recreated afterwards
+     * together with the students indexes; the grade aggregates and the change
+     * counter are left as they were, since the data itself does not change.
+     * </p>
+     * 
+     * @return the statements, in execution order
+     */
+    private static String[] studentIdColumnStatements() {
+        List<String> statements = new ArrayList<>();
+        for (String trigger : new String[] { "ai", "au", "ad", "enroll_ai", "enroll_ad", "course_au" }) {
+            statements.add("DROP TRIGGER IF EXISTS student_search_" + trigger);
+        }
+        for (String trigger : new String[] { "student_ai", "student_bd", "student_au", "enroll_ai", "enroll_ad" }) {
+            statements.add("DROP TRIGGER IF EXISTS grade_stats_" + trigger);
+        }
+        for (String table : new String[] { "students", "courses", "enrollments" }) {
+            for (String event : new String[] { "insert", "update", "delete" }) {
+                statements.add("DROP TRIGGER IF EXISTS data_version_" + table + "_" + event);
+            }
+        }
+        statements.add("""
+                    CREATE TABLE students_new (
+                        studentID TEXT UNIQUE,
+                        name TEXT NOT NULL,
+                        age INTEGER CHECK(age >= 18 AND age <= 100),
+                        grade REAL CHECK(grade >= 0 AND grade <= 100),
+                        enrollmentDate DATE,
+                        id INTEGER PRIMARY KEY
+                    )
+                """);
+        statements.add("""
+                    INSERT INTO students_new (id, studentID, name, age, grade, enrollmentDate)
+                    SELECT rowid, studentID, name, age, grade, enrollmentDate FROM students
+                """);
+        statements.add("CREATE TEMP TABLE enrollments_saved AS SELECT * FROM enrollments");
+        statements.add("DELETE FROM enrollments");
+        statements.add("DROP TABLE students");
+        statements.add("ALTER TABLE students_new RENAME TO students");
+        statements.add("INSERT INTO enrollments SELECT * FROM temp.enrollments_saved");
+        statements.add("DROP TABLE temp.enrollments_saved");
+        statements.addAll(List.of(secondaryIndexStatements()));
+        statements.addAll(List.of(dataVersionStatements()));
+        statements.addAll(List.of(gradeStatsStatements()));
+        statements.addAll(List.of(searchIndexStatements(true)));
+        return statements.toArray(new String[0]);
+    }
+
+    /**
+     * Builds an SQL expression giving the text form of a stored student ID.
+     * 
+     * @param column the column holding the ID
+     * @return the expression, formatting blob IDs as lowercase UUIDs
+     */
+    private static String studentIdText(String column) {
+        String hex = "hex(" + column + ")";
+        return "CASE WHEN typeof(" + column + ") = 'blob' THEN lower(substr(" + hex + ", 1, 8) || '-' || substr("
+                + hex + ", 9, 4) || '-' || substr(" + hex + ", 13, 4) || '-' || substr(" + hex
+                + ", 17, 4) || '-' || substr(" + hex + ", 21)) ELSE " + column + " END";
+    }
+
+    /**
+     * Drops the search index, the grade aggregates and the triggers that
+     * maintain them, as well as the change counter triggers, so a bulk load
+     * does not pay for per-row trigger work.
+     *
+     * <p>
+     * The caller must recreate them with {@link #initializeSearchIndex},
+     * {@link #initializeGradeStats} and {@link #initializeDataVersion} in the
+     * same transaction once the rows are loaded. The first two populate their
+     * table from the current data; the change counter keeps its value, so the
+     * caller must count the load as a change itself.
+     * </p>
+     *
+     * @param conn an open connection, inside a transaction
+     * @throws SQLException if the tables or triggers cannot be dropped
+     */
+    public static void dropDerivedTables(Connection conn) throws SQLException {
+        List<String> statements = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("""
+                            SELECT name FROM sqlite_master
+                            WHERE type = 'trigger' AND (name GLOB 'student_search_*'
+                                OR name GLOB 'grade_stats_*' OR name GLOB 'data_version_*')
+                        """)) {
+            while (rs.next()) {
+                statements.add("DROP TRIGGER \"" + rs.getString(1) + "\"");
+            }
+        }
+        statements.add("DROP TABLE IF EXISTS student_search");
+        statements.add("DROP TABLE IF EXISTS grade_stats");
+        execute(conn, statements.toArray(new String[0]));
+    }
+
+    /**
+     * Creates the {@code data_version} change counter and its triggers, if
+     * missing. Used to restore the triggers after a bulk load.
+     * 
+     * @param conn an open connection to the database to initialize
+     * @throws SQLException if the table or its triggers cannot be created
+     */
+    public static void initializeDataVersion(Connection conn) throws SQLException {
+        execute(conn, dataVersionStatements());
+    }
+
+    /**
+     * Creates the running grade aggregates table, if missing. Used by migration
+     * 3 and to rebuild the aggregates.
+     * 
+     * <p>
+     * {@code grade_stats} holds one row per scope: the empty string for all
+     * students, and one row per course code for the students enrolled in it.
+     * Each row keeps the count, sum, sum of squares, minimum and maximum of the
+     * students' grades, so averages and variances are a primary key lookup
+     * instead of a table scan.
+     * </p>
+     * 
+     * <p>
+     * Triggers on students and enrollments update the affected rows in the same
+     * transaction as every write. Sums are adjusted incrementally; the minimum
+     * and maximum of a scope are only recomputed when the removed grade was one
+     * of them. When the table is empty, for example because it was just created
+     * for an existing database, it is populated from the current data.
+     * </p>
+     * 
+     * @param conn an open connection to the database to initialize
+     * @throws SQLException if the table or its triggers cannot be created
+     */
+    public static void initializeGradeStats(Connection conn) throws SQLException {
+        execute(conn, gradeStatsStatements());
+    }
+
+    /**
+     * Returns the statements creating the {@code grade_stats} table and its
+     * triggers.
+     * 
+     * @return the statements, in execution order
+     */
+    private static String[] gradeStatsStatements() {
+        String studentScopes = """
+                    SELECT '' AS scope, %1$s.grade AS g
+                    UNION ALL
+                    SELECT e.courseCode, %1$s.grade FROM enrollments e WHERE e.studentID = %1$s.studentID
+                """;
+
+        return new String[] {
+            """
+                        CREATE TABLE IF NOT EXISTS grade_stats (
+                            scope TEXT PRIMARY KEY,
+                            n INTEGER NOT NULL DEFAULT 0,
+                            total REAL NOT NULL DEFAULT 0,
+                            total_sq REAL NOT NULL DEFAULT 0,
+                            min_grade REAL,
+                            max_grade REAL
+                        )
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS grade_stats_student_ai AFTER INSERT ON students BEGIN
+            """ + addGrades(studentScopes.formatted("new")) + """
+                        END
+                    """,
+
+            // Cascaded enrollment deletes run after the student row is gone, so
+            // the student's course scopes are settled before the delete.
+            """
+                        CREATE TRIGGER IF NOT EXISTS grade_stats_student_bd BEFORE DELETE ON students BEGIN
+            """ + removeGrades(studentScopes.formatted("old"), "old.studentID") + """
+                        END
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS grade_stats_student_au AFTER UPDATE OF grade ON students
+                        WHEN old.grade IS NOT new.grade BEGIN
+            """ + removeGrades(studentScopes.formatted("old"), "NULL")
+                    + addGrades(studentScopes.formatted("new")) + """
+                        END
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS grade_stats_enroll_ai AFTER INSERT ON enrollments BEGIN
+            """ + addGrades("""
+                        SELECT new.courseCode AS scope, s.grade AS g FROM students s WHERE s.studentID = new.studentID
+                    """) + """
+                        END
+                    """,
+
+            """
+                        CREATE TRIGGER IF NOT EXISTS grade_stats_enroll_ad AFTER DELETE ON enrollments BEGIN
+            """ + removeGrades("""
+                        SELECT old.courseCode AS scope, s.grade AS g FROM students s WHERE s.studentID = old.studentID
+                    """, "NULL") + """
+                        END
+                    """,
+
+            // Populates a table created for an existing database.
+            """
+                        INSERT INTO grade_stats(scope, n, total, total_sq, min_grade, max_grade)
+                        SELECT * FROM (
+                            SELECT '', COUNT(grade), COALESCE(SUM(grade), 0), COALESCE(SUM(grade * grade), 0),
+                                   MIN(grade), MAX(grade)
+                            FROM students
+                            UNION ALL
+                            SELECT e.courseCode, COUNT(s.grade), COALESCE(SUM(s.grade), 0),
+                                   COALESCE(SUM(s.grade * s.grade), 0), MIN(s.grade), MAX(s.grade)
+                            FROM enrollments e JOIN students s ON s.studentID = e.studentID
+                            GROUP BY e.courseCode
+                        )
+                        WHERE NOT EXISTS (SELECT 1 FROM grade_stats)
+                    """
+        };
+    }
+
+    /**
+     * Builds the trigger body statement that adds grades to their scopes.
+     * 
+     * @param source a SELECT yielding {@code scope} and grade {@code g} columns,
+     *               at most one row per scope
+     * @return an upsert statement terminated by a semicolon
+     */
+    private static String addGrades(String source) {
+        return """
+                    INSERT INTO grade_stats(scope, n, total, total_sq, min_grade, max_grade)
+                    SELECT r.scope, 1, r.g, r.g * r.g, r.g, r.g FROM (%s) r WHERE r.g IS NOT NULL
+                    ON CONFLICT(scope) DO UPDATE SET
+                        n = n + 1,
+                        total = total + excluded.total,
+                        total_sq = total_sq + excluded.total_sq,
+                        min_grade = MIN(COALESCE(min_grade, excluded.min_grade), excluded.min_grade),
+                        max_grade = MAX(COALESCE(max_grade, excluded.max_grade), excluded.max_grade);
+                """.formatted(source);
+    }
+
+    /**
+     * Builds the trigger body statements that remove grades from their scopes.
+     * 
+     * <p>
+     * A scope that becomes empty is reset to exact zeros so floating point
+     * error cannot accumulate across it. The minimum and maximum of a scope are
+     * recomputed only if the removed grade was one of them.
+     * </p>
+     * 
+     * @param source     a SELECT yielding {@code scope} and grade {@code g}
+     *                   columns, at most one row per scope
+     * @param excludedId an SQL expression for a student ID to leave out of the
+     *                   recomputation (a student about to be deleted), or
+     *                   {@code NULL}
+     * @return two UPDATE statements, each terminated by a semicolon
+     */
+    private static String removeGrades(String source, String excludedId) {
+        return """
+                    UPDATE grade_stats SET
+                        min_grade = CASE WHEN grade_stats.scope = ''
+                            THEN (SELECT MIN(s.grade) FROM students s
+                                  WHERE s.studentID IS NOT %2$s)
+                            ELSE (SELECT MIN(s.grade) FROM enrollments e JOIN students s ON s.studentID = e.studentID
+                                  WHERE e.courseCode = grade_stats.scope AND s.studentID IS NOT %2$s) END,
+                        max_grade = CASE WHEN grade_stats.scope = ''
+                            THEN (SELECT MAX(s.grade) FROM students s
+                                  WHERE s.studentID IS NOT %2$s)
+                            ELSE (SELECT MAX(s.grade) FROM enrollments e JOIN students s ON s.studentID = e.studentID
+                                  WHERE e.courseCode = grade_stats.scope AND s.studentID IS NOT %2$s) END
+                    WHERE grade_stats.scope IN (
+                        SELECT r.scope FROM (%1$s) r
+                        WHERE r.g IN (grade_stats.min_grade, grade_stats.max_grade));
+                    UPDATE grade_stats SET
+                        n = n - 1,
+                        total = CASE WHEN n = 1 THEN 0 ELSE total - r.g END,
+                        total_sq = CASE WHEN n = 1 THEN 0 ELSE total_sq - r.g * r.g END
+                    FROM (%1$s) r
+                    WHERE grade_stats.scope = r.scope AND r.g IS NOT NULL;
+                """.formatted(source, excludedId);
+    }
+
+    /**
+     * Executes statements in order on one connection.
+     * 
+     * @param conn       the connection to use
+     * @param statements the statements to execute
+     * @throws SQLException if a statement fails
+     */
+    private static void execute(Connection conn, String... statements) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            for (String sql : statements) {
+                stmt.execute(sql);
+            }
+        }
+    }
+
+    /**
+     * Builds the trigger body statement that recomputes the course columns of one
+     * student's search index row.
+     * 
+     * @param studentIdExpr the SQL expression yielding the student's ID
+     * @return an UPDATE statement terminated by a semicolon
+     */
+    private static String refreshCourses(String studentIdExpr) {
+        return """
+                    UPDATE student_search
+                    SET courseCodes = COALESCE((
+                            SELECT group_concat(e.courseCode, ' ')
+                            FROM enrollments e WHERE e.studentID = %1$s), ''),
+                        courseNames = COALESCE((
+                            SELECT group_concat(c.courseName, ' ')
+                            FROM enrollments e JOIN courses c ON c.courseCode = e.courseCode
+                            WHERE e.studentID = %1$s), '')
+                    WHERE rowid = (SELECT rowid FROM students WHERE studentID = %1$s);
+                """.formatted(studentIdExpr);
     }
 }
@@ -0,0 +1,51 @@
+package core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one SQL statement run by
+ * {@link StudentManagerImpl}.
+ *
+ * <p>
+ * An update or batch lasts until it returns. A query lasts until its
+ * statement is closed or run again, so it also covers the time spent fetching
+ * its rows, which SQLite produces lazily. Emitted by {@link TracedConnection};
+ * enabled with the {@code jfr/student-management.jfc} profile.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Name("studentmanagement.DatabaseStatement")
+@Label("Database Statement")
+@Category({ "Student Management", "Database" })
+@Description("A SQL statement run by the student manager")
+final class DatabaseStatementEvent extends Event {
+
+    @Label("Operation")
+    @Description("The student manager operation that ran the statement")
+    String operation;
+
+    @Label("SQL")
+    @Description("The statement text with ? placeholders for bound values")
+    String sql;
+
+    @Label("Bind Count")
+    @Description("The number of values bound, summed over all rows of a batch")
+    int bindCount;
+
+    @Label("Rows")
+    @Description("Rows fetched by a query, or rows changed by an update or batch")
+    long rows;
+
+    @Label("Connection Acquire Time")
+    @Description("Time spent obtaining the connection, reported on its first statement only")
+    @Timespan(Timespan.NANOSECONDS)
+    long connectionAcquireTime;
+}
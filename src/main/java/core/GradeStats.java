@@ -0,0 +1,60 @@
+package core;
+
+/**
+ * Running grade aggregates of a group of students.
+ *
+ * <p>
+ * Values are read from the {@code grade_stats} table, which triggers keep
+ * current on every write, so no student rows are scanned to produce them, or
+ * computed for arbitrary filters by {@link ColumnarStudentStore}.
+ * </p>
+ *
+ * @param count        the number of graded students
+ * @param sum          the sum of their grades
+ * @param sumOfSquares the sum of their squared grades
+ * @param min          the lowest grade, or 0.0 if the group is empty
+ * @param max          the highest grade, or 0.0 if the group is empty
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record GradeStats(long count, double sum, double sumOfSquares, double min, double max) {
+
+    /**
+     * Aggregates of an empty group.
+     */
+    public static final GradeStats EMPTY = new GradeStats(0, 0.0, 0.0, 0.0, 0.0);
+
+    /**
+     * Returns the mean grade.
+     *
+     * @return the average grade, or 0.0 if the group is empty
+     */
+    public double average() {
+        return count == 0 ? 0.0 : sum / count;
+    }
+
+    /**
+     * Returns the population variance of the grades.
+     *
+     * @return the variance, or 0.0 if the group is empty
+     */
+    public double variance() {
+        if (count == 0) {
+            return 0.0;
+        }
+        double mean = average();
+        // Rounding in the running sums can push a zero variance slightly negative.
+        return Math.max(0.0, sumOfSquares / count - mean * mean);
+    }
+
+    /**
+     * Returns the population standard deviation of the grades.
+     *
+     * @return the standard deviation, or 0.0 if the group is empty
+     */
+    public double standardDeviation() {
+        return Math.sqrt(variance());
+    }
+}
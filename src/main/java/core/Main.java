@@ -144,6 +144,10 @@ class Main {
                         System.out.println("-------------------");
                 }
 
+                System.out.println("=== OPERATION METRICS ===");
+                manager.metrics().snapshot()
+                                .forEach(m -> System.out.println(m.format()));
+
         }
 
 }
\ No newline at end of file
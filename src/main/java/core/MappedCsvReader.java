@@ -0,0 +1,505 @@
+package core;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Forward-only reader for RFC 4180 CSV files that parses fields straight from
+ * a memory-mapped view of the file.
+ *
+ * <p>
+ * {@link #next()} only records where each field of the next record starts and
+ * ends; no {@code String} is created for the line or its fields. Values are
+ * decoded on request by the typed getters, so numbers and dates are parsed from
+ * the bytes directly and strings are only created for the fields that are
+ * actually needed, after the caller has validated the rest of the record.
+ * </p>
+ *
+ * <p>
+ * Supported syntax: comma-separated fields; fields enclosed in double quotes
+ * may contain commas, line breaks and doubled quotes ({@code ""}); records end
+ * with LF or CRLF; a leading UTF-8 byte order mark is skipped. The file is
+ * mapped in windows of at most {@link #DEFAULT_WINDOW_SIZE} bytes, so files
+ * larger than 2 GiB can be read; a single record must fit into one window.
+ * </p>
+ *
+ * <p>
+ * Instances are not thread-safe.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class MappedCsvReader implements AutoCloseable {
+
+    /**
+     * Largest part of the file mapped at once.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 256 << 20;
+
+    /**
+     * Exact powers of ten for the fast path of {@link #getDouble(int)}.
+     */
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22 };
+
+    /**
+     * Largest mantissa that a double represents exactly.
+     */
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private int windowLimit;
+
+    /** Position of the next record, relative to the window. */
+    private int position;
+    private long lineNumber;
+    private long nextLineNumber = 1;
+
+    private int fieldCount;
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private boolean[] escaped = new boolean[8];
+    private int recordStart;
+    private int recordEnd;
+
+    private byte[] scratch = new byte[256];
+
+    /**
+     * Opens and maps a file.
+     *
+     * @param file the CSV file
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public MappedCsvReader(Path file) throws IOException {
+        this(file, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens and maps a file using a custom window size.
+     *
+     * @param file       the CSV file
+     * @param windowSize the largest part of the file mapped at once
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    MappedCsvReader(Path file, int windowSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        map(0);
+        if (windowLimit >= 3 && window.get(0) == (byte) 0xEF && window.get(1) == (byte) 0xBB
+                && window.get(2) == (byte) 0xBF) {
+            position = 3;
+        }
+    }
+
+    /**
+     * Advances to the next record.
+     *
+     * @return true if a record was read, false at the end of the file
+     * @throws IOException if a record is larger than the mapping window or
+     *                     contains a malformed quoted field
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (position >= windowLimit && windowStart + windowLimit >= fileSize) {
+                fieldCount = 0;
+                return false;
+            }
+            if (parseRecord()) {
+                return true;
+            }
+            // The record crosses the end of the window: remap starting at it.
+            if (position == 0) {
+                throw new IOException("CSV record at line " + nextLineNumber + " exceeds " + windowSize + " bytes");
+            }
+            map(windowStart + position);
+        }
+    }
+
+    /**
+     * Returns the line on which the current record starts.
+     *
+     * @return the 1-based line number
+     */
+    public long lineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the number of bytes consumed so far.
+     *
+     * @return the file offset after the current record
+     */
+    public long bytesRead() {
+        return windowStart + position;
+    }
+
+    /**
+     * Returns the number of fields of the current record.
+     *
+     * @return the field count
+     */
+    public int fieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Tells whether a field is empty or consists only of whitespace.
+     *
+     * @param field the 0-based field index
+     * @return true if the field is blank
+     */
+    public boolean isBlank(int field) {
+        checkField(field);
+        for (int i = starts[field]; i < ends[field]; i++) {
+            if (window.get(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a field as a UTF-8 string.
+     *
+     * @param field the 0-based field index
+     * @return the field value, without enclosing quotes
+     */
+    public String getString(int field) {
+        checkField(field);
+        int length = copyField(field, starts[field], ends[field]);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a field as a decimal integer.
+     *
+     * @param field the 0-based field index
+     * @return the value
+     * @throws NumberFormatException if the field is not an integer
+     */
+    public int getInt(int field) {
+        checkField(field);
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+            negative = window.get(i) == '-';
+            i++;
+        }
+        if (i == end || end - i > 10) {
+            return Integer.parseInt(getString(field));
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + getString(field) + "\"");
+            }
+            value = value * 10 + digit;
+        }
+        value = negative ? -value : value;
+        if (value != (int) value) {
+            throw new NumberFormatException("Out of int range: \"" + getString(field) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Parses a field as a double.
+     *
+     * <p>
+     * Plain decimals with up to 15 significant digits are converted directly
+     * from the bytes; the result is exactly what {@link Double#parseDouble}
+     * returns. Other forms, such as exponents, fall back to
+     * {@link Double#parseDouble}.
+     * </p>
+     *
+     * @param field the 0-based field index
+     * @return the value
+     * @throws NumberFormatException if the field is not a number
+     */
+    public double getDouble(int field) {
+        checkField(field);
+        int i = starts[field];
+        int end = ends[field];
+        boolean negative = false;
+        if (i < end && (window.get(i) == '-' || window.get(i) == '+')) {
+            negative = window.get(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int scale = -1;
+        int digits = 0;
+        for (; i < end; i++) {
+            byte b = window.get(i);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+            } else if (b >= '0' && b <= '9' && mantissa < MAX_EXACT_MANTISSA / 10) {
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (scale >= 0) {
+                    scale++;
+                }
+            } else {
+                return Double.parseDouble(getString(field));
+            }
+        }
+        if (digits == 0 || scale >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(getString(field));
+        }
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parses a field as an ISO-8601 date ({@code yyyy-MM-dd}).
+     *
+     * @param field the 0-based field index
+     * @return the date
+     * @throws java.time.DateTimeException if the field is not a valid date
+     */
+    public LocalDate getDate(int field) {
+        checkField(field);
+        int s = starts[field];
+        if (ends[field] - s == 10 && window.get(s + 4) == '-' && window.get(s + 7) == '-') {
+            int year = digits(s, 4);
+            int month = digits(s + 5, 2);
+            int day = digits(s + 8, 2);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                return LocalDate.of(year, month, day);
+            }
+        }
+        return LocalDate.parse(getString(field));
+    }
+
+    /**
+     * Splits a field into trimmed, non-empty items.
+     *
+     * @param field     the 0-based field index
+     * @param separator the ASCII item separator, e.g. {@code ';'}
+     * @return the items, in order
+     */
+    public ArrayList<String> getList(int field, char separator) {
+        checkField(field);
+        ArrayList<String> items = new ArrayList<>();
+        int end = ends[field];
+        int itemStart = starts[field];
+        for (int i = itemStart; i <= end; i++) {
+            if (i == end || window.get(i) == separator) {
+                int from = itemStart;
+                int to = i;
+                while (from < to && window.get(from) <= ' ') {
+                    from++;
+                }
+                while (to > from && window.get(to - 1) <= ' ') {
+                    to--;
+                }
+                if (from < to) {
+                    int length = copyField(field, from, to);
+                    items.add(new String(scratch, 0, length, StandardCharsets.UTF_8));
+                }
+                itemStart = i + 1;
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Decodes the whole current record, for error messages.
+     *
+     * @return the raw record text, without the line terminator
+     */
+    public String rawRecord() {
+        int length = recordEnd - recordStart;
+        byte[] bytes = new byte[length];
+        window.get(recordStart, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Closes the file. The mapping itself is released when it is garbage
+     * collected.
+     *
+     * @throws IOException if the channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        window = null;
+        channel.close();
+    }
+
+    /**
+     * Parses the record starting at {@link #position}.
+     *
+     * @return true if the record was complete, false if it reached the end of a
+     *         window that is not the end of the file
+     */
+    private boolean parseRecord() throws IOException {
+        boolean lastWindow = windowStart + windowLimit >= fileSize;
+        int i = position;
+        int lines = 0;
+        int count = 0;
+
+        while (true) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+                escaped = Arrays.copyOf(escaped, count * 2);
+            }
+            boolean hasEscapes = false;
+            int start;
+            int end;
+            if (i < windowLimit && window.get(i) == '"') {
+                start = ++i;
+                while (true) {
+                    if (i >= windowLimit) {
+                        if (!lastWindow) {
+                            return false;
+                        }
+                        throw new IOException("Unterminated quoted field at line " + nextLineNumber);
+                    }
+                    byte b = window.get(i);
+                    if (b == '"') {
+                        if (i + 1 < windowLimit && window.get(i + 1) == '"') {
+                            hasEscapes = true;
+                            i += 2;
+                            continue;
+                        }
+                        if (i + 1 >= windowLimit && !lastWindow) {
+                            return false;
+                        }
+                        break;
+                    }
+                    if (b == '\n') {
+                        lines++;
+                    }
+                    i++;
+                }
+                end = i++;
+                if (i < windowLimit && window.get(i) != ',' && window.get(i) != '\n' && window.get(i) != '\r') {
+                    throw new IOException("Unexpected character after quoted field at line " + nextLineNumber);
+                }
+            } else {
+                start = i;
+                while (i < windowLimit) {
+                    byte b = window.get(i);
+                    if (b == ',' || b == '\n' || b == '\r') {
+                        break;
+                    }
+                    i++;
+                }
+                end = i;
+            }
+            starts[count] = start;
+            ends[count] = end;
+            escaped[count] = hasEscapes;
+            count++;
+
+            if (i >= windowLimit) {
+                if (!lastWindow) {
+                    return false;
+                }
+                recordEnd = i;
+                break;
+            }
+            byte b = window.get(i);
+            if (b == ',') {
+                i++;
+                continue;
+            }
+            recordEnd = i;
+            if (b == '\r') {
+                if (i + 1 >= windowLimit && !lastWindow) {
+                    return false;
+                }
+                if (i + 1 < windowLimit && window.get(i + 1) == '\n') {
+                    i++;
+                }
+            }
+            i++;
+            lines++;
+            break;
+        }
+
+        recordStart = position;
+        position = i;
+        fieldCount = count;
+        lineNumber = nextLineNumber;
+        nextLineNumber += lines;
+        return true;
+    }
+
+    /**
+     * Maps the window starting at a file offset.
+     */
+    private void map(long offset) throws IOException {
+        windowStart = offset;
+        windowLimit = (int) Math.min(windowSize, fileSize - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, windowLimit);
+        position = 0;
+    }
+
+    /**
+     * Copies a byte range of a field into {@link #scratch}, collapsing doubled
+     * quotes of quoted fields.
+     *
+     * @return the number of bytes copied
+     */
+    private int copyField(int field, int from, int to) {
+        if (scratch.length < to - from) {
+            scratch = new byte[Math.max(to - from, scratch.length * 2)];
+        }
+        if (!escaped[field]) {
+            window.get(from, scratch, 0, to - from);
+            return to - from;
+        }
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            byte b = window.get(i);
+            scratch[length++] = b;
+            if (b == '"') {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Parses a fixed number of ASCII digits.
+     *
+     * @return the value, or -1 if a byte is not a digit
+     */
+    private int digits(int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = window.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + field + " of " + fieldCount);
+        }
+    }
+}
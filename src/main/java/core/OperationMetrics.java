@@ -0,0 +1,379 @@
+package core;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-operation latency and throughput metrics.
+ *
+ * <p>
+ * An operation is timed by a {@link Scope} opened with {@link #begin(String)}
+ * in a try-with-resources block. While it is open, code deeper in the call,
+ * including static helpers, reports rows, connection waits and errors through
+ * the static {@link #rowsRead(long)}, {@link #rowsWritten(long)},
+ * {@link #connectionWait(long)} and {@link #failed()}, which find the scope of
+ * the current thread. Scopes nest: an operation called by another one is
+ * counted as part of the outer operation only.
+ * </p>
+ *
+ * <p>
+ * For each operation the metrics keep call and error counts, rows read and
+ * written, total connection wait time and a latency histogram with 16
+ * sub-buckets per power of two, so percentiles are accurate to within 6.25%.
+ * Recording is lock-free and allocation-free: a thread-local lookup, two
+ * {@link System#nanoTime()} calls and a few striped counter increments.
+ * </p>
+ *
+ * <p>
+ * {@link #snapshot()} returns the current values. The same data is exposed to
+ * JMX through {@link OperationMetricsMXBean} once {@link #registerMBean(String)}
+ * is called.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(OperationMetrics.class);
+
+    private static final ThreadLocal<Scope> CURRENT = ThreadLocal.withInitial(Scope::new);
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    /**
+     * Starts timing an operation on the current thread. If an operation is
+     * already being timed on this thread, the new one is counted as part of it.
+     *
+     * @param operation the operation name
+     * @return the scope to close when the operation ends
+     */
+    public Scope begin(String operation) {
+        Scope scope = CURRENT.get();
+        if (scope.depth++ == 0) {
+            Recorder recorder = recorders.get(operation);
+            if (recorder == null) {
+                recorder = recorders.computeIfAbsent(operation, k -> new Recorder());
+            }
+            scope.recorder = recorder;
+            scope.operation = operation;
+            scope.rowsRead = 0;
+            scope.rowsWritten = 0;
+            scope.waitNanos = 0;
+            scope.failed = false;
+            scope.start = System.nanoTime();
+        }
+        return scope;
+    }
+
+    /**
+     * Adds rows read to the operation timed on the current thread, if any.
+     *
+     * @param rows the number of rows
+     */
+    public static void rowsRead(long rows) {
+        Scope scope = CURRENT.get();
+        if (scope.depth > 0) {
+            scope.rowsRead += rows;
+        }
+    }
+
+    /**
+     * Adds rows written to the operation timed on the current thread, if any.
+     *
+     * @param rows the number of rows
+     */
+    public static void rowsWritten(long rows) {
+        Scope scope = CURRENT.get();
+        if (scope.depth > 0) {
+            scope.rowsWritten += rows;
+        }
+    }
+
+    /**
+     * Adds time spent waiting for a database connection to the operation timed
+     * on the current thread, if any.
+     *
+     * @param nanos the wait in nanoseconds
+     */
+    public static void connectionWait(long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope.depth > 0) {
+            scope.waitNanos += nanos;
+        }
+    }
+
+    /**
+     * Marks the operation timed on the current thread, if any, as failed.
+     */
+    public static void failed() {
+        Scope scope = CURRENT.get();
+        if (scope.depth > 0) {
+            scope.failed = true;
+        }
+    }
+
+    /**
+     * Returns the name of the operation timed on the current thread.
+     *
+     * @return the outermost open operation, or null if there is none
+     */
+    static String currentOperation() {
+        Scope scope = CURRENT.get();
+        return scope.depth > 0 ? scope.operation : null;
+    }
+
+    /**
+     * Returns the current metrics of every operation called so far. Counters
+     * are read one at a time while recording continues, so values may be off
+     * by the calls in flight.
+     *
+     * @return one snapshot per operation, sorted by name
+     */
+    public List<Snapshot> snapshot() {
+        List<Snapshot> snapshots = new ArrayList<>();
+        recorders.forEach((operation, recorder) -> snapshots.add(recorder.snapshot(operation)));
+        snapshots.sort((a, b) -> a.operation().compareTo(b.operation()));
+        return snapshots;
+    }
+
+    /**
+     * Returns the current metrics of one operation.
+     *
+     * @param operation the operation name
+     * @return the snapshot, or null if the operation was never called
+     */
+    public Snapshot snapshot(String operation) {
+        Recorder recorder = recorders.get(operation);
+        return recorder == null ? null : recorder.snapshot(operation);
+    }
+
+    /**
+     * Discards all recorded metrics. Calls in flight may be recorded against
+     * the discarded values.
+     */
+    @Override
+    public void reset() {
+        recorders.clear();
+    }
+
+    @Override
+    public List<String> getOperations() {
+        return snapshot().stream().map(Snapshot::operation).toList();
+    }
+
+    @Override
+    public Map<String, Long> getOperationMetrics(String operation) {
+        Snapshot s = snapshot(operation);
+        Map<String, Long> values = new LinkedHashMap<>();
+        if (s != null) {
+            values.put("calls", s.calls());
+            values.put("errors", s.errors());
+            values.put("rowsRead", s.rowsRead());
+            values.put("rowsWritten", s.rowsWritten());
+            values.put("connectionWaitNanos", s.connectionWaitNanos());
+            values.put("meanNanos", s.meanNanos());
+            values.put("p50Nanos", s.p50Nanos());
+            values.put("p95Nanos", s.p95Nanos());
+            values.put("p99Nanos", s.p99Nanos());
+            values.put("maxNanos", s.maxNanos());
+        }
+        return values;
+    }
+
+    @Override
+    public List<String> getReport() {
+        return snapshot().stream().map(Snapshot::format).toList();
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under
+     * {@code core:type=OperationMetrics,name=<name>}. Failures are logged.
+     *
+     * @param name the value of the {@code name} key
+     */
+    public void registerMBean(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("core:type=OperationMetrics,name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            logger.warn("Could not register operation metrics MBean {}", name, e);
+        }
+    }
+
+    /**
+     * An operation being timed on the current thread. Closing the outermost
+     * scope records the operation.
+     */
+    public static final class Scope implements AutoCloseable {
+        private int depth;
+        private Recorder recorder;
+        private String operation;
+        private long start;
+        private long rowsRead;
+        private long rowsWritten;
+        private long waitNanos;
+        private boolean failed;
+
+        private Scope() {
+        }
+
+        @Override
+        public void close() {
+            if (--depth == 0) {
+                recorder.record(System.nanoTime() - start, failed, rowsRead, rowsWritten, waitNanos);
+                recorder = null;
+                operation = null;
+            }
+        }
+    }
+
+    /**
+     * Metrics of one operation at one point in time.
+     *
+     * @param operation           the operation name
+     * @param calls               the number of calls
+     * @param errors              the number of failed calls
+     * @param rowsRead            the rows read by all calls
+     * @param rowsWritten         the rows written by all calls
+     * @param connectionWaitNanos the time all calls spent waiting for a
+     *                            database connection
+     * @param meanNanos           the mean latency
+     * @param p50Nanos            the median latency
+     * @param p95Nanos            the 95th percentile latency
+     * @param p99Nanos            the 99th percentile latency
+     * @param maxNanos            the maximum latency
+     */
+    public record Snapshot(String operation, long calls, long errors, long rowsRead, long rowsWritten,
+            long connectionWaitNanos, long meanNanos, long p50Nanos, long p95Nanos, long p99Nanos,
+            long maxNanos) {
+
+        /**
+         * Formats the snapshot as one line for logs and consoles.
+         *
+         * @return e.g. {@code searchStudents calls=12 errors=0 rows=340/0
+         *         wait=0.01ms p50=1.20ms p95=2.10ms p99=3.00ms max=3.05ms}
+         */
+        public String format() {
+            return String.format(java.util.Locale.ROOT,
+                    "%s calls=%d errors=%d rows=%d/%d wait=%.2fms p50=%.2fms p95=%.2fms p99=%.2fms max=%.2fms",
+                    operation, calls, errors, rowsRead, rowsWritten, connectionWaitNanos / 1e6, p50Nanos / 1e6,
+                    p95Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6);
+        }
+    }
+
+    /**
+     * Lock-free accumulators of one operation.
+     */
+    private static final class Recorder {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rowsRead = new LongAdder();
+        private final LongAdder rowsWritten = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final Histogram latency = new Histogram();
+
+        void record(long nanos, boolean failed, long read, long written, long wait) {
+            calls.increment();
+            if (failed) {
+                errors.increment();
+            }
+            if (read != 0) {
+                rowsRead.add(read);
+            }
+            if (written != 0) {
+                rowsWritten.add(written);
+            }
+            if (wait != 0) {
+                waitNanos.add(wait);
+            }
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            latency.record(nanos);
+        }
+
+        Snapshot snapshot(String operation) {
+            long count = calls.sum();
+            long max = maxNanos.get();
+            return new Snapshot(operation, count, errors.sum(), rowsRead.sum(), rowsWritten.sum(),
+                    waitNanos.sum(), count == 0 ? 0 : totalNanos.sum() / count,
+                    latency.percentile(0.50, max), latency.percentile(0.95, max),
+                    latency.percentile(0.99, max), max);
+        }
+    }
+
+    /**
+     * Log-linear histogram of non-negative values: exact below 16, and 16
+     * equal sub-buckets per power of two above.
+     */
+    static final class Histogram {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+
+        private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BITS) * SUB_COUNT);
+
+        void record(long value) {
+            counts.incrementAndGet(bucket(Math.max(0, value)));
+        }
+
+        /**
+         * Returns the upper bound of the bucket holding a percentile.
+         *
+         * @param p   the percentile, between 0 and 1
+         * @param max the largest recorded value, which caps the result
+         * @return the value, or 0 if nothing was recorded
+         */
+        long percentile(double p, long max) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(p * total));
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        static int bucket(long value) {
+            if (value < SUB_COUNT) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int shift = exponent - SUB_BITS;
+            return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < SUB_COUNT) {
+                return bucket;
+            }
+            int shift = bucket / SUB_COUNT - 1;
+            long mantissa = SUB_COUNT + bucket % SUB_COUNT;
+            return ((mantissa + 1) << shift) - 1;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package core;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link OperationMetrics}, readable from JConsole, VisualVM or
+ * any other JMX client.
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface OperationMetricsMXBean {
+
+    /**
+     * Returns the names of all operations called so far.
+     *
+     * @return the operation names, sorted
+     */
+    List<String> getOperations();
+
+    /**
+     * Returns the metrics of one operation: calls, errors, rowsRead,
+     * rowsWritten, connectionWaitNanos, meanNanos, p50Nanos, p95Nanos,
+     * p99Nanos and maxNanos.
+     *
+     * @param operation the operation name
+     * @return the metrics by name, or an empty map if the operation was never
+     *         called
+     */
+    Map<String, Long> getOperationMetrics(String operation);
+
+    /**
+     * Returns one formatted line per operation.
+     *
+     * @return the report lines
+     */
+    List<String> getReport();
+
+    /**
+     * Discards all recorded metrics.
+     */
+    void reset();
+}
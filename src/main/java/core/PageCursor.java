@@ -0,0 +1,55 @@
+package core;
+
+/**
+ * Keyset pagination cursor pointing just past a row of a sorted student list.
+ *
+ * <p>
+ * A cursor records the value of the active sort key and the student ID of the
+ * last row of a page. The next page is fetched with a
+ * {@code WHERE (sortKey, studentID) > (cursor)} style predicate, so the
+ * database can seek straight to it instead of skipping all earlier rows.
+ * </p>
+ *
+ * @param sortBy    the normalized sort key the cursor belongs to ("name",
+ *                  "grade" or "age")
+ * @param sortValue the sort key value of the last row (String, Double or
+ *                  Integer)
+ * @param studentID the ID of the last row, used as a tie-breaker
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record PageCursor(String sortBy, Object sortValue, String studentID) {
+
+    /**
+     * Creates a cursor positioned after the given student.
+     *
+     * @param last   the last student of a page
+     * @param sortBy the sort key of the page (e.g., "name", "grade", "age")
+     * @return a cursor for the page following {@code last}
+     */
+    public static PageCursor after(Student last, String sortBy) {
+        String key = normalize(sortBy);
+        Object value = switch (key) {
+            case "grade" -> last.getGrade();
+            case "age" -> last.getAge();
+            default -> last.getName();
+        };
+        return new PageCursor(key, value, last.getStudentID());
+    }
+
+    /**
+     * Maps a user-facing sort option to one of the supported sort keys.
+     *
+     * @param sortBy the requested sort field; unknown values sort by name
+     * @return "name", "grade" or "age"
+     */
+    public static String normalize(String sortBy) {
+        return switch (sortBy == null ? "" : sortBy.toLowerCase()) {
+            case "grade" -> "grade";
+            case "age" -> "age";
+            default -> "name";
+        };
+    }
+}
@@ -0,0 +1,218 @@
+package core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies ordered, checksummed schema migrations to a SQLite database.
+ *
+ * <p>
+ * Every applied migration is recorded in the {@code schema_version} table
+ * with its version, description, a SHA-256 checksum of its statements and the
+ * time it was applied. On each run the migrator:
+ * </p>
+ * <ol>
+ * <li>verifies that every recorded migration still has the same checksum, and
+ * fails if one was edited after being applied;</li>
+ * <li>applies the missing migrations in version order, each in its own
+ * transaction together with its {@code schema_version} row;</li>
+ * <li>runs {@code ANALYZE} if anything was applied, so the query planner has
+ * statistics for the new tables and indexes.</li>
+ * </ol>
+ *
+ * <p>
+ * When the schema is already up to date, a run only reads
+ * {@code schema_version} and executes no DDL.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class SchemaMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    /**
+     * One schema change.
+     *
+     * @param version     the version number, unique and increasing
+     * @param description a short human-readable description
+     * @param statements  the SQL statements to execute, in order
+     */
+    public record Migration(int version, String description, List<String> statements) {
+
+        /**
+         * Creates a migration from SQL statements.
+         *
+         * @param version     the version number
+         * @param description a short description
+         * @param statements  the SQL statements to execute
+         * @return the migration
+         */
+        public static Migration of(int version, String description, String... statements) {
+            return new Migration(version, description, List.of(statements));
+        }
+
+        /**
+         * Returns the SHA-256 checksum of the statements, as lower-case hex.
+         *
+         * @return the checksum
+         */
+        public String checksum() {
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                for (String sql : statements) {
+                    digest.update(sql.strip().getBytes(StandardCharsets.UTF_8));
+                    digest.update((byte) 0);
+                }
+                return HexFormat.of().formatHex(digest.digest());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+
+    private final List<Migration> migrations;
+
+    /**
+     * Creates a migrator for the given migrations.
+     *
+     * @param migrations the migrations, sorted by strictly increasing version
+     * @throws IllegalArgumentException if the versions are not strictly
+     *                                  increasing
+     */
+    public SchemaMigrator(List<Migration> migrations) {
+        for (int i = 1; i < migrations.size(); i++) {
+            if (migrations.get(i).version() <= migrations.get(i - 1).version()) {
+                throw new IllegalArgumentException(
+                        "Migration versions must increase: " + migrations.get(i).version());
+            }
+        }
+        this.migrations = List.copyOf(migrations);
+    }
+
+    /**
+     * Returns the version of the last migration.
+     *
+     * @return the latest version, or 0 if there are no migrations
+     */
+    public int latestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).version();
+    }
+
+    /**
+     * Brings the database up to the latest version.
+     *
+     * @param conn an open connection in auto-commit mode
+     * @return the number of migrations applied
+     * @throws SQLException if a recorded migration was modified, or a migration
+     *                      fails (its transaction is rolled back)
+     */
+    public int migrate(Connection conn) throws SQLException {
+        Map<Integer, String> applied = appliedChecksums(conn);
+
+        for (Migration m : migrations) {
+            String recorded = applied.get(m.version());
+            if (recorded != null && !recorded.equals(m.checksum())) {
+                throw new SQLException("Checksum mismatch for applied schema migration " + m.version()
+                        + " (" + m.description() + ")");
+            }
+        }
+        if (migrations.stream().allMatch(m -> applied.containsKey(m.version()))) {
+            logger.debug("Schema is up to date at version {}", latestVersion());
+            return 0;
+        }
+
+        if (applied.isEmpty()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("""
+                            CREATE TABLE IF NOT EXISTS schema_version (
+                                version INTEGER PRIMARY KEY,
+                                description TEXT NOT NULL,
+                                checksum TEXT NOT NULL,
+                                applied_at TEXT NOT NULL
+                            )
+                        """);
+            }
+        }
+
+        int count = 0;
+        for (Migration m : migrations) {
+            if (!applied.containsKey(m.version())) {
+                apply(conn, m);
+                count++;
+            }
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+        }
+        logger.info("Applied {} schema migration(s), now at version {}", count, latestVersion());
+        return count;
+    }
+
+    /**
+     * Applies one migration and records it, in a single transaction.
+     */
+    private static void apply(Connection conn, Migration m) throws SQLException {
+        conn.setAutoCommit(false);
+        try (Statement stmt = conn.createStatement();
+                PreparedStatement record = conn.prepareStatement(
+                        "INSERT INTO schema_version(version, description, checksum, applied_at) VALUES (?, ?, ?, ?)")) {
+            for (String sql : m.statements()) {
+                stmt.execute(sql);
+            }
+            record.setInt(1, m.version());
+            record.setString(2, m.description());
+            record.setString(3, m.checksum());
+            record.setString(4, Instant.now().toString());
+            record.executeUpdate();
+            conn.commit();
+            logger.info("Applied schema migration {}: {}", m.version(), m.description());
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration " + m.version() + " failed (Transaction rolled back)", e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Reads the checksums of the applied migrations.
+     *
+     * @return checksums by version, empty if {@code schema_version} does not
+     *         exist yet
+     */
+    private static Map<Integer, String> appliedChecksums(Connection conn) throws SQLException {
+        Map<Integer, String> applied = new HashMap<>();
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(
+                    "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'schema_version'")) {
+                if (!rs.next()) {
+                    return applied;
+                }
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM schema_version")) {
+                while (rs.next()) {
+                    applied.put(rs.getInt(1), rs.getString(2));
+                }
+            }
+        }
+        return applied;
+    }
+}
@@ -0,0 +1,348 @@
+package core;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Detects, logs and keeps the SQL statements that take longer than a
+ * threshold.
+ *
+ * <p>
+ * Statements are reported by {@link TracedConnection} when they finish. A slow
+ * statement is kept in a ring buffer of the most recent ones with its
+ * operation, duration, rows, bound values and query plan. It is also logged at
+ * WARN level with the output of {@code EXPLAIN QUERY PLAN}, captured on the same
+ * connection with the same values bound. Logging is rate-limited per SQL
+ * template: within the log interval, repeats are only counted, and the count
+ * is included in the next log line for that template. Repeats are buffered with
+ * the plan captured last.
+ * </p>
+ *
+ * <p>
+ * The log is off until a threshold is set, by system property or over JMX,
+ * since timing statements needs {@link TracedConnection} proxies around every
+ * connection, statement and result set. Bound text and blob values are
+ * redacted to their length unless value logging is enabled, since they hold
+ * names and search terms. Numbers are always shown. The defaults come from
+ * these system properties:
+ * </p>
+ * <ul>
+ * <li>{@code students.slowQuery.thresholdMillis}: unset, meaning off</li>
+ * <li>{@code students.slowQuery.logIntervalMillis}: 60000</li>
+ * <li>{@code students.slowQuery.bufferSize}: 100</li>
+ * <li>{@code students.slowQuery.logValues}: false</li>
+ * </ul>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class SlowQueryLog implements SlowQueryLogMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    /**
+     * The most SQL templates whose rate limit state is kept; the state is
+     * cleared when it grows beyond this.
+     */
+    private static final int MAX_TEMPLATES = 1_000;
+
+    /**
+     * Shortest duration considered slow, or -1 while the log is off.
+     */
+    private volatile long thresholdNanos;
+    private final long logIntervalNanos;
+    private final boolean logValues;
+
+    private final Entry[] buffer;
+    private int next;
+    private long recorded;
+
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a slow query log.
+     *
+     * @param threshold   the shortest duration considered slow, or null to
+     *                    create the log switched off
+     * @param logInterval the shortest time between two log lines for the same
+     *                    SQL template
+     * @param bufferSize  the number of recent slow statements kept (at least 1)
+     * @param logValues   whether to show bound text and blob values instead of
+     *                    redacting them
+     */
+    public SlowQueryLog(Duration threshold, Duration logInterval, int bufferSize, boolean logValues) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1");
+        }
+        this.thresholdNanos = threshold == null ? -1 : threshold.toNanos();
+        this.logIntervalNanos = logInterval.toNanos();
+        this.logValues = logValues;
+        this.buffer = new Entry[bufferSize];
+    }
+
+    /**
+     * Creates a slow query log configured by the {@code students.slowQuery.*}
+     * system properties.
+     *
+     * @return the log
+     */
+    public static SlowQueryLog fromSystemProperties() {
+        long threshold = Long.getLong("students.slowQuery.thresholdMillis", -1L);
+        return new SlowQueryLog(threshold < 0 ? null : Duration.ofMillis(threshold),
+                Duration.ofMillis(Long.getLong("students.slowQuery.logIntervalMillis", 60_000L)),
+                Integer.getInteger("students.slowQuery.bufferSize", 100),
+                Boolean.getBoolean("students.slowQuery.logValues"));
+    }
+
+    /**
+     * Tells whether the log is on, so statements need to be timed.
+     *
+     * @return true if a threshold is set
+     */
+    boolean isEnabled() {
+        return thresholdNanos >= 0;
+    }
+
+    /**
+     * Tells whether a statement of the given duration is slow.
+     *
+     * @param nanos the duration
+     * @return true if the log is on and the duration reaches the threshold
+     */
+    boolean isSlow(long nanos) {
+        long threshold = thresholdNanos;
+        return threshold >= 0 && nanos >= threshold;
+    }
+
+    /**
+     * Records a slow statement, logging it with its query plan unless the same
+     * SQL template was logged within the log interval.
+     *
+     * @param conn       the connection the statement ran on, used to capture
+     *                   the plan; may be null
+     * @param operation  the operation that ran the statement, or null
+     * @param sql        the statement text
+     * @param nanos      the duration
+     * @param rows       the rows fetched or changed, or -1 if not counted
+     * @param params     the bound values, by parameter index minus one
+     * @param paramCount the number of parameters bound
+     */
+    void record(Connection conn, String operation, String sql, long nanos, long rows, Object[] params,
+            int paramCount) {
+        String template = sql.strip().replaceAll("\\s+", " ");
+        if (templates.size() >= MAX_TEMPLATES && !templates.containsKey(template)) {
+            templates.clear();
+        }
+        Template state = templates.computeIfAbsent(template, k -> new Template());
+
+        long now = System.nanoTime();
+        boolean log;
+        long suppressed = 0;
+        synchronized (state) {
+            log = !state.logged || now - state.lastLogged >= logIntervalNanos;
+            if (log) {
+                suppressed = state.suppressed;
+                state.suppressed = 0;
+                state.logged = true;
+                state.lastLogged = now;
+            } else {
+                state.suppressed++;
+            }
+        }
+
+        List<String> values = describe(params, paramCount);
+        String plan = state.plan;
+        if (log) {
+            plan = explain(conn, sql, params, paramCount);
+            state.plan = plan;
+        }
+        Entry entry = new Entry(Instant.now(), operation, template, nanos, rows, values, plan);
+        synchronized (this) {
+            buffer[next] = entry;
+            next = (next + 1) % buffer.length;
+            recorded++;
+        }
+        if (log) {
+            logger.warn("Slow statement: {}{}\n  plan:\n{}", entry.format(),
+                    suppressed > 0 ? " (" + suppressed + " more since last logged)" : "",
+                    plan.indent(4).stripTrailing());
+        }
+    }
+
+    /**
+     * Returns the recent slow statements, oldest first.
+     *
+     * @return at most the buffer size of entries
+     */
+    public synchronized List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>(buffer.length);
+        for (int i = 0; i < buffer.length; i++) {
+            Entry e = buffer[(next + i) % buffer.length];
+            if (e != null) {
+                entries.add(e);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Returns the recent slow statements run by one operation, oldest first.
+     *
+     * @param operation the operation name
+     * @return the matching entries
+     */
+    public List<Entry> entries(String operation) {
+        return entries().stream().filter(e -> operation.equals(e.operation())).toList();
+    }
+
+    @Override
+    public long getThresholdMillis() {
+        long threshold = thresholdNanos;
+        return threshold < 0 ? -1 : Duration.ofNanos(threshold).toMillis();
+    }
+
+    @Override
+    public void setThresholdMillis(long millis) {
+        thresholdNanos = millis < 0 ? -1 : Duration.ofMillis(millis).toNanos();
+    }
+
+    @Override
+    public synchronized long getSlowStatementCount() {
+        return recorded;
+    }
+
+    @Override
+    public List<String> getRecentStatements() {
+        return entries().stream().map(Entry::format).toList();
+    }
+
+    @Override
+    public synchronized void clear() {
+        Arrays.fill(buffer, null);
+        next = 0;
+        recorded = 0;
+        templates.clear();
+    }
+
+    /**
+     * Registers this log with the platform MBean server under
+     * {@code core:type=SlowQueryLog,name=<name>}. Failures are logged.
+     *
+     * @param name the value of the {@code name} key
+     */
+    public void registerMBean(String name) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this,
+                    new ObjectName("core:type=SlowQueryLog,name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            logger.warn("Could not register slow query log MBean {}", name, e);
+        }
+    }
+
+    /**
+     * Describes bound values for the log, redacting text and blobs unless value
+     * logging is enabled.
+     */
+    private List<String> describe(Object[] params, int paramCount) {
+        List<String> values = new ArrayList<>(paramCount);
+        for (int i = 0; i < paramCount; i++) {
+            Object value = params[i];
+            if (value == null) {
+                values.add("NULL");
+            } else if (value instanceof Number || value instanceof Boolean) {
+                values.add(value.toString());
+            } else if (value instanceof byte[] bytes) {
+                values.add(logValues && bytes.length == 16 ? StudentKeys.toString(bytes)
+                        : "<blob, " + bytes.length + " bytes>");
+            } else {
+                String text = value.toString();
+                values.add(logValues ? "'" + text + "'" : "<text, " + text.length() + " chars>");
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Captures the query plan of a statement with its values bound.
+     *
+     * @return the plan as an indented tree, or a note why there is none
+     */
+    private static String explain(Connection conn, String sql, Object[] params, int paramCount) {
+        String verb = sql.stripLeading().split("\\s", 2)[0].toUpperCase(Locale.ROOT);
+        if (conn == null || !List.of("SELECT", "WITH", "INSERT", "UPDATE", "DELETE", "REPLACE").contains(verb)) {
+            return "(no plan for this statement)";
+        }
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 0; i < paramCount; i++) {
+                ps.setObject(i + 1, params[i]);
+            }
+            StringBuilder plan = new StringBuilder();
+            Map<Integer, Integer> depths = new HashMap<>();
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+                    depths.put(rs.getInt("id"), depth);
+                    plan.append("  ".repeat(depth)).append(rs.getString("detail")).append('\n');
+                }
+            }
+            return plan.isEmpty() ? "(empty plan)" : plan.toString().stripTrailing();
+        } catch (SQLException e) {
+            return "(plan unavailable: " + e.getMessage() + ")";
+        }
+    }
+
+    /**
+     * Rate limit state and last captured plan of one SQL template.
+     */
+    private static final class Template {
+        private boolean logged;
+        private long lastLogged;
+        private long suppressed;
+        private volatile String plan;
+    }
+
+    /**
+     * One slow statement.
+     *
+     * @param time       when the statement finished
+     * @param operation  the operation that ran it, or null
+     * @param sql        the statement text, whitespace collapsed
+     * @param nanos      its duration
+     * @param rows       the rows fetched or changed, or -1 if not counted
+     * @param parameters the bound values, redacted unless value logging is on
+     * @param plan       the output of {@code EXPLAIN QUERY PLAN}, as captured
+     *                   when the template was last logged
+     */
+    public record Entry(Instant time, String operation, String sql, long nanos, long rows,
+            List<String> parameters, String plan) {
+
+        /**
+         * Formats the entry as one line, without the plan.
+         *
+         * @return e.g. {@code searchStudents 250.1ms rows=12 SELECT ... [<text, 4 chars>]}
+         */
+        public String format() {
+            return String.format(Locale.ROOT, "%s %.1fms rows=%s %s %s", operation == null ? "-" : operation,
+                    nanos / 1e6, rows < 0 ? "?" : Long.toString(rows), sql, parameters);
+        }
+    }
+}
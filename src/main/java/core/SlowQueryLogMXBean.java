@@ -0,0 +1,51 @@
+package core;
+
+import java.util.List;
+
+/**
+ * JMX view of {@link SlowQueryLog}, readable from JConsole, VisualVM or any
+ * other JMX client.
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface SlowQueryLogMXBean {
+
+    /**
+     * Returns the shortest statement duration considered slow.
+     *
+     * @return the threshold in milliseconds, or -1 if the log is off
+     */
+    long getThresholdMillis();
+
+    /**
+     * Changes the shortest statement duration considered slow, switching the
+     * log on or off. Connections obtained afterwards follow the change.
+     *
+     * @param millis the threshold in milliseconds, or a negative value to
+     *               switch the log off
+     */
+    void setThresholdMillis(long millis);
+
+    /**
+     * Returns the number of slow statements recorded since the log was
+     * created or last cleared, including those no longer buffered.
+     *
+     * @return the count
+     */
+    long getSlowStatementCount();
+
+    /**
+     * Returns the buffered slow statements, oldest first, one line each.
+     *
+     * @return the formatted statements
+     */
+    List<String> getRecentStatements();
+
+    /**
+     * Discards the buffered statements and the rate limit state, and resets
+     * the slow statement count.
+     */
+    void clear();
+}
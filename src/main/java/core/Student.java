@@ -147,6 +147,25 @@ public class Student {
         this.courses = courses != null ? courses : new ArrayList<>();
     }
 
+    /**
+     * Constructs a copy of another student.
+     * 
+     * <p>
+     * All fields are copied and the course list is duplicated, so changes to the
+     * copy's courses do not affect the original.
+     * </p>
+     * 
+     * @param other the student to copy
+     */
+    public Student(Student other) {
+        this.studentID = other.studentID;
+        this.name = other.name;
+        this.age = other.age;
+        this.grade = other.grade;
+        this.enrollmentDate = other.enrollmentDate;
+        this.courses = other.courses != null ? new ArrayList<>(other.courses) : new ArrayList<>();
+    }
+
     /**
      * Returns the student's name.
      * 
@@ -0,0 +1,313 @@
+package core;
+
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Read-through cache for student reads, with write-through invalidation.
+ *
+ * <p>
+ * The cache has two regions:
+ * </p>
+ * <ul>
+ * <li><b>Entries</b>: individual students keyed by student ID, filled by
+ * {@link StudentManager#findStudent(String)} and by every cached query
+ * result.</li>
+ * <li><b>Queries</b>: results of ordered list, page and count reads,
+ * keyed by {@link QueryKey}. Each result belongs to a scope: all students
+ * (null) or one course.</li>
+ * </ul>
+ *
+ * <p>
+ * Both regions are LRU-ordered and bounded: entries by count, queries by the
+ * total number of student rows they hold. A write to a student invalidates that
+ * student's entry and every query result whose scope is "all students" or one
+ * of the courses the student was or is enrolled in; results for unrelated
+ * courses stay cached.
+ * </p>
+ *
+ * <p>
+ * All methods are thread-safe. Loaders run outside the cache lock; a result
+ * loaded while an invalidation happened is returned but not cached, so a
+ * concurrent write can never leave a stale entry behind.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class StudentCache {
+
+    /**
+     * Loads a value on a cache miss.
+     *
+     * @param <T> the type of the loaded value
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        /**
+         * Loads the value from the database.
+         *
+         * @return the loaded value
+         * @throws SQLException if the database read fails
+         */
+        T load() throws SQLException;
+    }
+
+    /**
+     * Identifies a cached query result.
+     *
+     * @param kind       the read operation (e.g., "list", "page", "count")
+     * @param courseCode the course the result is scoped to, or null for all
+     *                   students
+     * @param args       any further arguments of the read (sort key, cursor,
+     *                   page size), compared with equals
+     */
+    public record QueryKey(String kind, String courseCode, Object args) {
+    }
+
+    /**
+     * Snapshot of cache statistics.
+     *
+     * @param entryHits     student lookups served from the cache
+     * @param entryMisses   student lookups that went to the database
+     * @param queryHits     query reads served from the cache
+     * @param queryMisses   query reads that went to the database
+     * @param evictions     entries and query results dropped to respect the size
+     *                      bounds
+     * @param invalidations entries and query results dropped because of writes
+     * @param entries       students currently cached
+     * @param queries       query results currently cached
+     * @param cachedRows    student rows held by cached query results
+     */
+    public record Stats(long entryHits, long entryMisses, long queryHits, long queryMisses, long evictions,
+            long invalidations, int entries, int queries, long cachedRows) {
+
+        /**
+         * Returns the fraction of reads (entries and queries) served from the
+         * cache.
+         *
+         * @return the hit ratio between 0.0 and 1.0
+         */
+        public double hitRatio() {
+            long hits = entryHits + queryHits;
+            long total = hits + entryMisses + queryMisses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+
+    private final int maxEntries;
+    private final long maxCachedRows;
+
+    private final LinkedHashMap<String, Student> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final LinkedHashMap<QueryKey, Weighted> queries = new LinkedHashMap<>(64, 0.75f, true);
+    private long cachedRows;
+
+    /**
+     * Incremented on every invalidation so loads that raced with a write are not
+     * cached.
+     */
+    private long generation;
+
+    private long entryHits;
+    private long entryMisses;
+    private long queryHits;
+    private long queryMisses;
+    private long evictions;
+    private long invalidations;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxEntries    the maximum number of individually cached students
+     * @param maxCachedRows the maximum total number of student rows held by
+     *                      cached query results
+     */
+    public StudentCache(int maxEntries, long maxCachedRows) {
+        this.maxEntries = maxEntries;
+        this.maxCachedRows = maxCachedRows;
+    }
+
+    /**
+     * Returns a student from the entry cache, loading and caching it on a miss.
+     * A null result (student not found) is not cached.
+     *
+     * @param studentID the ID of the student
+     * @param loader    loads the student from the database
+     * @return the cached or loaded student, or null if it does not exist
+     * @throws SQLException if the loader fails
+     */
+    public Student getStudent(String studentID, Loader<Student> loader) throws SQLException {
+        long observed;
+        synchronized (this) {
+            Student cached = entries.get(studentID);
+            if (cached != null) {
+                entryHits++;
+                return cached;
+            }
+            entryMisses++;
+            observed = generation;
+        }
+
+        Student loaded = loader.load();
+        if (loaded != null) {
+            synchronized (this) {
+                if (observed == generation) {
+                    putEntry(loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns whether a student is currently held in the entry cache.
+     *
+     * @param studentID the ID of the student
+     * @return true if the student is cached
+     */
+    public synchronized boolean containsStudent(String studentID) {
+        return entries.containsKey(studentID);
+    }
+
+    /**
+     * Returns a query result from the cache, loading and caching it on a miss.
+     *
+     * @param <T>    the type of the result
+     * @param key    the key of the query
+     * @param loader loads the result from the database
+     * @param rows   the students contained in the result, added to the entry
+     *               cache; may be empty for scalar results
+     * @return the cached or loaded result
+     * @throws SQLException if the loader fails
+     */
+    public <T> T getQuery(QueryKey key, Loader<T> loader, Function<T, Collection<Student>> rows)
+            throws SQLException {
+        long observed;
+        synchronized (this) {
+            Weighted cached = queries.get(key);
+            if (cached != null) {
+                queryHits++;
+                @SuppressWarnings("unchecked")
+                T value = (T) cached.value;
+                return value;
+            }
+            queryMisses++;
+            observed = generation;
+        }
+
+        T loaded = loader.load();
+        Collection<Student> students = rows.apply(loaded);
+        synchronized (this) {
+            if (observed == generation) {
+                long weight = Math.max(1, students.size());
+                Weighted previous = queries.put(key, new Weighted(loaded, weight));
+                if (previous != null) {
+                    cachedRows -= previous.weight;
+                }
+                cachedRows += weight;
+                for (Student s : students) {
+                    putEntry(s);
+                }
+                evictQueries();
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Invalidates everything a write to one student can affect: the student's
+     * entry, and all query results scoped to all students or to any of the given
+     * courses.
+     *
+     * @param studentID the ID of the written student, or null for a batch of
+     *                  new students not yet cached
+     * @param courses   every course the student was or is enrolled in
+     */
+    public synchronized void invalidateStudent(String studentID, Collection<String> courses) {
+        invalidateStudents(studentID == null ? List.of() : List.of(studentID), courses);
+    }
+
+    /**
+     * Invalidates everything writes to several students can affect: their
+     * entries, and all query results scoped to all students or to any of the
+     * given courses.
+     *
+     * @param studentIDs the IDs of the written students
+     * @param courses    every course any of the students was or is enrolled in
+     */
+    public synchronized void invalidateStudents(Collection<String> studentIDs, Collection<String> courses) {
+        generation++;
+        for (String studentID : studentIDs) {
+            if (entries.remove(studentID) != null) {
+                invalidations++;
+            }
+        }
+        Iterator<Map.Entry<QueryKey, Weighted>> it = queries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<QueryKey, Weighted> e = it.next();
+            String scope = e.getKey().courseCode();
+            if (scope == null || courses.contains(scope)) {
+                cachedRows -= e.getValue().weight;
+                it.remove();
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Drops every cached entry and query result.
+     */
+    public synchronized void invalidateAll() {
+        generation++;
+        invalidations += entries.size() + queries.size();
+        entries.clear();
+        queries.clear();
+        cachedRows = 0;
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the current statistics
+     */
+    public synchronized Stats getStats() {
+        return new Stats(entryHits, entryMisses, queryHits, queryMisses, evictions, invalidations,
+                entries.size(), queries.size(), cachedRows);
+    }
+
+    private void putEntry(Student student) {
+        entries.put(student.getStudentID(), student);
+        if (entries.size() > maxEntries) {
+            Iterator<String> it = entries.keySet().iterator();
+            it.next();
+            it.remove();
+            evictions++;
+        }
+    }
+
+    private void evictQueries() {
+        Iterator<Map.Entry<QueryKey, Weighted>> it = queries.entrySet().iterator();
+        while (cachedRows > maxCachedRows && it.hasNext()) {
+            cachedRows -= it.next().getValue().weight;
+            it.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * A cached query result and the number of rows it counts against the size
+     * bound.
+     */
+    private record Weighted(Object value, long weight) {
+        private Weighted {
+            Objects.requireNonNull(value);
+        }
+    }
+}
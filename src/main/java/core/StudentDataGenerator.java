@@ -0,0 +1,424 @@
+package core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deterministic generator of realistic synthetic students, for benchmarks and
+ * soak tests.
+ *
+ * <p>
+ * A generator is defined by its seed: the same seed always yields the same
+ * course catalog and the same sequence of students, so the first N students
+ * are identical whatever total is requested. Values follow simple but
+ * realistic distributions:
+ * </p>
+ * <ul>
+ * <li>Names: first and last names drawn from fixed lists with a mild Zipf
+ * skew, so common names repeat as they do in real rosters.</li>
+ * <li>Age: mostly 18 to 25, skewed young, with about one student in eight a
+ * mature student of 24 to 60.</li>
+ * <li>Grade: normal around 72 with a standard deviation of 12, clamped to 0 to
+ * 100 and rounded to one decimal.</li>
+ * <li>Enrollment date: autumn (three in four) or spring intakes from 2016 to
+ * 2025, up to three weeks after term start.</li>
+ * <li>Courses: one to six per student, drawn without replacement from a
+ * Zipf distribution over the catalog, so a few introductory courses hold most
+ * enrollments. {@link #courses()} lists the catalog from most to least
+ * popular.</li>
+ * </ul>
+ *
+ * <p>
+ * Students can be written as CSV in the format read by
+ * {@link StudentManagerImpl#importStudentsFromCSV(String)}, or loaded straight
+ * into a database by {@link #writeDatabase(Connection, long)}. The class also
+ * has a command-line entry point; see {@link #main(String[])}.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class StudentDataGenerator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudentDataGenerator.class);
+
+    /**
+     * Seed used when none is given.
+     */
+    public static final long DEFAULT_SEED = 42L;
+
+    /**
+     * Default Zipf exponent of course popularity.
+     */
+    public static final double DEFAULT_ZIPF_EXPONENT = 1.1;
+
+    /**
+     * Number of rows sent to the database per JDBC batch.
+     */
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String[] FIRST_NAMES = { "Maria", "James", "Wei", "Fatima", "Olga", "Carlos", "Aisha",
+        "John", "Yuki", "Priya", "Lucas", "Emma", "Noah", "Chen", "Sofia", "Omar", "Liam", "Amara", "Mateo",
+        "Hana", "Ivan", "Zara", "Diego", "Mei", "Kwame", "Elena", "Arjun", "Chloe", "Tomas", "Leila", "Sven",
+        "Nadia", "Hiro", "Grace", "Ali", "Ingrid", "Pablo", "Ayesha", "Felix", "Rosa" };
+    private static final String[] LAST_NAMES = { "Smith", "Garcia", "Wang", "Khan", "Ivanova", "Silva",
+        "Okafor", "Brown", "Sato", "Patel", "Muller", "Rossi", "Kim", "Nguyen", "Lopez", "Haddad", "Johnson",
+        "Chen", "Kowalski", "Mensah", "Andersson", "Dubois", "Tanaka", "Singh", "Costa", "Novak", "Ahmed",
+        "Jensen", "Moreau", "Yilmaz", "Murphy", "Fischer", "Hernandez", "Li", "Petrov", "Santos", "Ito",
+        "Osei", "Bauer", "Reyes" };
+    private static final String[][] DEPARTMENTS = { { "CS", "Computer Science" }, { "MATH", "Mathematics" },
+        { "ENG", "English" }, { "PHYS", "Physics" }, { "CHEM", "Chemistry" }, { "BIO", "Biology" },
+        { "HIST", "History" }, { "ECON", "Economics" }, { "PSY", "Psychology" }, { "ART", "Art" } };
+    private static final String[] LEVELS = { "Introduction to", "Intermediate", "Advanced", "Topics in" };
+    private static final double[] COURSE_COUNT_WEIGHTS = { 0.10, 0.20, 0.30, 0.25, 0.10, 0.05 };
+
+    private final long seed;
+    private final List<Course> courses;
+    private final Zipf coursePopularity;
+    private final Zipf firstNames;
+    private final Zipf lastNames;
+
+    /**
+     * Creates a generator with the default catalog of 40 courses and course
+     * popularity exponent.
+     *
+     * @param seed the seed
+     */
+    public StudentDataGenerator(long seed) {
+        this(seed, DEPARTMENTS.length * LEVELS.length, DEFAULT_ZIPF_EXPONENT);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param seed         the seed
+     * @param courseCount  the number of courses in the catalog, from 1 to 40
+     * @param zipfExponent the Zipf exponent of course popularity; 0 makes all
+     *                     courses equally popular, larger values concentrate
+     *                     enrollments on the most popular ones
+     * @throws IllegalArgumentException if the course count or exponent is out
+     *                                  of range
+     */
+    public StudentDataGenerator(long seed, int courseCount, double zipfExponent) {
+        if (courseCount < 1 || courseCount > DEPARTMENTS.length * LEVELS.length) {
+            throw new IllegalArgumentException("Course count must be 1-" + DEPARTMENTS.length * LEVELS.length);
+        }
+        if (!(zipfExponent >= 0)) {
+            throw new IllegalArgumentException("Zipf exponent must not be negative");
+        }
+        this.seed = seed;
+        this.courses = catalog(new SplittableRandom(seed ^ 0x5DEECE66DL), courseCount);
+        this.coursePopularity = new Zipf(courseCount, zipfExponent);
+        this.firstNames = new Zipf(FIRST_NAMES.length, 0.8);
+        this.lastNames = new Zipf(LAST_NAMES.length, 0.8);
+    }
+
+    /**
+     * Returns the course catalog, most popular course first.
+     *
+     * @return an unmodifiable list of courses
+     */
+    public List<Course> courses() {
+        return courses;
+    }
+
+    /**
+     * Generates students lazily.
+     *
+     * @param count the number of students
+     * @return an iterator over {@code count} new students, always the same ones
+     *         for the same seed
+     */
+    public Iterator<Student> students(long count) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return new Iterator<>() {
+            private long remaining = count;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public Student next() {
+                if (remaining <= 0) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return nextStudent(random);
+            }
+        };
+    }
+
+    /**
+     * Writes students as CSV with a header line, in the format read by
+     * {@link StudentManagerImpl#importStudentsFromCSV(String)}.
+     *
+     * @param file  the output file, created or truncated
+     * @param count the number of students
+     * @return the number of students written
+     * @throws IOException if the file cannot be written
+     */
+    public long writeCsv(Path file, long count) throws IOException {
+        long written = 0;
+        try (CsvWriter csv = new CsvWriter(file)) {
+            csv.field("name").field("age").field("grade").field("enrollmentDate").field("courses").endRecord();
+            Iterator<Student> students = students(count);
+            while (students.hasNext()) {
+                Student s = students.next();
+                csv.field(s.getName())
+                        .field(s.getAge())
+                        .fieldFixed2(s.getGrade())
+                        .field(s.getEnrollmentDate().toString())
+                        .field(String.join(";", s.getCourses()));
+                csv.endRecord();
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Loads students and the course catalog straight into a database.
+     *
+     * <p>
+     * This is the fastest bulk path: everything is written in one transaction
+     * with batched statements, and the search index and grade aggregates are
+     * dropped first and rebuilt from the loaded data at the end instead of being
+     * maintained row by row by their triggers. The change counter triggers are
+     * dropped too, and the load counts as a single change. The schema must
+     * already be migrated. Managers already open on the database do not see the
+     * new students in their in-memory indexes until they are recreated.
+     * </p>
+     *
+     * @param conn  an open connection to the database
+     * @param count the number of students
+     * @return the number of students inserted
+     * @throws SQLException if loading fails; nothing is written then
+     */
+    public long writeDatabase(Connection conn, long count) throws SQLException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        long inserted = 0;
+        try {
+            DatabaseInitializer.dropDerivedTables(conn);
+
+            try (PreparedStatement coursePs = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO courses(courseCode, courseName, credits) VALUES (?, ?, ?)")) {
+                for (Course c : courses) {
+                    coursePs.setString(1, c.getCourseCode());
+                    coursePs.setString(2, c.getCourseName());
+                    coursePs.setInt(3, c.getCredits());
+                    coursePs.addBatch();
+                }
+                coursePs.executeBatch();
+            }
+
+            try (PreparedStatement studentPs = conn.prepareStatement("""
+                        INSERT INTO students (studentID, name, age, grade, enrollmentDate)
+                        VALUES (?, ?, ?, ?, ?)
+                        ON CONFLICT(studentID) DO NOTHING
+                    """);
+                    PreparedStatement enrollPs = conn.prepareStatement(
+                            "INSERT OR IGNORE INTO enrollments(studentID, courseCode, enrollmentGrade) VALUES (?, ?, ?)")) {
+                SplittableRandom gradeNoise = new SplittableRandom(seed ^ 0x2545F4914F6CDD1DL);
+                Iterator<Student> students = students(count);
+                int pending = 0;
+                while (students.hasNext()) {
+                    Student s = students.next();
+                    StudentKeys.bind(studentPs, 1, s.getStudentID());
+                    studentPs.setString(2, s.getName());
+                    studentPs.setInt(3, s.getAge());
+                    studentPs.setDouble(4, s.getGrade());
+                    studentPs.setString(5, s.getEnrollmentDate().toString());
+                    studentPs.addBatch();
+                    for (String course : s.getCourses()) {
+                        StudentKeys.bind(enrollPs, 1, s.getStudentID());
+                        enrollPs.setString(2, course);
+                        enrollPs.setDouble(3, clampGrade(s.getGrade() + gradeNoise.nextGaussian() * 6));
+                        enrollPs.addBatch();
+                    }
+                    if (++pending == BATCH_SIZE || !students.hasNext()) {
+                        for (int n : studentPs.executeBatch()) {
+                            inserted += n;
+                        }
+                        enrollPs.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+
+            DatabaseInitializer.initializeSearchIndex(conn);
+            DatabaseInitializer.initializeGradeStats(conn);
+            DatabaseInitializer.initializeDataVersion(conn);
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("UPDATE data_version SET version = version + 1");
+            }
+            conn.commit();
+            return inserted;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Command-line entry point.
+     *
+     * <pre>
+     * java core.StudentDataGenerator &lt;count&gt; &lt;target&gt; [seed]
+     * </pre>
+     *
+     * <p>
+     * A target starting with {@code jdbc:} is a database URL; the schema is
+     * migrated and the students are loaded with
+     * {@link #writeDatabase(Connection, long)}. Any other target is a CSV file
+     * path.
+     * </p>
+     *
+     * @param args the student count, the target and an optional seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: StudentDataGenerator <count> <file.csv | jdbc:sqlite:path> [seed]");
+            System.exit(2);
+        }
+        long count = Long.parseLong(args[0]);
+        String target = args[1];
+        StudentDataGenerator generator = new StudentDataGenerator(
+                args.length == 3 ? Long.parseLong(args[2]) : DEFAULT_SEED);
+
+        long start = System.nanoTime();
+        try {
+            long written;
+            if (target.startsWith("jdbc:")) {
+                try (Connection conn = DriverManager.getConnection(target)) {
+                    DatabaseInitializer.migrate(conn);
+                    written = generator.writeDatabase(conn, count);
+                }
+            } else {
+                written = generator.writeCsv(Path.of(target), count);
+            }
+            logger.info("Generated {} students into {} in {} ms", written, target,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | SQLException e) {
+            logger.error("Failed to generate students into {}", target, e);
+            System.exit(1);
+        }
+    }
+
+    private Student nextStudent(SplittableRandom random) {
+        long high = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long low = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        String id = new UUID(high, low).toString();
+
+        String name = FIRST_NAMES[firstNames.sample(random)] + " " + LAST_NAMES[lastNames.sample(random)];
+
+        int age;
+        if (random.nextInt(8) == 0) {
+            age = 24 + random.nextInt(37);
+        } else {
+            age = 18 + Math.min(7, (int) Math.abs(random.nextGaussian() * 2.5));
+        }
+
+        double grade = clampGrade(72 + random.nextGaussian() * 12);
+
+        int year = 2016 + random.nextInt(10);
+        LocalDate termStart = random.nextInt(4) == 0 ? LocalDate.of(year, 1, 15) : LocalDate.of(year, 9, 1);
+        LocalDate enrollmentDate = termStart.plusDays(random.nextInt(21));
+
+        int wanted = 1;
+        double u = random.nextDouble();
+        for (double w : COURSE_COUNT_WEIGHTS) {
+            if ((u -= w) < 0) {
+                break;
+            }
+            wanted++;
+        }
+        wanted = Math.min(Math.min(wanted, COURSE_COUNT_WEIGHTS.length), courses.size());
+        ArrayList<String> enrolled = new ArrayList<>(wanted);
+        while (enrolled.size() < wanted) {
+            String code = courses.get(coursePopularity.sample(random)).getCourseCode();
+            if (!enrolled.contains(code)) {
+                enrolled.add(code);
+            }
+        }
+
+        return new Student(id, name, age, grade, enrollmentDate, enrolled);
+    }
+
+    private static List<Course> catalog(SplittableRandom random, int count) {
+        List<Course> all = new ArrayList<>();
+        for (int level = 0; level < LEVELS.length; level++) {
+            for (String[] department : DEPARTMENTS) {
+                all.add(new Course(department[0] + (level + 1) + "01",
+                        LEVELS[level] + " " + department[1], 3 + random.nextInt(2)));
+            }
+        }
+        // Keep introductory courses most popular, but vary the order within a level.
+        for (int from = 0; from < all.size(); from += DEPARTMENTS.length) {
+            for (int i = from + DEPARTMENTS.length - 1; i > from; i--) {
+                int j = from + random.nextInt(i - from + 1);
+                all.set(i, all.set(j, all.get(i)));
+            }
+        }
+        return List.copyOf(all.subList(0, count));
+    }
+
+    private static double clampGrade(double grade) {
+        return Math.round(Math.max(0, Math.min(100, grade)) * 10) / 10.0;
+    }
+
+    /**
+     * Zipf distribution over ranks 0 to n - 1, sampled by inverting its
+     * cumulative distribution.
+     */
+    private static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int k = 0; k < n; k++) {
+                total += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = total;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= total;
+            }
+        }
+
+        int sample(SplittableRandom random) {
+            double u = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] < u) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
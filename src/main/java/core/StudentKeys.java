@@ -0,0 +1,90 @@
+package core;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * Translates student IDs between their String form and their stored form.
+ *
+ * <p>
+ * IDs that are canonical lowercase UUIDs, the form generated for new students,
+ * are stored as 16-byte blobs; any other ID is stored as text (see migration 6
+ * in {@link DatabaseInitializer}). Every statement that binds or reads a
+ * {@code studentID} column goes through this class, so the public API keeps
+ * accepting and returning String IDs.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class StudentKeys {
+
+    private StudentKeys() {
+    }
+
+    /**
+     * Binds a student ID parameter in its stored form.
+     *
+     * @param ps        the statement
+     * @param index     the parameter index
+     * @param studentID the student ID
+     * @throws SQLException if binding fails
+     */
+    static void bind(PreparedStatement ps, int index, String studentID) throws SQLException {
+        UUID uuid = CompactStudent.parseUuid(studentID);
+        if (uuid != null) {
+            ps.setBytes(index, toBytes(uuid));
+        } else {
+            ps.setString(index, studentID);
+        }
+    }
+
+    /**
+     * Reads a student ID column.
+     *
+     * @param rs     the result set positioned on a row
+     * @param column the column label
+     * @return the student ID, or null if the column is null
+     * @throws SQLException if reading fails
+     */
+    static String read(ResultSet rs, String column) throws SQLException {
+        return toString(rs.getObject(column));
+    }
+
+    /**
+     * Reads a student ID column.
+     *
+     * @param rs     the result set positioned on a row
+     * @param column the column index
+     * @return the student ID, or null if the column is null
+     * @throws SQLException if reading fails
+     */
+    static String read(ResultSet rs, int column) throws SQLException {
+        return toString(rs.getObject(column));
+    }
+
+    /**
+     * Converts a stored student ID value to its string form.
+     *
+     * @param value a 16-byte UUID key, a text ID or null
+     * @return the student ID, or null
+     */
+    static String toString(Object value) {
+        if (value instanceof byte[] bytes && bytes.length == 16) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new UUID(buffer.getLong(), buffer.getLong()).toString();
+        }
+        return value == null ? null : value.toString();
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+}
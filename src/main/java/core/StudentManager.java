@@ -1,6 +1,8 @@
 package core;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * Interface defining the contract for student management operations.
@@ -37,6 +39,59 @@ public interface StudentManager {
      */
     void addStudent(Student student);
 
+    /**
+     * Adds a student, resolving an existing student with the same ID according
+     * to the given policy.
+     * 
+     * <p>
+     * The common case, a new ID, costs a single insert statement; existing IDs
+     * are detected by that statement rather than by a separate lookup.
+     * </p>
+     * 
+     * @param student the student to add
+     * @param policy  what to do if the student ID already exists
+     * @return the outcome for the student
+     */
+    BatchInsertReport.Outcome addStudent(Student student, ConflictPolicy policy);
+
+    /**
+     * Adds many students in bulk using the default commit interval.
+     * 
+     * @param students the students to add
+     * @return the per-row outcome report
+     * @see #addStudents(Collection, int)
+     */
+    BatchInsertReport addStudents(Collection<Student> students);
+
+    /**
+     * Adds many students in bulk.
+     * 
+     * <p>
+     * Rows are sent to the database in JDBC batches and committed every
+     * {@code commitInterval} students, so a large import does not pay for one
+     * transaction per row. Students whose ID already exists are skipped
+     * ({@link ConflictPolicy#SKIP}), and every input row is reported with its
+     * outcome.
+     * </p>
+     * 
+     * @param students       the students to add
+     * @param commitInterval the number of students per transaction (at least 1)
+     * @return the per-row outcome report
+     */
+    BatchInsertReport addStudents(Collection<Student> students, int commitInterval);
+
+    /**
+     * Adds many students in bulk, resolving existing student IDs according to
+     * the given policy.
+     * 
+     * @param students       the students to add
+     * @param commitInterval the number of students per transaction (at least 1)
+     * @param policy         what to do with rows whose student ID already exists
+     * @return the per-row outcome report
+     * @see #addStudents(Collection, int)
+     */
+    BatchInsertReport addStudents(Collection<Student> students, int commitInterval, ConflictPolicy policy);
+
     /**
      * Removes a student from the system by their unique ID.
      * 
@@ -83,6 +138,79 @@ public interface StudentManager {
      */
     ArrayList<Student> displayAllStudents(String sortBy);
 
+    /**
+     * Streams all students from the system without building the full list in
+     * memory.
+     * 
+     * <p>
+     * Students are read lazily as the stream is consumed and include their
+     * enrolled courses. The stream holds database resources and must be closed
+     * by the caller, typically with try-with-resources.
+     * </p>
+     * 
+     * @param sortBy the field to sort by (e.g., "name", "grade", "age")
+     * @return an ordered stream of all students
+     */
+    Stream<Student> streamStudents(String sortBy);
+
+    /**
+     * Retrieves the students enrolled in a specific course/group with custom
+     * sorting.
+     * 
+     * @param courseCode the unique identifier of the course
+     * @param sortBy     the field to sort by (e.g., "name", "grade", "age")
+     * @return an ArrayList containing the enrolled students, each with all of
+     *         their courses, sorted by the specified field
+     */
+    ArrayList<Student> displayStudentsByCourse(String courseCode, String sortBy);
+
+    /**
+     * Retrieves one page of students using keyset pagination.
+     * 
+     * <p>
+     * Pages are ordered by the sort field with the student ID as a tie-breaker.
+     * Pass the {@link StudentPage#next()} cursor of one page to fetch the
+     * following one.
+     * </p>
+     * 
+     * @param sortBy     the field to sort by (e.g., "name", "grade", "age")
+     * @param courseCode the course to filter by, or null for all students
+     * @param after      the cursor of the previous page, or null for the first
+     *                   page
+     * @param pageSize   the maximum number of students on the page
+     * @return the requested page
+     */
+    StudentPage displayStudentsPage(String sortBy, String courseCode, PageCursor after, int pageSize);
+
+    /**
+     * Returns the cursor that starts the page beginning at the given row offset,
+     * for jumping to a page whose cursor is not known.
+     * 
+     * @param sortBy     the field to sort by (e.g., "name", "grade", "age")
+     * @param courseCode the course to filter by, or null for all students
+     * @param offset     the zero-based position of the first row of the page
+     * @return the cursor to pass to
+     *         {@link #displayStudentsPage(String, String, PageCursor, int)}, or
+     *         null to start from the beginning
+     */
+    PageCursor seekCursor(String sortBy, String courseCode, int offset);
+
+    /**
+     * Counts students, optionally restricted to one course.
+     * 
+     * @param courseCode the course to filter by, or null for all students
+     * @return the number of matching students
+     */
+    int countStudents(String courseCode);
+
+    /**
+     * Retrieves a single student with their enrolled courses.
+     * 
+     * @param studentID the unique identifier of the student
+     * @return the student, or null if no student has this ID
+     */
+    Student findStudent(String studentID);
+
     /**
      * Calculates the average grade across all students.
      * 
@@ -103,6 +231,20 @@ public interface StudentManager {
      */
     double calculateAverageGrade(String courseCode);
 
+    /**
+     * Returns the running grade aggregates (count, sum, sum of squares, minimum
+     * and maximum) of all students or of one course.
+     * 
+     * <p>
+     * The aggregates are maintained on every write, so this is a constant-time
+     * lookup regardless of the number of students.
+     * </p>
+     * 
+     * @param courseCode the course to report on, or null for all students
+     * @return the grade aggregates, empty if no graded student matches
+     */
+    GradeStats getGradeStats(String courseCode);
+
     /**
      * Searches for students matching the given query.
      * 
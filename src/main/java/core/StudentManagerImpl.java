@@ -1,12 +1,25 @@
 package core;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
-import java.io.PrintWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.*;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import core.exceptions.DataAccessException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,6 +53,7 @@ import org.slf4j.LoggerFactory;
  * @version 1.0
  * @since 1.0
  */
+@SuppressWarnings("try") // OperationMetrics scopes are only opened and closed, never read
 public class StudentManagerImpl implements StudentManager {
     /**
      * Logger instance for recording operations and errors.
@@ -51,27 +65,126 @@ public class StudentManagerImpl implements StudentManager {
      */
     private static StudentManagerImpl instance;
 
+    /**
+     * Default number of students committed per transaction by
+     * {@link #addStudents(Collection)} and the CSV import.
+     */
+    public static final int DEFAULT_COMMIT_INTERVAL = 1_000;
+
+    /**
+     * Number of parser threads used by the CSV import. Configurable with the
+     * {@code students.import.workers} system property.
+     */
+    public static final int IMPORT_WORKERS = Integer.getInteger("students.import.workers",
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)));
+
+    /**
+     * Number of CSV lines handed to an import parser thread at a time.
+     */
+    private static final int IMPORT_BLOCK_SIZE = 512;
+
+    /**
+     * Exclusive upper bounds of the grade bands of
+     * {@link #gradeDistribution(String)}.
+     */
+    private static final double[] GRADE_BANDS = { 60, 70, 80, 90 };
+
+    /**
+     * Column list shared by all queries that hydrate students together with
+     * their enrollments (students alias {@code s}, enrollments alias {@code e}).
+     */
+    private static final String STUDENT_COLUMNS = """
+                s.studentID, s.name, s.age, s.grade, s.enrollmentDate, e.courseCode
+            """;
+
     /**
      * Obtains a database connection from the ConnectionFactory.
      * 
      * <p>
-     * This method is protected to allow test subclasses to override
-     * the connection source for testing purposes.
+     * Connections come from the shared pool, so closing them returns them to
+     * the pool rather than closing the database file. This method is protected
+     * to allow test subclasses to override the connection source for testing
+     * purposes.
      * </p>
      * 
-     * @return a new database connection
+     * @return a pooled database connection
      * @throws SQLException if a database access error occurs
      */
     protected Connection getConnection() throws SQLException {
         return ConnectionFactory.getConnection();
     }
 
+    /**
+     * Obtains a connection from {@link #getConnection()}, adding the time spent
+     * waiting for it to the metrics of the current operation. While a Flight
+     * Recorder recording has statement events enabled or the slow query log is
+     * on, the connection is wrapped in a {@link TracedConnection}, so its
+     * statements are recorded as events and slow ones are reported to
+     * {@link #slowQueries()}.
+     * 
+     * @return a pooled database connection
+     * @throws SQLException if a database access error occurs
+     */
+    private Connection connect() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn = getConnection();
+        long wait = System.nanoTime() - start;
+        OperationMetrics.connectionWait(wait);
+        return TracedConnection.isNeeded(slowQueries) ? TracedConnection.wrap(conn, wait, slowQueries) : conn;
+    }
+
+    /**
+     * Latency, error and row counts of the public operations of this manager.
+     */
+    private final OperationMetrics metrics = new OperationMetrics();
+
+    /**
+     * Slow statements of this manager, configured by the
+     * {@code students.slowQuery.*} system properties.
+     */
+    private final SlowQueryLog slowQueries = SlowQueryLog.fromSystemProperties();
+
+    /**
+     * In-memory substring index serving {@link #quickSearch(String)}. Built at
+     * construction and kept current by every write method of this class.
+     */
+    private final TrigramIndex quickSearchIndex = new TrigramIndex();
+
+    /**
+     * Columnar copy of grades, ages, enrollment dates and enrollments serving
+     * the in-memory analytics. Built together with {@link #quickSearchIndex} and
+     * kept current by every write method of this class; replaced as a whole on
+     * rebuild.
+     */
+    private volatile ColumnarStudentStore analytics = new ColumnarStudentStore();
+
+    /**
+     * Read-through cache for list, page, count and single-student reads.
+     * Invalidated by every write method of this class.
+     */
+    private final StudentCache cache = new StudentCache(
+            Integer.getInteger("students.cache.maxEntries", 10_000),
+            Long.getLong("students.cache.maxRows", 100_000L));
+
+    /**
+     * Default location of the binary student snapshot written by
+     * {@link #saveSnapshot()}. Configurable with the
+     * {@code students.snapshot.path} system property.
+     */
+    public static final Path SNAPSHOT_PATH = Path.of(System.getProperty("students.snapshot.path",
+            "students.snapshot"));
+
     /**
      * Protected constructor for singleton pattern.
-     * Initializes the database schema on first instantiation.
+     * Initializes the database schema on first instantiation and builds the
+     * in-memory quick search index, from the snapshot at {@link #SNAPSHOT_PATH}
+     * if it is still current and from the database otherwise.
      */
     protected StudentManagerImpl() {
         initializeDatabase();
+        if (!loadSnapshot(SNAPSHOT_PATH)) {
+            rebuildQuickSearchIndex();
+        }
     }
 
     /**
@@ -100,19 +213,21 @@ public class StudentManagerImpl implements StudentManager {
     public static synchronized StudentManagerImpl getInstance() {
         if (instance == null) {
             instance = new StudentManagerImpl();
+            instance.metrics.registerMBean("StudentManager");
+            instance.slowQueries.registerMBean("StudentManager");
         }
         return instance;
     }
 
     /**
-     * Adds a new student to the database.
+     * Adds a new student to the database, skipping it if the ID already exists.
      * 
      * <p>
      * This method performs the following operations within a transaction:
      * </p>
      * <ol>
-     * <li>Checks if a student with the same ID already exists</li>
-     * <li>Inserts the student record into the students table</li>
+     * <li>Inserts the student record into the students table, unless a student
+     * with the same ID exists</li>
      * <li>Creates course records if they don't exist</li>
      * <li>Creates enrollment records linking the student to their courses</li>
      * </ol>
@@ -127,66 +242,389 @@ public class StudentManagerImpl implements StudentManager {
      */
     @Override
     public void addStudent(Student student) {
-        String checkSql = "SELECT 1 FROM students WHERE studentID = ?";
-        String insertSql = """
-                    INSERT INTO students (studentID, name, age, grade, enrollmentDate)
-                    VALUES (?, ?, ?, ?, ?)
-                """;
+        addStudent(student, ConflictPolicy.SKIP);
+    }
+
+    /**
+     * Adds a student, resolving an existing student with the same ID according
+     * to the given policy.
+     * 
+     * <p>
+     * The student is written with the same statements as a one-row bulk insert:
+     * {@code INSERT ... ON CONFLICT(studentID) DO NOTHING} reports through its
+     * update count whether the ID already existed, so no lookup precedes it.
+     * Only conflicting rows under {@link ConflictPolicy#REPLACE} or
+     * {@link ConflictPolicy#MERGE_COURSES} need further statements.
+     * </p>
+     * 
+     * @param student the student to add
+     * @param policy  what to do if the student ID already exists
+     * @return the outcome for the student
+     */
+    @Override
+    public BatchInsertReport.Outcome addStudent(Student student, ConflictPolicy policy) {
+        try (OperationMetrics.Scope scope = metrics.begin("addStudent")) {
+            BatchInsertReport report = new BatchInsertReport();
 
-        try (Connection conn = getConnection()) {
-            conn.setAutoCommit(false);
+            try (Connection conn = connect()) {
+                conn.setAutoCommit(false);
+                insertChunk(conn, Collections.singletonList(student), 0, report, policy);
 
-            try (PreparedStatement checkPs = conn.prepareStatement(checkSql)) {
-                checkPs.setString(1, student.getStudentID());
-                try (ResultSet rs = checkPs.executeQuery()) {
-                    if (rs.next()) {
-                        logger.warn("Attempted to add existing student with ID: {}", student.getStudentID());
-                        conn.rollback();
-                        return;
-                    }
-                }
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database connection error", e);
+                return BatchInsertReport.Outcome.FAILED;
+            }
 
-                try (PreparedStatement insertPs = conn.prepareStatement(insertSql)) {
-                    insertPs.setString(1, student.getStudentID());
-                    insertPs.setString(2, student.getName());
-                    insertPs.setInt(3, student.getAge());
-                    insertPs.setDouble(4, student.getGrade());
-                    insertPs.setString(5, student.getEnrollmentDate().toString());
-                    insertPs.executeUpdate();
+            BatchInsertReport.RowResult row = report.getRows().get(0);
+            switch (row.outcome()) {
+                case DUPLICATE -> logger.warn("Attempted to add existing student with ID: {}", row.studentID());
+                case INVALID -> logger.warn("Rejected student with ID: {}: {}", row.studentID(), row.message());
+                default -> {
                 }
+            }
+            return row.outcome();
+        }
+    }
+
+    /**
+     * Adds many students in bulk using {@link #DEFAULT_COMMIT_INTERVAL}.
+     * 
+     * @param students the students to add
+     * @return the per-row outcome report
+     */
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students) {
+        return addStudents(students, DEFAULT_COMMIT_INTERVAL);
+    }
 
-                // Insert courses/enrollments
-                if (student.getCourses() != null && !student.getCourses().isEmpty()) {
-                    String courseSql = "INSERT OR IGNORE INTO courses(courseCode, courseName, credits) VALUES (?, ?, ?)";
-                    String enrollSql = "INSERT OR IGNORE INTO enrollments(studentID, courseCode, enrollmentGrade) VALUES (?, ?, ?)";
+    /**
+     * Adds many students in bulk, skipping existing student IDs.
+     * 
+     * @param students       the students to add
+     * @param commitInterval the number of students per transaction (at least 1)
+     * @return the per-row outcome report
+     * @see #addStudents(Collection, int, ConflictPolicy)
+     */
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students, int commitInterval) {
+        return addStudents(students, commitInterval, ConflictPolicy.SKIP);
+    }
 
-                    try (PreparedStatement coursePs = conn.prepareStatement(courseSql);
-                            PreparedStatement enrollPs = conn.prepareStatement(enrollSql)) {
+    /**
+     * Adds many students in bulk using JDBC batching.
+     * 
+     * <p>
+     * Students are grouped into chunks of {@code commitInterval} rows. Each chunk
+     * is written on one connection with batched
+     * {@code INSERT ... ON CONFLICT DO NOTHING} statements for students and
+     * {@code INSERT OR IGNORE} statements for courses and enrollments, and
+     * committed as a single transaction. Rows that fail validation are reported
+     * as {@link BatchInsertReport.Outcome#INVALID} without reaching the
+     * database. Rows whose ID already exists are reported as
+     * {@link BatchInsertReport.Outcome#DUPLICATE} or, if the policy applied them
+     * to the existing student, {@link BatchInsertReport.Outcome#UPDATED}.
+     * </p>
+     * 
+     * <p>
+     * If the database rejects a chunk, it is rolled back and retried row by row
+     * so that only the offending rows are reported as failed.
+     * </p>
+     * 
+     * @param students       the students to add
+     * @param commitInterval the number of students per transaction (at least 1)
+     * @param policy         what to do with rows whose student ID already exists
+     * @return the per-row outcome report
+     */
+    @Override
+    public BatchInsertReport addStudents(Collection<Student> students, int commitInterval, ConflictPolicy policy) {
+        try (OperationMetrics.Scope scope = metrics.begin("addStudents")) {
+            if (commitInterval < 1) {
+                throw new IllegalArgumentException("Commit interval must be at least 1");
+            }
 
-                        for (String course : student.getCourses()) {
+            BatchInsertReport report = new BatchInsertReport();
+            List<Student> chunk = new ArrayList<>(Math.min(commitInterval, students.size()));
+            int offset = 0;
 
-                            coursePs.setString(1, course);
-                            coursePs.setString(2, "Course " + course);
-                            coursePs.setInt(3, 4);
-                            coursePs.executeUpdate();
+            try (Connection conn = connect()) {
+                conn.setAutoCommit(false);
 
-                            enrollPs.setString(1, student.getStudentID());
-                            enrollPs.setString(2, course);
-                            enrollPs.setDouble(3, 0.0);
-                            enrollPs.executeUpdate();
-                        }
+                for (Student student : students) {
+                    chunk.add(student);
+                    if (chunk.size() == commitInterval) {
+                        insertChunk(conn, chunk, offset, report, policy);
+                        offset += chunk.size();
+                        chunk.clear();
                     }
                 }
+                if (!chunk.isEmpty()) {
+                    insertChunk(conn, chunk, offset, report, policy);
+                }
 
-                conn.commit();
             } catch (SQLException e) {
-                conn.rollback();
-                logger.error("Database error while adding student (Transaction rolled back)", e);
+                OperationMetrics.failed();
+                logger.error("Database connection error during bulk insert", e);
+                for (int i = report.size(); i < students.size(); i++) {
+                    report.record(i, null, BatchInsertReport.Outcome.FAILED, e.getMessage());
+                }
             }
 
+            logger.info("Bulk insert of {} students finished: {}", students.size(), report);
+            return report;
+        }
+    }
+
+    /**
+     * Writes and commits one chunk of a bulk insert, falling back to row-by-row
+     * transactions if the chunk as a whole is rejected.
+     * 
+     * @param conn   the connection to write on (auto-commit disabled)
+     * @param chunk  the students of this chunk
+     * @param offset the input index of the first student in the chunk
+     * @param report the report to record outcomes in
+     * @param policy what to do with rows whose student ID already exists
+     * @throws SQLException if the transaction cannot be rolled back
+     */
+    private void insertChunk(Connection conn, List<Student> chunk, int offset, BatchInsertReport report,
+            ConflictPolicy policy) throws SQLException {
+        Set<String> touchedCourses = new HashSet<>();
+        try {
+            BatchInsertReport chunkReport = writeChunk(conn, chunk, policy, touchedCourses);
+            conn.commit();
+            report.append(chunkReport, offset);
+            OperationMetrics.rowsWritten(
+                    chunkReport.getInserted() + chunkReport.count(BatchInsertReport.Outcome.UPDATED));
+
+            List<String> updatedIds = new ArrayList<>();
+            for (BatchInsertReport.RowResult row : chunkReport.getRows()) {
+                Student s = chunk.get(row.index());
+                switch (row.outcome()) {
+                    case INSERTED -> {
+                        quickSearchIndex.put(s);
+                        analytics.put(s);
+                    }
+                    case UPDATED -> {
+                        updatedIds.add(s.getStudentID());
+                        if (policy == ConflictPolicy.REPLACE) {
+                            quickSearchIndex.put(s);
+                            analytics.put(s);
+                        } else if (s.getCourses() != null) {
+                            for (String c : s.getCourses()) {
+                                quickSearchIndex.addCourse(s.getStudentID(), c);
+                                analytics.addCourse(s.getStudentID(), c);
+                            }
+                        }
+                    }
+                    default -> {
+                        continue;
+                    }
+                }
+                if (s.getCourses() != null) {
+                    touchedCourses.addAll(s.getCourses());
+                }
+            }
+            if (chunkReport.getInserted() > 0 || !updatedIds.isEmpty()) {
+                cache.invalidateStudents(updatedIds, touchedCourses);
+            }
         } catch (SQLException e) {
-            logger.error("Database connection error", e);
+            conn.rollback();
+            if (chunk.size() == 1) {
+                Student s = chunk.get(0);
+                String id = s == null ? null : s.getStudentID();
+                logger.warn("Failed to add student with ID: {}", id, e);
+                report.record(offset, id, BatchInsertReport.Outcome.FAILED, e.getMessage());
+                return;
+            }
+            logger.warn("Batch of {} students rolled back, retrying row by row", chunk.size(), e);
+            for (int i = 0; i < chunk.size(); i++) {
+                insertChunk(conn, chunk.subList(i, i + 1), offset + i, report, policy);
+            }
+        }
+    }
+
+    /**
+     * Sends the batched writes for one chunk without committing.
+     * 
+     * <p>
+     * Students are inserted with {@code ON CONFLICT(studentID) DO NOTHING}; an
+     * update count of zero identifies an existing ID. Under
+     * {@link ConflictPolicy#REPLACE} the existing rows are then updated in place
+     * (not deleted and reinserted, so their ids and the trigger-maintained
+     * search index and grade aggregates stay consistent) and their enrollments
+     * cleared. Finally courses and enrollments are inserted for every inserted
+     * or updated student.
+     * </p>
+     * 
+     * @param conn           the connection to write on
+     * @param chunk          the students of this chunk
+     * @param policy         what to do with rows whose student ID already exists
+     * @param touchedCourses receives the former courses of every updated student
+     * @return the outcomes of the chunk, indexed from zero
+     * @throws SQLException if any batch is rejected by the database
+     */
+    private BatchInsertReport writeChunk(Connection conn, List<Student> chunk, ConflictPolicy policy,
+            Set<String> touchedCourses) throws SQLException {
+        BatchInsertReport.Outcome[] outcomes = new BatchInsertReport.Outcome[chunk.size()];
+        String[] messages = new String[chunk.size()];
+        List<Integer> batched = new ArrayList<>(chunk.size());
+        List<Integer> conflicts = new ArrayList<>();
+
+        try (PreparedStatement insertPs = conn.prepareStatement("""
+                    INSERT INTO students (studentID, name, age, grade, enrollmentDate)
+                    VALUES (?, ?, ?, ?, ?)
+                    ON CONFLICT(studentID) DO NOTHING
+                """)) {
+            for (int i = 0; i < chunk.size(); i++) {
+                Student s = chunk.get(i);
+                String problem = validateForInsert(s);
+                if (problem != null) {
+                    outcomes[i] = BatchInsertReport.Outcome.INVALID;
+                    messages[i] = problem;
+                    continue;
+                }
+                StudentKeys.bind(insertPs, 1, s.getStudentID());
+                insertPs.setString(2, s.getName());
+                insertPs.setInt(3, s.getAge());
+                insertPs.setDouble(4, s.getGrade());
+                insertPs.setString(5, s.getEnrollmentDate().toString());
+                insertPs.addBatch();
+                batched.add(i);
+            }
+
+            if (!batched.isEmpty()) {
+                int[] counts = insertPs.executeBatch();
+                for (int k = 0; k < batched.size(); k++) {
+                    int i = batched.get(k);
+                    if (counts[k] > 0) {
+                        outcomes[i] = BatchInsertReport.Outcome.INSERTED;
+                    } else if (policy == ConflictPolicy.SKIP) {
+                        outcomes[i] = BatchInsertReport.Outcome.DUPLICATE;
+                        messages[i] = "Student ID already exists";
+                    } else {
+                        outcomes[i] = BatchInsertReport.Outcome.UPDATED;
+                        messages[i] = policy == ConflictPolicy.REPLACE
+                                ? "Replaced existing student"
+                                : "Merged courses into existing student";
+                        conflicts.add(i);
+                    }
+                }
+            }
+        }
+
+        for (int i : conflicts) {
+            touchedCourses.addAll(coursesOf(conn, chunk.get(i).getStudentID()));
+        }
+        if (policy == ConflictPolicy.REPLACE && !conflicts.isEmpty()) {
+            try (PreparedStatement updatePs = conn.prepareStatement("""
+                        UPDATE students
+                        SET name = ?, age = ?, grade = ?, enrollmentDate = ?
+                        WHERE studentID = ?
+                    """);
+                    PreparedStatement unenrollPs = conn.prepareStatement(
+                            "DELETE FROM enrollments WHERE studentID = ?")) {
+                for (int i : conflicts) {
+                    Student s = chunk.get(i);
+                    updatePs.setString(1, s.getName());
+                    updatePs.setInt(2, s.getAge());
+                    updatePs.setDouble(3, s.getGrade());
+                    updatePs.setString(4, s.getEnrollmentDate().toString());
+                    StudentKeys.bind(updatePs, 5, s.getStudentID());
+                    updatePs.addBatch();
+                    StudentKeys.bind(unenrollPs, 1, s.getStudentID());
+                    unenrollPs.addBatch();
+                }
+                updatePs.executeBatch();
+                unenrollPs.executeBatch();
+            }
+        }
+
+        try (PreparedStatement coursePs = conn.prepareStatement(
+                "INSERT OR IGNORE INTO courses(courseCode, courseName, credits) VALUES (?, ?, ?)");
+                PreparedStatement enrollPs = conn.prepareStatement(
+                        "INSERT OR IGNORE INTO enrollments(studentID, courseCode, enrollmentGrade) VALUES (?, ?, ?)")) {
+
+            Set<String> seenCourses = new HashSet<>();
+            boolean hasEnrollments = false;
+            for (int i = 0; i < chunk.size(); i++) {
+                Student s = chunk.get(i);
+                boolean written = outcomes[i] == BatchInsertReport.Outcome.INSERTED
+                        || outcomes[i] == BatchInsertReport.Outcome.UPDATED;
+                if (!written || s.getCourses() == null) {
+                    continue;
+                }
+                for (String course : s.getCourses()) {
+                    if (seenCourses.add(course)) {
+                        coursePs.setString(1, course);
+                        coursePs.setString(2, "Course " + course);
+                        coursePs.setInt(3, 4);
+                        coursePs.addBatch();
+                    }
+                    StudentKeys.bind(enrollPs, 1, s.getStudentID());
+                    enrollPs.setString(2, course);
+                    enrollPs.setDouble(3, 0.0);
+                    enrollPs.addBatch();
+                    hasEnrollments = true;
+                }
+            }
+            if (hasEnrollments) {
+                coursePs.executeBatch();
+                enrollPs.executeBatch();
+            }
+        }
+
+        BatchInsertReport chunkReport = new BatchInsertReport();
+        for (int i = 0; i < chunk.size(); i++) {
+            Student s = chunk.get(i);
+            chunkReport.record(i, s == null ? null : s.getStudentID(), outcomes[i], messages[i]);
+        }
+        return chunkReport;
+    }
+
+    /**
+     * Checks a student against the rules enforced by the students table, so that
+     * invalid rows can be reported without failing a whole batch.
+     * 
+     * @param s the student to check
+     * @return a description of the first violated rule, or null if the student
+     *         is valid
+     */
+    private static String validateForInsert(Student s) {
+        if (s == null) {
+            return "Student is null";
+        }
+        if (s.getStudentID() == null) {
+            return "Student ID is missing";
+        }
+        return validateValues(s.getName() != null && !s.getName().isBlank(), s.getAge(), s.getGrade(),
+                s.getEnrollmentDate());
+    }
+
+    /**
+     * Checks raw student values against the rules enforced by the students
+     * table, so that they can be validated before a student is created.
+     * 
+     * @param hasName        whether the name is present and not blank
+     * @param age            the age
+     * @param grade          the grade
+     * @param enrollmentDate the enrollment date
+     * @return a description of the first violated rule, or null if the values
+     *         are valid
+     */
+    private static String validateValues(boolean hasName, int age, double grade, LocalDate enrollmentDate) {
+        if (!hasName) {
+            return "Name is required";
+        }
+        if (age < 18 || age > 100) {
+            return "Age must be 18-100";
+        }
+        if (!(grade >= 0.0 && grade <= 100.0)) {
+            return "Grade must be 0-100";
         }
+        if (enrollmentDate == null) {
+            return "Enrollment date is required";
+        }
+        return null;
     }
 
     /**
@@ -201,17 +639,24 @@ public class StudentManagerImpl implements StudentManager {
      */
     @Override
     public void removeStudent(String studentID) {
-        String sql = "DELETE FROM students WHERE studentID = ?";
+        try (OperationMetrics.Scope scope = metrics.begin("removeStudent")) {
+            String sql = "DELETE FROM students WHERE studentID = ?";
 
-        try (Connection conn = getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, studentID);
-            ps.executeUpdate();
+                Set<String> courses = coursesOf(conn, studentID);
+                StudentKeys.bind(ps, 1, studentID);
+                OperationMetrics.rowsWritten(ps.executeUpdate());
+                quickSearchIndex.remove(studentID);
+                analytics.remove(studentID);
+                cache.invalidateStudent(studentID, courses);
 
-        } catch (SQLException e) {
-            System.err.println("Database error: " + e.getMessage());
-            e.printStackTrace();
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                System.err.println("Database error: " + e.getMessage());
+                e.printStackTrace();
+            }
         }
     }
 
@@ -229,26 +674,35 @@ public class StudentManagerImpl implements StudentManager {
      */
     @Override
     public void updateStudent(String studentID, Student updatedStudent) {
-        String sql = """
-                    UPDATE students
-                    SET name = ?, age = ?, grade = ?, enrollmentDate = ?
-                    WHERE studentID = ?
-                """;
-
-        try (Connection conn = getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, updatedStudent.getName());
-            ps.setInt(2, updatedStudent.getAge());
-            ps.setDouble(3, updatedStudent.getGrade());
-            ps.setString(4, updatedStudent.getEnrollmentDate().toString());
-            ps.setString(5, studentID);
-
-            ps.executeUpdate();
+        try (OperationMetrics.Scope scope = metrics.begin("updateStudent")) {
+            String sql = """
+                        UPDATE students
+                        SET name = ?, age = ?, grade = ?, enrollmentDate = ?
+                        WHERE studentID = ?
+                    """;
+
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                ps.setString(1, updatedStudent.getName());
+                ps.setInt(2, updatedStudent.getAge());
+                ps.setDouble(3, updatedStudent.getGrade());
+                ps.setString(4, updatedStudent.getEnrollmentDate().toString());
+                StudentKeys.bind(ps, 5, studentID);
+
+                int updated = ps.executeUpdate();
+                OperationMetrics.rowsWritten(updated);
+                if (updated > 0) {
+                    quickSearchIndex.update(studentID, updatedStudent);
+                    analytics.update(studentID, updatedStudent);
+                    cache.invalidateStudent(studentID, coursesOf(conn, studentID));
+                }
 
-        } catch (SQLException e) {
-            System.err.println("Database error: " + e.getMessage());
-            e.printStackTrace();
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                System.err.println("Database error: " + e.getMessage());
+                e.printStackTrace();
+            }
         }
     }
 
@@ -256,8 +710,8 @@ public class StudentManagerImpl implements StudentManager {
      * Retrieves all students from the database.
      * 
      * <p>
-     * For each student, this method also loads their enrolled courses from
-     * the enrollments table. The returned list is sorted alphabetically by
+     * Each student is returned with their enrolled courses, loaded from the
+     * enrollments table in the same query. The returned list is sorted alphabetically by
      * student name by default.
      * </p>
      * 
@@ -271,271 +725,1479 @@ public class StudentManagerImpl implements StudentManager {
     /**
      * Retrieves all students from the database with custom sorting.
      * 
+     * <p>
+     * Students and their enrollments are loaded with a single joined query, so
+     * the cost of a refresh does not grow with one extra round trip per student.
+     * </p>
+     * 
      * @param sortBy the field to sort by (e.g., "name", "grade", "age")
      * @return an ArrayList of all students with their course enrollments
      */
     @Override
     public ArrayList<Student> displayAllStudents(String sortBy) {
-        ArrayList<Student> students = new ArrayList<>();
-
-        // Map internal sort names to SQL columns
-        String orderColumn = switch (sortBy.toLowerCase()) {
-            case "grade" -> "grade DESC";
-            case "age" -> "age";
-            default -> "name";
-        };
-
-        String sql = "SELECT * FROM students ORDER BY " + orderColumn;
-
-        try (Connection conn = getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql);
-                ResultSet rs = ps.executeQuery()) {
-
-            while (rs.next()) {
-                Student s = new Student(
-                        rs.getString("studentID"),
-                        rs.getString("name"),
-                        rs.getInt("age"),
-                        rs.getDouble("grade"),
-                        LocalDate.parse(rs.getString("enrollmentDate")),
-                        new ArrayList<>());
-
-                try (PreparedStatement psCourses = conn.prepareStatement(
-                        "SELECT c.courseCode FROM courses c " +
-                                "JOIN enrollments e ON c.courseCode = e.courseCode " +
-                                "WHERE e.studentID = ?")) {
-                    psCourses.setString(1, s.getStudentID());
-                    ResultSet rsCourses = psCourses.executeQuery();
-                    while (rsCourses.next()) {
-                        s.addCourse(rsCourses.getString("courseCode"));
+        try (OperationMetrics.Scope scope = metrics.begin("displayAllStudents")) {
+            String sql = "SELECT " + STUDENT_COLUMNS + """
+                        FROM students s
+                        LEFT JOIN enrollments e ON s.studentID = e.studentID
+                        ORDER BY
+                    """ + orderClause(sortBy);
+
+            StudentCache.QueryKey key = new StudentCache.QueryKey("list", null, PageCursor.normalize(sortBy));
+            try {
+                return copyOf(cache.getQuery(key, () -> {
+                    try (Connection conn = connect();
+                            PreparedStatement ps = conn.prepareStatement(sql);
+                            ResultSet rs = ps.executeQuery()) {
+                        return hydrateStudents(rs);
                     }
-                }
+                }, list -> list));
 
-                students.add(s);
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while retrieving students", e);
             }
 
-        } catch (SQLException e) {
-            logger.error("Database error while retrieving students", e);
+            return new ArrayList<>();
         }
-
-        return students;
     }
 
     /**
-     * Calculates the average grade across all students.
+     * Retrieves all students enrolled in a specific course with custom sorting.
      * 
      * <p>
-     * Only grades within the valid range (0-100) are included in the calculation.
-     * If no students exist or all grades are invalid, returns 0.0.
+     * The course filter is applied in SQL and every returned student carries
+     * their full course list, loaded in the same query.
      * </p>
      * 
-     * @return the average grade as a percentage (0.0-100.0)
-     */
-    @Override
-    public double calculateAverageGrade() {
-        return displayAllStudents().stream()
-                .mapToDouble(Student::getGrade)
-                .filter(g -> g >= 0 && g <= 100)
-                .average()
-                .orElse(0.0);
-    }
-
-    /**
-     * Calculates the average grade for students enrolled in a specific course.
-     * 
      * @param courseCode the course to filter by
-     * @return the average grade of the filtered group
+     * @param sortBy     the field to sort by (e.g., "name", "grade", "age")
+     * @return an ArrayList of the enrolled students with their course enrollments
      */
     @Override
-    public double calculateAverageGrade(String courseCode) {
-        String sql = """
-                    SELECT AVG(s.grade) as avg_grade
-                    FROM students s
-                    JOIN enrollments e ON s.studentID = e.studentID
-                    WHERE e.courseCode = ? AND s.grade >= 0 AND s.grade <= 100
-                """;
-
-        try (Connection conn = getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
+    public ArrayList<Student> displayStudentsByCourse(String courseCode, String sortBy) {
+        try (OperationMetrics.Scope scope = metrics.begin("displayStudentsByCourse")) {
+            String sql = "SELECT " + STUDENT_COLUMNS + """
+                        FROM students s
+                        JOIN enrollments f ON s.studentID = f.studentID AND f.courseCode = ?
+                        LEFT JOIN enrollments e ON s.studentID = e.studentID
+                        ORDER BY
+                    """ + orderClause(sortBy);
+
+            StudentCache.QueryKey key = new StudentCache.QueryKey("list", courseCode, PageCursor.normalize(sortBy));
+            try {
+                return copyOf(cache.getQuery(key, () -> {
+                    try (Connection conn = connect();
+                            PreparedStatement ps = conn.prepareStatement(sql)) {
+                        ps.setString(1, courseCode);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            return hydrateStudents(rs);
+                        }
+                    }
+                }, list -> list));
 
-            ps.setString(1, courseCode);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getDouble("avg_grade");
-                }
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while retrieving students for course: {}", courseCode, e);
             }
-        } catch (SQLException e) {
-            logger.error("Database error while calculating average for course: {}", courseCode, e);
+
+            return new ArrayList<>();
         }
-        return 0.0;
     }
 
     /**
-     * Searches for students matching the given query string.
-     * 
-     * <p>
-     * The search is performed across multiple fields using SQL LIKE with wildcards:
-     * </p>
-     * <ul>
-     * <li>Student name</li>
-     * <li>Student ID</li>
-     * <li>Course codes</li>
-     * <li>Course names</li>
-     * <li>Age (converted to text)</li>
-     * <li>Grade (converted to text)</li>
-     * </ul>
+     * Retrieves one page of students using keyset pagination.
      * 
      * <p>
-     * The search is case-insensitive and supports partial matches.
-     * Results include the full student object with all enrolled courses.
+     * The page is located with a seek predicate on the active sort key and the
+     * student ID instead of an OFFSET, so the cost of fetching a page does not
+     * depend on how far into the list it is. Only the students on the page are
+     * hydrated, together with their courses, in a single query.
      * </p>
      * 
-     * @param query the search term to match
-     * @return an ArrayList of students matching the search criteria
+     * @param sortBy     the field to sort by (e.g., "name", "grade", "age")
+     * @param courseCode the course to filter by, or null for all students
+     * @param after      the cursor of the previous page, or null for the first
+     *                   page
+     * @param pageSize   the maximum number of students on the page
+     * @return the requested page and the cursor of the following page
      */
     @Override
-    public ArrayList<Student> searchStudents(String query) {
-        ArrayList<Student> result = new ArrayList<>();
-        String sql = """
-                    SELECT DISTINCT s.*
-                    FROM students s
-                    LEFT JOIN enrollments e ON s.studentID = e.studentID
-                    LEFT JOIN courses c ON e.courseCode = c.courseCode
-                    WHERE s.name LIKE ?
-                       OR s.studentID LIKE ?
-                       OR c.courseCode LIKE ?
-                       OR c.courseName LIKE ?
-                       OR CAST(s.age AS TEXT) LIKE ?
-                       OR CAST(s.grade AS TEXT) LIKE ?
-                """;
-
-        try (Connection conn = getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            String pattern = "%" + query + "%";
-            for (int i = 1; i <= 6; i++) {
-                ps.setString(i, pattern);
+    public StudentPage displayStudentsPage(String sortBy, String courseCode, PageCursor after, int pageSize) {
+        try (OperationMetrics.Scope scope = metrics.begin("displayStudentsPage")) {
+            String key = PageCursor.normalize(sortBy);
+            if (after != null && !after.sortBy().equals(key)) {
+                throw new IllegalArgumentException("Cursor for sort key '" + after.sortBy()
+                        + "' cannot be used to page by '" + key + "'");
             }
 
-            ResultSet rs = ps.executeQuery();
-            while (rs.next()) {
-                String studentID = rs.getString("studentID");
-                Student s = new Student(
-                        studentID,
-                        rs.getString("name"),
-                        rs.getInt("age"),
-                        rs.getDouble("grade"),
-                        LocalDate.parse(rs.getString("enrollmentDate")),
-                        new ArrayList<>());
-
-                try (PreparedStatement psCourses = conn.prepareStatement(
-                        "SELECT courseCode FROM enrollments WHERE studentID = ?")) {
-                    psCourses.setString(1, studentID);
-                    ResultSet rsCourses = psCourses.executeQuery();
-                    while (rsCourses.next()) {
-                        s.addCourse(rsCourses.getString("courseCode"));
+            String sql = "SELECT " + STUDENT_COLUMNS + """
+                        FROM (
+                            SELECT * FROM students s
+                            WHERE
+                    """ + pageFilter(key, courseCode, after) + """
+                            ORDER BY
+                    """ + orderClause(key) + """
+                            LIMIT ?
+                        ) s
+                        LEFT JOIN enrollments e ON s.studentID = e.studentID
+                        ORDER BY
+                    """ + orderClause(key);
+
+            StudentCache.QueryKey cacheKey = new StudentCache.QueryKey("page", courseCode,
+                    List.of(key, after == null ? "" : after, pageSize));
+            try {
+                StudentPage page = cache.getQuery(cacheKey, () -> {
+                    try (Connection conn = connect();
+                            PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                        int index = bindPageFilter(ps, 1, courseCode, after);
+                        ps.setInt(index, pageSize + 1);
+
+                        try (ResultSet rs = ps.executeQuery()) {
+                            ArrayList<Student> students = hydrateStudents(rs);
+                            PageCursor next = null;
+                            if (students.size() > pageSize) {
+                                students.remove(students.size() - 1);
+                                next = PageCursor.after(students.get(students.size() - 1), key);
+                            }
+                            return new StudentPage(students, next);
+                        }
                     }
-                }
+                }, StudentPage::students);
+                return new StudentPage(copyOf(page.students()), page.next());
 
-                result.add(s);
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while retrieving student page", e);
             }
 
-        } catch (SQLException e) {
-            System.err.println("Database error: " + e.getMessage());
-            e.printStackTrace();
+            return new StudentPage(new ArrayList<>(), null);
         }
-
-        return result;
     }
 
     /**
-     * Exports all students to a CSV file.
+     * Finds the cursor that starts the page beginning at the given row offset.
      * 
      * <p>
-     * The CSV format includes a header row and the following columns:
+     * This is used when jumping directly to a page whose cursor is not known.
+     * Only the sort key and student ID columns are scanned; no student rows are
+     * hydrated.
      * </p>
-     * <ul>
-     * <li>name</li>
-     * <li>age</li>
-     * <li>grade (formatted to 2 decimal places)</li>
-     * <li>enrollmentDate</li>
-     * <li>courses (semicolon-separated list)</li>
-     * </ul>
      * 
-     * @param filePath the path where the CSV file should be created
+     * @param sortBy     the field to sort by (e.g., "name", "grade", "age")
+     * @param courseCode the course to filter by, or null for all students
+     * @param offset     the zero-based position of the first row of the page
+     * @return the cursor positioned before that row, or null if offset is 0 or
+     *         beyond the end of the list
      */
     @Override
-    public void exportStudentsToCSV(String filePath) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(filePath))) {
+    public PageCursor seekCursor(String sortBy, String courseCode, int offset) {
+        try (OperationMetrics.Scope scope = metrics.begin("seekCursor")) {
+            if (offset <= 0) {
+                return null;
+            }
+            String key = PageCursor.normalize(sortBy);
+            String sql = "SELECT s." + key + ", s.studentID FROM students s WHERE "
+                    + pageFilter(key, courseCode, null)
+                    + " ORDER BY " + orderClause(key) + " LIMIT 1 OFFSET ?";
 
-            writer.println("name,age,grade,enrollmentDate,courses");
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            for (Student s : displayAllStudents()) {
-                writer.printf(
-                        "%s,%d,%.2f,%s,",
-                        s.getName(),
-                        s.getAge(),
-                        s.getGrade(),
-                        s.getEnrollmentDate());
+                int index = bindPageFilter(ps, 1, courseCode, null);
+                ps.setInt(index, offset - 1);
 
-                String courses = String.join(";", s.getCourses());
-                writer.print(courses);
-                writer.println();
-            }
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        OperationMetrics.rowsRead(1);
+                        return new PageCursor(key, rs.getObject(1), StudentKeys.read(rs, 2));
+                    }
+                }
 
-        } catch (Exception e) {
-            logger.error("Error exporting students to CSV", e);
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while seeking to offset {}", offset, e);
+            }
+            return null;
         }
     }
 
     /**
-     * Imports students from a CSV file.
-     * 
-     * <p>
-     * The CSV file must have a header row and follow this format:
-     * </p>
-     * <ul>
-     * <li>name</li>
-     * <li>age</li>
-     * <li>grade</li>
-     * <li>enrollmentDate (ISO format: YYYY-MM-DD)</li>
-     * <li>courses (semicolon-separated list)</li>
-     * </ul>
+     * Counts students, optionally restricted to one course.
      * 
-     * <p>
-     * Invalid lines are skipped with a warning logged. Successfully imported
-     * student count is logged at INFO level.
-     * </p>
-     * 
-     * @param filePath the path to the CSV file to import
+     * @param courseCode the course to filter by, or null for all students
+     * @return the number of matching students
      */
     @Override
-    public void importStudentsFromCSV(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line = br.readLine(); // skip header
-            int count = 0;
-            while ((line = br.readLine()) != null) {
-                try {
-                    String[] data = line.split(",");
-                    ArrayList<String> courses = new ArrayList<>();
-                    if (data.length > 4 && !data[4].isBlank()) {
-                        String[] courseList = data[4].split(";");
-                        for (String c : courseList) {
-                            courses.add(c.trim());
+    public int countStudents(String courseCode) {
+        try (OperationMetrics.Scope scope = metrics.begin("countStudents")) {
+            String sql = courseCode == null
+                    ? "SELECT COUNT(*) FROM students"
+                    : "SELECT COUNT(*) FROM enrollments WHERE courseCode = ?";
+
+            try {
+                return cache.getQuery(new StudentCache.QueryKey("count", courseCode, null), () -> {
+                    try (Connection conn = connect();
+                            PreparedStatement ps = conn.prepareStatement(sql)) {
+                        if (courseCode != null) {
+                            ps.setString(1, courseCode);
+                        }
+                        try (ResultSet rs = ps.executeQuery()) {
+                            return rs.next() ? rs.getInt(1) : 0;
                         }
                     }
-                    Student s = new Student(data[0], Integer.parseInt(data[1]), Double.parseDouble(data[2]),
-                            LocalDate.parse(data[3]), courses);
-                    addStudent(s);
-                    count++;
-                } catch (Exception ex) {
-                    logger.warn("Skipping invalid line: {}", line);
-                }
+                }, count -> List.of());
+
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while counting students", e);
+            }
+            return 0;
+        }
+    }
+
+    /**
+     * Counts students per grade band (0-59, 60-69, 70-79, 80-89, 90-100),
+     * optionally restricted to one course. Answered from the in-memory
+     * {@link #analytics()} store.
+     * 
+     * @param courseCode the course to filter by, or null for all students
+     * @return five counts, one per grade band
+     */
+    public int[] gradeDistribution(String courseCode) {
+        try (OperationMetrics.Scope scope = metrics.begin("gradeDistribution")) {
+            return analytics.gradeHistogram(ColumnarStudentStore.Filter.course(courseCode), GRADE_BANDS);
+        }
+    }
+
+    /**
+     * Builds the WHERE condition shared by the paging queries: an optional course
+     * filter and an optional keyset seek predicate on the students alias
+     * {@code s}.
+     * 
+     * @param key        the normalized sort key
+     * @param courseCode the course to filter by, or null
+     * @param after      the cursor to seek past, or null
+     * @return the SQL condition (at least "1")
+     */
+    private static String pageFilter(String key, String courseCode, PageCursor after) {
+        StringBuilder where = new StringBuilder("1");
+        if (courseCode != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM enrollments f"
+                    + " WHERE f.studentID = s.studentID AND f.courseCode = ?)");
+        }
+        if (after != null) {
+            String op = key.equals("grade") ? "<" : ">";
+            where.append(" AND (s.").append(key).append(' ').append(op).append(" ?")
+                    .append(" OR (s.").append(key).append(" = ? AND s.studentID > ?))");
+        }
+        return where.append('\n').toString();
+    }
+
+    /**
+     * Binds the parameters of a condition built by
+     * {@link #pageFilter(String, String, PageCursor)}.
+     * 
+     * @param ps         the statement to bind
+     * @param index      the first parameter index to use
+     * @param courseCode the course to filter by, or null
+     * @param after      the cursor to seek past, or null
+     * @return the next free parameter index
+     * @throws SQLException if binding fails
+     */
+    private static int bindPageFilter(PreparedStatement ps, int index, String courseCode, PageCursor after)
+            throws SQLException {
+        if (courseCode != null) {
+            ps.setString(index++, courseCode);
+        }
+        if (after != null) {
+            ps.setObject(index++, after.sortValue());
+            ps.setObject(index++, after.sortValue());
+            StudentKeys.bind(ps, index++, after.studentID());
+        }
+        return index;
+    }
+
+    /**
+     * Retrieves a single student with their courses by ID.
+     * 
+     * <p>
+     * Served from the student cache when possible; students loaded by any cached
+     * list or page read are cached individually as well.
+     * </p>
+     * 
+     * @param studentID the unique identifier of the student
+     * @return the student, or null if no student has this ID
+     */
+    @Override
+    public Student findStudent(String studentID) {
+        try (OperationMetrics.Scope scope = metrics.begin("findStudent")) {
+            String sql = "SELECT " + STUDENT_COLUMNS + """
+                        FROM students s
+                        LEFT JOIN enrollments e ON s.studentID = e.studentID
+                        WHERE s.studentID = ?
+                    """;
+
+            try {
+                Student student = cache.getStudent(studentID, () -> {
+                    try (Connection conn = connect();
+                            PreparedStatement ps = conn.prepareStatement(sql)) {
+                        StudentKeys.bind(ps, 1, studentID);
+                        try (ResultSet rs = ps.executeQuery()) {
+                            ArrayList<Student> found = hydrateStudents(rs);
+                            return found.isEmpty() ? null : found.get(0);
+                        }
+                    }
+                });
+                return student == null ? null : new Student(student);
+
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while retrieving student: {}", studentID, e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the statistics of the student read cache.
+     * 
+     * @return a snapshot of cache hits, misses, evictions and size
+     */
+    public StudentCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * Returns the latency, error and row metrics of the public operations of
+     * this manager, for display or export. The singleton also publishes them
+     * over JMX as {@code core:type=OperationMetrics,name="StudentManager"}.
+     * 
+     * @return the live metrics
+     */
+    public OperationMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the log of statements that took longer than its threshold, with
+     * their bound values and query plans. The singleton also publishes it over
+     * JMX as {@code core:type=SlowQueryLog,name="StudentManager"}, where the
+     * threshold can be changed at run time.
+     * 
+     * @return the live log
+     */
+    public SlowQueryLog slowQueries() {
+        return slowQueries;
+    }
+
+    /**
+     * Copies a cached list so callers can modify the list and its students
+     * without affecting the cache.
+     * 
+     * @param students the cached students
+     * @return a deep copy of the list
+     */
+    private static ArrayList<Student> copyOf(List<Student> students) {
+        ArrayList<Student> copy = new ArrayList<>(students.size());
+        for (Student s : students) {
+            copy.add(new Student(s));
+        }
+        return copy;
+    }
+
+    /**
+     * Reads the codes of the courses a student is currently enrolled in.
+     * 
+     * @param conn      the connection to read on
+     * @param studentID the unique identifier of the student
+     * @return the student's course codes
+     * @throws SQLException if the query fails
+     */
+    private static Set<String> coursesOf(Connection conn, String studentID) throws SQLException {
+        Set<String> courses = new HashSet<>();
+        try (PreparedStatement ps = conn.prepareStatement(
+                "SELECT courseCode FROM enrollments WHERE studentID = ?")) {
+            StudentKeys.bind(ps, 1, studentID);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    courses.add(rs.getString(1));
+                }
+            }
+        }
+        return courses;
+    }
+
+    /**
+     * Maps a sort key to an ORDER BY clause over the students alias {@code s}.
+     * 
+     * <p>
+     * The student ID is always used as a tie-breaker so that all joined rows of
+     * one student are adjacent, which {@link #hydrateStudents(ResultSet)} relies
+     * on.
+     * </p>
+     * 
+     * @param sortBy the field to sort by (e.g., "name", "grade", "age")
+     * @return the ORDER BY expression list
+     */
+    private static String orderClause(String sortBy) {
+        return switch (PageCursor.normalize(sortBy)) {
+            case "grade" -> "s.grade DESC, s.studentID";
+            case "age" -> "s.age, s.studentID";
+            default -> "s.name, s.studentID";
+        };
+    }
+
+    /**
+     * Builds students from a result set of {@link #STUDENT_COLUMNS} rows.
+     * 
+     * <p>
+     * The result set holds one row per enrollment (or a single row with a null
+     * course code for students without enrollments), grouped by student. Rows
+     * belonging to the same student are merged into one Student object and the
+     * order of the result set is preserved.
+     * </p>
+     * 
+     * @param rs the joined student/enrollment rows
+     * @return the hydrated students in result set order
+     * @throws SQLException if reading the result set fails
+     */
+    private static ArrayList<Student> hydrateStudents(ResultSet rs) throws SQLException {
+        ArrayList<Student> students = new ArrayList<>();
+        Student current = null;
+        long rows = 0;
+
+        while (rs.next()) {
+            rows++;
+            String studentID = StudentKeys.read(rs, "studentID");
+            if (current == null || !current.getStudentID().equals(studentID)) {
+                current = readStudentRow(rs);
+                students.add(current);
+            }
+
+            String courseCode = rs.getString("courseCode");
+            if (courseCode != null) {
+                current.addCourse(courseCode);
             }
-            logger.info("{} students imported successfully.", count);
-        } catch (Exception e) {
-            logger.error("Error importing students from CSV", e);
         }
+
+        OperationMetrics.rowsRead(rows);
+        return students;
+    }
+
+    /**
+     * Creates a student, without courses, from the current row of a result set
+     * of {@link #STUDENT_COLUMNS} rows.
+     * 
+     * @param rs the result set positioned on a row
+     * @return the student described by the row
+     * @throws SQLException if reading the row fails
+     */
+    private static Student readStudentRow(ResultSet rs) throws SQLException {
+        return new Student(
+                StudentKeys.read(rs, "studentID"),
+                rs.getString("name"),
+                rs.getInt("age"),
+                rs.getDouble("grade"),
+                LocalDate.parse(rs.getString("enrollmentDate")),
+                new ArrayList<>());
+    }
+
+    /**
+     * Streams all students from the database without materializing the full
+     * list.
+     * 
+     * <p>
+     * Rows are read from the ResultSet only as the stream is consumed, and each
+     * student is hydrated with their courses from the same joined query, so
+     * memory use stays constant regardless of table size. The returned stream
+     * holds a pooled connection and must be closed, typically with
+     * try-with-resources, on the thread that opened it. It is timed as one
+     * operation from this call until it is closed; operations called on the
+     * same thread in between are counted as part of it.
+     * </p>
+     * 
+     * <p>
+     * If the query cannot be started, the error is logged and an empty stream is
+     * returned. Errors while reading further rows are thrown as
+     * {@link DataAccessException}.
+     * </p>
+     * 
+     * @param sortBy the field to sort by (e.g., "name", "grade", "age")
+     * @return a lazily populated, ordered stream of students
+     */
+    @Override
+    public Stream<Student> streamStudents(String sortBy) {
+        String sql = "SELECT " + STUDENT_COLUMNS + """
+                    FROM students s
+                    LEFT JOIN enrollments e ON s.studentID = e.studentID
+                    ORDER BY
+                """ + orderClause(sortBy);
+
+        OperationMetrics.Scope scope = metrics.begin("streamStudents");
+        Connection conn = null;
+        PreparedStatement ps = null;
+        try {
+            conn = connect();
+            ps = conn.prepareStatement(sql);
+            ResultSet rs = ps.executeQuery();
+
+            Connection openConn = conn;
+            PreparedStatement openPs = ps;
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(new StudentRowIterator(rs),
+                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .onClose(() -> {
+                        closeQuietly(openPs, openConn);
+                        scope.close();
+                    });
+
+        } catch (SQLException e) {
+            OperationMetrics.failed();
+            closeQuietly(ps, conn);
+            scope.close();
+            logger.error("Database error while streaming students", e);
+            return Stream.empty();
+        }
+    }
+
+    /**
+     * Closes a statement and its connection, logging instead of throwing.
+     * 
+     * @param ps   the statement to close, or null
+     * @param conn the connection to close, or null
+     */
+    private static void closeQuietly(Statement ps, Connection conn) {
+        try {
+            if (ps != null) {
+                ps.close();
+            }
+        } catch (SQLException e) {
+            logger.warn("Error closing statement", e);
+        }
+        try {
+            if (conn != null) {
+                conn.close();
+            }
+        } catch (SQLException e) {
+            logger.warn("Error closing connection", e);
+        }
+    }
+
+    /**
+     * Iterator that lazily merges joined student/enrollment rows into students.
+     * 
+     * <p>
+     * The iterator keeps the ResultSet positioned on the first row of the next
+     * student, so at most one student is held in memory at a time.
+     * </p>
+     */
+    private static final class StudentRowIterator implements Iterator<Student> {
+        private final ResultSet rs;
+        private boolean rowAvailable;
+
+        private StudentRowIterator(ResultSet rs) throws SQLException {
+            this.rs = rs;
+            this.rowAvailable = rs.next();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return rowAvailable;
+        }
+
+        @Override
+        public Student next() {
+            if (!rowAvailable) {
+                throw new NoSuchElementException();
+            }
+            try {
+                Student student = readStudentRow(rs);
+                do {
+                    String courseCode = rs.getString("courseCode");
+                    if (courseCode != null) {
+                        student.addCourse(courseCode);
+                    }
+                    rowAvailable = rs.next();
+                    OperationMetrics.rowsRead(1);
+                } while (rowAvailable && student.getStudentID().equals(StudentKeys.read(rs, "studentID")));
+                return student;
+            } catch (SQLException e) {
+                rowAvailable = false;
+                OperationMetrics.failed();
+                throw new DataAccessException("Database error while streaming students", e);
+            }
+        }
+    }
+
+    /**
+     * Calculates the average grade across all students.
+     * 
+     * <p>
+     * If no students exist, returns 0.0. The average is read from the running
+     * aggregates in {@code grade_stats}, so no student rows are scanned.
+     * </p>
+     * 
+     * @return the average grade as a percentage (0.0-100.0)
+     */
+    @Override
+    public double calculateAverageGrade() {
+        try (OperationMetrics.Scope scope = metrics.begin("calculateAverageGrade")) {
+            return getGradeStats(null).average();
+        }
+    }
+
+    /**
+     * Calculates the average grade for students enrolled in a specific course.
+     * 
+     * @param courseCode the course to filter by
+     * @return the average grade of the filtered group
+     */
+    @Override
+    public double calculateAverageGrade(String courseCode) {
+        try (OperationMetrics.Scope scope = metrics.begin("calculateAverageGrade")) {
+            return getGradeStats(courseCode).average();
+        }
+    }
+
+    /**
+     * Returns the running grade aggregates of all students or of one course.
+     * 
+     * <p>
+     * Reads a single row of the {@code grade_stats} table by primary key. The
+     * row is kept current by database triggers on students and enrollments.
+     * </p>
+     * 
+     * @param courseCode the course to report on, or null for all students
+     * @return the grade aggregates, empty if no graded student matches
+     */
+    @Override
+    public GradeStats getGradeStats(String courseCode) {
+        try (OperationMetrics.Scope scope = metrics.begin("getGradeStats")) {
+            String sql = "SELECT n, total, total_sq, min_grade, max_grade FROM grade_stats WHERE scope = ?";
+
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                ps.setString(1, courseCode == null ? "" : courseCode);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getLong("n") > 0) {
+                        OperationMetrics.rowsRead(1);
+                        return new GradeStats(rs.getLong("n"), rs.getDouble("total"), rs.getDouble("total_sq"),
+                                rs.getDouble("min_grade"), rs.getDouble("max_grade"));
+                    }
+                }
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while reading grade statistics for: {}", courseCode, e);
+            }
+            return GradeStats.EMPTY;
+        }
+    }
+
+    /**
+     * Recomputes the running grade aggregates from the students and
+     * enrollments tables.
+     * 
+     * <p>
+     * The aggregates are normally kept current by triggers. Rebuilding is only
+     * needed if the tables were modified with the triggers absent, or to discard
+     * floating point drift after a very large number of updates.
+     * </p>
+     */
+    public void rebuildGradeStats() {
+        try (OperationMetrics.Scope scope = metrics.begin("rebuildGradeStats")) {
+            try (Connection conn = connect()) {
+                conn.setAutoCommit(false);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("DROP TABLE IF EXISTS grade_stats");
+                    DatabaseInitializer.initializeGradeStats(conn);
+                    conn.commit();
+                    logger.info("Grade statistics rebuilt");
+                } catch (SQLException e) {
+                    conn.rollback();
+                    OperationMetrics.failed();
+                    logger.error("Database error while rebuilding grade statistics (Transaction rolled back)", e);
+                }
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database connection error", e);
+            }
+        }
+    }
+
+    /**
+     * Searches for students matching the given query string.
+     * 
+     * <p>
+     * The query is split into words, and each word is matched as a prefix
+     * against the {@code student_search} full-text index, which covers:
+     * </p>
+     * <ul>
+     * <li>Student name</li>
+     * <li>Student ID</li>
+     * <li>Course codes</li>
+     * <li>Course names</li>
+     * </ul>
+     * 
+     * <p>
+     * A student matches when every word matches one of these fields. Numeric
+     * queries additionally match students whose age or grade starts with the
+     * query. The search is case-insensitive. Results are ranked by relevance
+     * (BM25), then sorted by name, and include the full student object with all
+     * enrolled courses, loaded in the same query. A blank query returns all
+     * students.
+     * </p>
+     * 
+     * @param query the search term to match
+     * @return an ArrayList of students matching the search criteria
+     */
+    @Override
+    public ArrayList<Student> searchStudents(String query) {
+        try (OperationMetrics.Scope scope = metrics.begin("searchStudents")) {
+            String match = toMatchExpression(query);
+            if (match == null) {
+                return query == null || query.isBlank() ? displayAllStudents() : new ArrayList<>();
+            }
+            boolean numeric = isNumericQuery(query);
+
+            String sql = rankedSearchCte(numeric) + """
+                        SELECT
+                    """ + STUDENT_COLUMNS + """
+                        FROM ranked r
+                        JOIN students s ON s.id = r.student
+                        LEFT JOIN enrollments e ON s.studentID = e.studentID
+                        ORDER BY r.score,
+                    """ + orderClause("name");
+
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                bindSearch(ps, 1, match, query, numeric);
+
+                try (ResultSet rs = ps.executeQuery()) {
+                    return hydrateStudents(rs);
+                }
+
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while searching students for: {}", query, e);
+            }
+
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Tells whether a search query should also match ages and grades.
+     * 
+     * @param query the user's search text
+     * @return true if the query is a number
+     */
+    private static boolean isNumericQuery(String query) {
+        return query.strip().matches("\\d+(\\.\\d*)?");
+    }
+
+    /**
+     * Builds the {@code WITH} clause shared by searches, which defines
+     * {@code ranked(student, score)}: one row per matching student, identified
+     * by the students id that the search index uses as its rowid, with its best
+     * (lowest) score.
+     * 
+     * @param numeric whether age and grade prefixes are matched too
+     * @return the clause, with its parameters bound by
+     *         {@link #bindSearch(PreparedStatement, int, String, String, boolean)}
+     */
+    private static String rankedSearchCte(boolean numeric) {
+        return """
+                    WITH hits AS (
+                        SELECT rowid AS student, rank AS score
+                        FROM student_search
+                        WHERE student_search MATCH ?
+                """ + (numeric ? """
+                        UNION ALL
+                        SELECT id, 0 FROM students
+                        WHERE CAST(age AS TEXT) LIKE ? OR CAST(grade AS TEXT) LIKE ?
+                """ : "") + """
+                    ), ranked AS (
+                        SELECT student, MIN(score) AS score FROM hits GROUP BY student
+                    )
+                """;
+    }
+
+    /**
+     * Binds the parameters of {@link #rankedSearchCte(boolean)}.
+     * 
+     * @param ps      the statement
+     * @param index   the index of the first search parameter
+     * @param match   the FTS5 match expression
+     * @param query   the user's search text
+     * @param numeric whether age and grade prefixes are matched too
+     * @return the index of the next parameter
+     * @throws SQLException if binding fails
+     */
+    private static int bindSearch(PreparedStatement ps, int index, String match, String query, boolean numeric)
+            throws SQLException {
+        ps.setString(index++, match);
+        if (numeric) {
+            String pattern = query.strip() + "%";
+            ps.setString(index++, pattern);
+            ps.setString(index++, pattern);
+        }
+        return index;
+    }
+
+    /**
+     * Converts free text into an FTS5 match expression of quoted prefix terms.
+     * 
+     * <p>
+     * The text is split on anything that is not a letter or digit, mirroring the
+     * index tokenizer, so user input can never inject FTS5 query syntax.
+     * </p>
+     * 
+     * @param query the user's search text
+     * @return a match expression such as {@code "ali"* "cs1"*}, or null if the
+     *         text contains no searchable words
+     */
+    private static String toMatchExpression(String query) {
+        if (query == null) {
+            return null;
+        }
+        StringBuilder match = new StringBuilder();
+        for (String term : query.split("[^\\p{L}\\p{N}]+")) {
+            if (!term.isEmpty()) {
+                if (match.length() > 0) {
+                    match.append(' ');
+                }
+                match.append('"').append(term).append("\"*");
+            }
+        }
+        return match.length() == 0 ? null : match.toString();
+    }
+
+    /**
+     * Finds students whose name, ID or course codes contain the query, answered
+     * entirely from the in-memory trigram index.
+     * 
+     * <p>
+     * Unlike {@link #searchStudents(String)}, this performs plain
+     * case-insensitive substring matching, does not look at course names, age
+     * or grade, and never queries the database, which makes it cheap enough to
+     * run on every keystroke.
+     * </p>
+     * 
+     * @param query the substring to look for
+     * @return the matching students with their courses, sorted by name
+     */
+    public ArrayList<Student> quickSearch(String query) {
+        try (OperationMetrics.Scope scope = metrics.begin("quickSearch")) {
+            return quickSearchIndex.search(query);
+        }
+    }
+
+    /**
+     * Reloads the in-memory quick search index and analytics store from the
+     * database, in one pass over the students.
+     * 
+     * <p>
+     * Called once at construction. Only needed again if the database was
+     * modified by something other than this manager.
+     * </p>
+     */
+    public void rebuildQuickSearchIndex() {
+        try (OperationMetrics.Scope scope = metrics.begin("rebuildQuickSearchIndex")) {
+            long start = System.nanoTime();
+            try (Stream<Student> students = streamStudents("name")) {
+                rebuildInMemoryIndexes(students);
+            } catch (DataAccessException e) {
+                OperationMetrics.failed();
+                logger.error("Failed to build quick search index", e);
+            }
+            logger.info("Quick search index built for {} students in {} ms", quickSearchIndex.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Rebuilds the quick search index and a new analytics store from one pass
+     * over the students, then publishes the store.
+     * 
+     * @param students all students, with their courses
+     */
+    private void rebuildInMemoryIndexes(Stream<Student> students) {
+        ColumnarStudentStore columns = new ColumnarStudentStore();
+        quickSearchIndex.rebuild(students.peek(columns::put).iterator());
+        analytics = columns;
+    }
+
+    /**
+     * Returns the in-memory analytics store, for grade aggregates, histograms
+     * and percentiles over filtered students without querying the database.
+     * 
+     * @return the live store, kept current by the write methods of this class
+     */
+    public ColumnarStudentStore analytics() {
+        return analytics;
+    }
+
+    /**
+     * Writes all students to the snapshot at {@link #SNAPSHOT_PATH}. Called
+     * when the application exits.
+     * 
+     * @return the number of students in the snapshot, or -1 if it could not be
+     *         written
+     * @see #saveSnapshot(Path)
+     */
+    public int saveSnapshot() {
+        return saveSnapshot(SNAPSHOT_PATH);
+    }
+
+    /**
+     * Writes all students with their courses to a binary
+     * {@link StudentSnapshot}.
+     * 
+     * <p>
+     * The students and the {@code data_version} stamp are read in one
+     * transaction, so the snapshot is consistent with its stamp even if other
+     * connections write meanwhile. If the file already holds a current snapshot,
+     * it is kept as is.
+     * </p>
+     * 
+     * @param file the snapshot file
+     * @return the number of students in the snapshot, or -1 if it could not be
+     *         written
+     */
+    public int saveSnapshot(Path file) {
+        try (OperationMetrics.Scope scope = metrics.begin("saveSnapshot")) {
+            long start = System.nanoTime();
+            try (Connection conn = connect()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement ps = conn.prepareStatement("SELECT " + STUDENT_COLUMNS + """
+                            FROM students s
+                            LEFT JOIN enrollments e ON s.studentID = e.studentID
+                            ORDER BY
+                        """ + orderClause("name"))) {
+                    DataStamp stamp = readDataStamp(conn);
+                    StudentSnapshot existing = openSnapshot(file);
+                    if (existing != null && existing.isCurrent(stamp.databaseID(), stamp.version())) {
+                        return existing.size();
+                    }
+                    try (ResultSet rs = ps.executeQuery()) {
+                        int count = StudentSnapshot.write(file, stamp.databaseID(), stamp.version(),
+                                new StudentRowIterator(rs));
+                        logger.info("Snapshot of {} students written to {} in {} ms", count, file,
+                                (System.nanoTime() - start) / 1_000_000);
+                        return count;
+                    }
+                } finally {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException | DataAccessException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while writing snapshot", e);
+            } catch (IOException e) {
+                OperationMetrics.failed();
+                logger.error("Error writing snapshot to {}", file, e);
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Builds the quick search index and analytics store from a snapshot
+     * written by
+     * {@link #saveSnapshot(Path)}, if the snapshot is still current.
+     * 
+     * @param file the snapshot file
+     * @return true if the index was loaded, false if the snapshot is missing,
+     *         stale or unreadable and the index was left unchanged
+     */
+    public boolean loadSnapshot(Path file) {
+        long start = System.nanoTime();
+        StudentSnapshot snapshot = openSnapshot(file);
+        if (snapshot == null) {
+            return false;
+        }
+        try (Connection conn = connect()) {
+            DataStamp stamp = readDataStamp(conn);
+            if (!snapshot.isCurrent(stamp.databaseID(), stamp.version())) {
+                logger.info("Snapshot {} is stale, ignoring it", file);
+                return false;
+            }
+        } catch (SQLException e) {
+            logger.error("Database error while checking snapshot", e);
+            return false;
+        }
+        rebuildInMemoryIndexes(StreamSupport.stream(snapshot.spliterator(), false));
+        logger.info("Quick search index loaded from snapshot for {} students in {} ms", quickSearchIndex.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return true;
+    }
+
+    /**
+     * Opens a snapshot file, logging instead of throwing.
+     * 
+     * @param file the snapshot file
+     * @return the snapshot, or null if the file is missing or unreadable
+     */
+    private static StudentSnapshot openSnapshot(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return StudentSnapshot.open(file);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable snapshot {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Identifies the current state of the data: see {@code data_version} in
+     * {@link DatabaseInitializer}.
+     * 
+     * @param databaseID the random ID of the database
+     * @param version    the change counter
+     */
+    private record DataStamp(String databaseID, long version) {
+    }
+
+    /**
+     * Reads the {@code data_version} row.
+     * 
+     * @param conn the connection to read with
+     * @return the current stamp
+     * @throws SQLException if the row cannot be read
+     */
+    private static DataStamp readDataStamp(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT databaseID, version FROM data_version")) {
+            if (!rs.next()) {
+                throw new SQLException("data_version row is missing");
+            }
+            return new DataStamp(rs.getString(1), rs.getLong(2));
+        }
+    }
+
+    /**
+     * Rebuilds the full-text search index from the students, enrollments and
+     * courses tables.
+     * 
+     * <p>
+     * The index is normally kept current by triggers. Rebuilding is only needed
+     * if it was modified outside the application.
+     * </p>
+     */
+    public void rebuildSearchIndex() {
+        try (OperationMetrics.Scope scope = metrics.begin("rebuildSearchIndex")) {
+            try (Connection conn = connect()) {
+                conn.setAutoCommit(false);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("DROP TABLE IF EXISTS student_search");
+                    DatabaseInitializer.initializeSearchIndex(conn);
+                    conn.commit();
+                    logger.info("Search index rebuilt");
+                } catch (SQLException e) {
+                    conn.rollback();
+                    OperationMetrics.failed();
+                    logger.error("Database error while rebuilding search index (Transaction rolled back)", e);
+                }
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database connection error", e);
+            }
+        }
+    }
+
+    /**
+     * Exports all students to a CSV file.
+     * 
+     * <p>
+     * The CSV format includes a header row and the following columns:
+     * </p>
+     * <ul>
+     * <li>name</li>
+     * <li>age</li>
+     * <li>grade (formatted to 2 decimal places)</li>
+     * <li>enrollmentDate</li>
+     * <li>courses (semicolon-separated list)</li>
+     * </ul>
+     * 
+     * <p>
+     * Fields are quoted as described in RFC 4180 where needed. See
+     * {@link #exportStudentsToCSV(String, String, String)}.
+     * </p>
+     * 
+     * @param filePath the path where the CSV file should be created
+     */
+    @Override
+    public void exportStudentsToCSV(String filePath) {
+        exportStudentsToCSV(filePath, null, null);
+    }
+
+    /**
+     * Exports the students matching the same filters as the GUI table to a CSV
+     * file.
+     * 
+     * <p>
+     * Rows are streamed from a single query that aggregates each student's
+     * course codes with {@code group_concat}, sorted by name, and written with a
+     * {@link CsvWriter}, so the export runs in constant memory without a course
+     * query per student or per-row string formatting.
+     * </p>
+     * 
+     * @param filePath   the path where the CSV file should be created
+     * @param query      only export students matching this search, as in
+     *                   {@link #searchStudents(String)}; null or blank for all
+     * @param courseCode only export students enrolled in this course; null for
+     *                   all
+     * @return the number of exported students, or -1 if the export failed
+     */
+    public long exportStudentsToCSV(String filePath, String query, String courseCode) {
+        try (OperationMetrics.Scope scope = metrics.begin("exportStudentsToCSV")) {
+            boolean search = query != null && !query.isBlank();
+            String match = search ? toMatchExpression(query) : null;
+            boolean numeric = match != null && isNumericQuery(query);
+
+            StringBuilder sql = new StringBuilder();
+            if (match != null) {
+                sql.append(rankedSearchCte(numeric));
+            }
+            sql.append("""
+                        SELECT s.name, s.age, s.grade, s.enrollmentDate,
+                            (SELECT group_concat(e.courseCode, ';' ORDER BY e.courseCode)
+                             FROM enrollments e WHERE e.studentID = s.studentID) AS courses
+                        FROM students s
+                    """);
+            List<String> conditions = new ArrayList<>();
+            if (match != null) {
+                sql.append("    JOIN ranked r ON r.student = s.id\n");
+            } else if (search) {
+                conditions.add("0"); // nothing searchable in the query, so nothing matches
+            }
+            if (courseCode != null) {
+                conditions.add("s.studentID IN (SELECT studentID FROM enrollments WHERE courseCode = ?)");
+            }
+            if (!conditions.isEmpty()) {
+                sql.append("    WHERE ").append(String.join(" AND ", conditions)).append('\n');
+            }
+            sql.append("    ORDER BY ").append(orderClause("name"));
+
+            long rows = 0;
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql.toString());
+                    CsvWriter csv = new CsvWriter(Path.of(filePath))) {
+
+                int index = 1;
+                if (match != null) {
+                    index = bindSearch(ps, index, match, query, numeric);
+                }
+                if (courseCode != null) {
+                    ps.setString(index, courseCode);
+                }
+
+                csv.field("name").field("age").field("grade").field("enrollmentDate").field("courses").endRecord();
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        csv.field(rs.getString(1))
+                                .field(rs.getInt(2))
+                                .fieldFixed2(rs.getDouble(3))
+                                .field(rs.getString(4))
+                                .field(rs.getString(5));
+                        csv.endRecord();
+                        rows++;
+                    }
+                }
+                OperationMetrics.rowsRead(rows);
+                logger.info("Exported {} students to {}", rows, filePath);
+                return rows;
+
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while exporting students to CSV", e);
+            } catch (IOException e) {
+                OperationMetrics.failed();
+                logger.error("Error exporting students to CSV", e);
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Exports the given students to a CSV file, in the given order and the
+     * format of {@link #exportStudentsToCSV(String)}, e.g. results the GUI
+     * already shows that no database query reproduces, such as those of
+     * {@link #quickSearch(String)}.
+     * 
+     * @param filePath the path where the CSV file should be created
+     * @param students the students to export
+     * @return the number of exported students, or -1 if the export failed
+     */
+    public long exportStudentsToCSV(String filePath, List<Student> students) {
+        try (OperationMetrics.Scope scope = metrics.begin("exportStudentsToCSV")) {
+            try (CsvWriter csv = new CsvWriter(Path.of(filePath))) {
+                csv.field("name").field("age").field("grade").field("enrollmentDate").field("courses").endRecord();
+                for (Student s : students) {
+                    List<String> courses = s.getCourses() == null ? List.of()
+                            : s.getCourses().stream().sorted().toList();
+                    csv.field(s.getName())
+                            .field(s.getAge())
+                            .fieldFixed2(s.getGrade())
+                            .field(s.getEnrollmentDate() == null ? null : s.getEnrollmentDate().toString())
+                            .field(courses.isEmpty() ? null : String.join(";", courses));
+                    csv.endRecord();
+                }
+                logger.info("Exported {} students to {}", students.size(), filePath);
+                return students.size();
+            } catch (IOException e) {
+                OperationMetrics.failed();
+                logger.error("Error exporting students to CSV", e);
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Imports students from a CSV file.
+     * 
+     * <p>
+     * The CSV file must have a header row and follow this format:
+     * </p>
+     * <ul>
+     * <li>name</li>
+     * <li>age</li>
+     * <li>grade</li>
+     * <li>enrollmentDate (ISO format: YYYY-MM-DD)</li>
+     * <li>courses (semicolon-separated list)</li>
+     * </ul>
+     * 
+     * <p>
+     * The file is imported with a {@link CsvImportPipeline}: lines are read on
+     * one thread, parsed and validated by {@link #IMPORT_WORKERS} threads and
+     * inserted through {@link #addStudents(Collection)} in chunks of
+     * {@link #DEFAULT_COMMIT_INTERVAL}. Invalid lines are skipped with a warning
+     * logged. The import statistics are logged at INFO level.
+     * </p>
+     * 
+     * @param filePath the path to the CSV file to import
+     */
+    @Override
+    public void importStudentsFromCSV(String filePath) {
+        importStudentsFromCSV(filePath, null);
+    }
+
+    /**
+     * Imports students from a CSV file, reporting progress as it goes.
+     * 
+     * @param filePath the path to the CSV file to import
+     * @param progress receives statistics after every committed chunk and once
+     *                 at the end; may be null
+     * @return the final import statistics, or null if the import failed
+     * @see #importStudentsFromCSV(String)
+     */
+    public CsvImportPipeline.ImportStats importStudentsFromCSV(String filePath,
+            Consumer<CsvImportPipeline.ImportStats> progress) {
+        return importStudentsFromCSV(filePath, CsvImportMode.PIPELINED, progress);
+    }
+
+    /**
+     * Imports students from a CSV file using the given reading strategy.
+     * 
+     * @param filePath the path to the CSV file to import
+     * @param mode     how the file is read and parsed
+     * @param progress receives statistics after every committed chunk and once
+     *                 at the end; may be null
+     * @return the final import statistics, or null if the import failed
+     * @see #importStudentsFromCSV(String)
+     */
+    public CsvImportPipeline.ImportStats importStudentsFromCSV(String filePath, CsvImportMode mode,
+            Consumer<CsvImportPipeline.ImportStats> progress) {
+        try (OperationMetrics.Scope scope = metrics.begin("importStudentsFromCSV")) {
+            if (mode == CsvImportMode.MAPPED) {
+                try {
+                    CsvImportPipeline.ImportStats stats = importMapped(Path.of(filePath), progress);
+                    logger.info("CSV import finished: {}", stats);
+                    return stats;
+                } catch (Exception e) {
+                    OperationMetrics.failed();
+                    logger.error("Error importing students from CSV", e);
+                    return null;
+                }
+            }
+            CsvImportPipeline pipeline = new CsvImportPipeline(IMPORT_WORKERS, IMPORT_BLOCK_SIZE,
+                    DEFAULT_COMMIT_INTERVAL);
+            try {
+                CsvImportPipeline.ImportStats stats = pipeline.run(Path.of(filePath),
+                        StudentManagerImpl::parseCsvLine, this::importBatch, progress);
+                logger.info("CSV import finished: {}", stats);
+                return stats;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                OperationMetrics.failed();
+                logger.error("CSV import interrupted", e);
+            } catch (Exception e) {
+                OperationMetrics.failed();
+                logger.error("Error importing students from CSV", e);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Imports a CSV file with a {@link MappedCsvReader}.
+     * 
+     * <p>
+     * Age, grade and enrollment date are parsed from the mapped bytes and
+     * validated first; the name and course strings and the student itself are
+     * only created for rows that pass.
+     * </p>
+     * 
+     * @param file     the CSV file
+     * @param progress receives statistics after every committed chunk and once
+     *                 at the end; may be null
+     * @return the final import statistics
+     * @throws IOException if the file cannot be read or is malformed
+     */
+    private CsvImportPipeline.ImportStats importMapped(Path file,
+            Consumer<CsvImportPipeline.ImportStats> progress) throws IOException {
+        long start = System.nanoTime();
+        long lines = 0;
+        long invalid = 0;
+        long inserted = 0;
+        long skipped = 0;
+        List<Student> pending = new ArrayList<>(DEFAULT_COMMIT_INTERVAL);
+
+        try (MappedCsvReader csv = new MappedCsvReader(file)) {
+            csv.next(); // skip header
+            while (csv.next()) {
+                lines++;
+                String problem;
+                try {
+                    if (csv.fieldCount() < 4) {
+                        problem = "Expected at least 4 fields";
+                    } else {
+                        int age = csv.getInt(1);
+                        double grade = csv.getDouble(2);
+                        LocalDate enrollmentDate = csv.getDate(3);
+                        problem = validateValues(!csv.isBlank(0), age, grade, enrollmentDate);
+                        if (problem == null) {
+                            ArrayList<String> courses = csv.fieldCount() > 4 ? csv.getList(4, ';')
+                                    : new ArrayList<>();
+                            pending.add(new Student(csv.getString(0), age, grade, enrollmentDate, courses));
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    problem = e.getMessage();
+                }
+                if (problem != null) {
+                    if (++invalid <= CsvImportPipeline.MAX_LOGGED_INVALID_LINES) {
+                        logger.warn("Skipping invalid line {}: {} ({})", csv.lineNumber(), csv.rawRecord(),
+                                problem);
+                    }
+                    continue;
+                }
+                if (pending.size() == DEFAULT_COMMIT_INTERVAL) {
+                    int count = importBatch(pending).getInserted();
+                    inserted += count;
+                    skipped += pending.size() - count;
+                    pending.clear();
+                    if (progress != null) {
+                        progress.accept(new CsvImportPipeline.ImportStats(lines, csv.bytesRead(), invalid,
+                                inserted, skipped, System.nanoTime() - start));
+                    }
+                }
+            }
+            if (!pending.isEmpty()) {
+                int count = importBatch(pending).getInserted();
+                inserted += count;
+                skipped += pending.size() - count;
+            }
+
+            CsvImportPipeline.ImportStats stats = new CsvImportPipeline.ImportStats(lines, csv.bytesRead(),
+                    invalid, inserted, skipped, System.nanoTime() - start);
+            if (progress != null) {
+                progress.accept(stats);
+            }
+            return stats;
+        }
+    }
+
+    /**
+     * Parses and validates one data line of the CSV import format into a new
+     * student.
+     * 
+     * @param line the CSV line (name, age, grade, enrollmentDate, courses)
+     * @return the parsed student with a newly generated ID
+     * @throws RuntimeException if the line is malformed or the student invalid
+     */
+    private static Student parseCsvLine(String line) {
+        String[] data = line.indexOf('"') < 0 ? line.split(",") : splitQuotedLine(line);
+        ArrayList<String> courses = new ArrayList<>();
+        if (data.length > 4 && !data[4].isBlank()) {
+            String[] courseList = data[4].split(";");
+            for (String c : courseList) {
+                courses.add(c.trim());
+            }
+        }
+        Student s = new Student(data[0], Integer.parseInt(data[1]), Double.parseDouble(data[2]),
+                LocalDate.parse(data[3]), courses);
+        String problem = validateForInsert(s);
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
+        }
+        return s;
+    }
+
+    /**
+     * Splits a CSV line that contains RFC 4180 quoted fields, such as names with
+     * commas as written by {@link #exportStudentsToCSV(String)}.
+     * 
+     * @param line the CSV line; quoted fields must not contain line breaks
+     * @return the unquoted fields
+     */
+    private static String[] splitQuotedLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields.toArray(new String[0]);
+    }
+
+    /**
+     * Inserts a batch of parsed CSV rows and logs rows that were not inserted.
+     * 
+     * @param pending the parsed students waiting to be inserted
+     * @return the insert report
+     */
+    private BatchInsertReport importBatch(List<Student> pending) {
+        BatchInsertReport report = addStudents(pending);
+        for (BatchInsertReport.RowResult row : report.getRows()) {
+            if (row.outcome() != BatchInsertReport.Outcome.INSERTED) {
+                logger.warn("Skipping student {}: {} ({})", pending.get(row.index()).getName(),
+                        row.outcome(), row.message());
+            }
+        }
+        return report;
     }
 
     /**
@@ -560,32 +2222,43 @@ public class StudentManagerImpl implements StudentManager {
      * @param credits    the number of credit hours for the course
      */
     public void addCourseToStudent(String studentID, String courseCode, String courseName, int credits) {
-        try (Connection conn = getConnection()) {
-            conn.setAutoCommit(false);
-
-            try (PreparedStatement psCourse = conn.prepareStatement(
-                    "INSERT OR IGNORE INTO courses(courseCode, courseName, credits) VALUES (?, ?, ?)");
-                    PreparedStatement psEnroll = conn.prepareStatement(
-                            "INSERT OR IGNORE INTO enrollments(studentID, courseCode, enrollmentGrade) VALUES (?, ?, ?)")) {
-
-                psCourse.setString(1, courseCode);
-                psCourse.setString(2, courseName);
-                psCourse.setInt(3, credits);
-                psCourse.executeUpdate();
-
-                psEnroll.setString(1, studentID);
-                psEnroll.setString(2, courseCode);
-                psEnroll.setDouble(3, 0.0);
-                psEnroll.executeUpdate();
+        try (OperationMetrics.Scope scope = metrics.begin("addCourseToStudent")) {
+            try (Connection conn = connect()) {
+                conn.setAutoCommit(false);
+
+                try (PreparedStatement psCourse = conn.prepareStatement(
+                        "INSERT OR IGNORE INTO courses(courseCode, courseName, credits) VALUES (?, ?, ?)");
+                        PreparedStatement psEnroll = conn.prepareStatement(
+                                "INSERT OR IGNORE INTO enrollments(studentID, courseCode, enrollmentGrade) VALUES (?, ?, ?)")) {
+
+                    psCourse.setString(1, courseCode);
+                    psCourse.setString(2, courseName);
+                    psCourse.setInt(3, credits);
+                    psCourse.executeUpdate();
+
+                    StudentKeys.bind(psEnroll, 1, studentID);
+                    psEnroll.setString(2, courseCode);
+                    psEnroll.setDouble(3, 0.0);
+                    int enrollments = psEnroll.executeUpdate();
+                    OperationMetrics.rowsWritten(enrollments);
+                    boolean enrolled = enrollments > 0;
+
+                    conn.commit();
+                    if (enrolled) {
+                        quickSearchIndex.addCourse(studentID, courseCode);
+                        analytics.addCourse(studentID, courseCode);
+                        cache.invalidateStudent(studentID, coursesOf(conn, studentID));
+                    }
+                } catch (SQLException e) {
+                    conn.rollback();
+                    OperationMetrics.failed();
+                    logger.error("Transaction failed, rolled back", e);
+                }
 
-                conn.commit();
             } catch (SQLException e) {
-                conn.rollback();
-                logger.error("Transaction failed, rolled back", e);
+                OperationMetrics.failed();
+                logger.error("Database error outside transaction during course addition", e);
             }
-
-        } catch (SQLException e) {
-            logger.error("Database error outside transaction during course addition", e);
         }
     }
 
@@ -601,17 +2274,28 @@ public class StudentManagerImpl implements StudentManager {
      * @param courseCode the course code to remove from the student's enrollments
      */
     public void removeCourseFromStudent(String studentID, String courseCode) {
-        String sql = "DELETE FROM enrollments WHERE studentID = ? AND courseCode = ?";
-
-        try (Connection conn = getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
-
-            ps.setString(1, studentID);
-            ps.setString(2, courseCode);
-            ps.executeUpdate();
+        try (OperationMetrics.Scope scope = metrics.begin("removeCourseFromStudent")) {
+            String sql = "DELETE FROM enrollments WHERE studentID = ? AND courseCode = ?";
+
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql)) {
+
+                StudentKeys.bind(ps, 1, studentID);
+                ps.setString(2, courseCode);
+                int removed = ps.executeUpdate();
+                OperationMetrics.rowsWritten(removed);
+                if (removed > 0) {
+                    quickSearchIndex.removeCourse(studentID, courseCode);
+                    analytics.removeCourse(studentID, courseCode);
+                    Set<String> courses = coursesOf(conn, studentID);
+                    courses.add(courseCode);
+                    cache.invalidateStudent(studentID, courses);
+                }
 
-        } catch (SQLException e) {
-            logger.error("Database error while removing course", e);
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while removing course", e);
+            }
         }
     }
 
@@ -622,17 +2306,25 @@ public class StudentManagerImpl implements StudentManager {
      * @return true if a student with this ID exists, false otherwise
      */
     public boolean studentExists(String studentID) {
-        String sql = "SELECT 1 FROM students WHERE studentID = ?";
-        try (Connection conn = getConnection();
-                PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (OperationMetrics.Scope scope = metrics.begin("studentExists")) {
+            if (cache.containsStudent(studentID)) {
+                return true;
+            }
+            String sql = "SELECT 1 FROM students WHERE studentID = ?";
+            try (Connection conn = connect();
+                    PreparedStatement ps = conn.prepareStatement(sql)) {
 
-            ps.setString(1, studentID);
-            ResultSet rs = ps.executeQuery();
-            return rs.next();
+                StudentKeys.bind(ps, 1, studentID);
+                ResultSet rs = ps.executeQuery();
+                boolean exists = rs.next();
+                OperationMetrics.rowsRead(exists ? 1 : 0);
+                return exists;
 
-        } catch (SQLException e) {
-            logger.error("Database error while checking student existence", e);
-            return false;
+            } catch (SQLException e) {
+                OperationMetrics.failed();
+                logger.error("Database error while checking student existence", e);
+                return false;
+            }
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package core;
+
+import java.util.ArrayList;
+
+/**
+ * One page of students returned by keyset pagination.
+ *
+ * @param students the students on this page, in sort order, with their courses
+ * @param next     the cursor for the following page, or null if this is the
+ *                 last page
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record StudentPage(ArrayList<Student> students, PageCursor next) {
+
+    /**
+     * Returns whether another page follows this one.
+     *
+     * @return true if {@link #next()} is not null
+     */
+    public boolean hasNext() {
+        return next != null;
+    }
+}
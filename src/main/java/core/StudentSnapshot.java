@@ -0,0 +1,340 @@
+package core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary snapshot of all students and their enrollments.
+ *
+ * <p>
+ * A snapshot lets the application rebuild in-memory state, such as the quick
+ * search index, from one sequential file instead of re-reading every row from
+ * SQLite. It is stamped with the database ID and {@code data_version} counter
+ * it was taken at (see {@link DatabaseInitializer}), so a reader can tell
+ * whether it still matches the database.
+ * </p>
+ *
+ * <p>
+ * Layout (big-endian):
+ * </p>
+ * <ol>
+ * <li>Header: magic {@code "SMSS"}, format version (int), database ID
+ * (length-prefixed UTF-8), data version (long).</li>
+ * <li>One record per student: ID, name, age (short), grade (double),
+ * enrollment date (int, epoch day or {@link Integer#MIN_VALUE} if absent),
+ * course count (short) and one dictionary index (int) per course. IDs that
+ * are canonical UUIDs are stored as a 0 byte and two longs; other IDs as a 1
+ * byte and length-prefixed UTF-8.</li>
+ * <li>Course dictionary: count (int) and one length-prefixed UTF-8 code per
+ * entry, in the order first used.</li>
+ * <li>Footer: student count (int), dictionary offset (long) and a CRC32C of
+ * everything before it (long).</li>
+ * </ol>
+ *
+ * <p>
+ * Snapshots are written to a temporary file that is then moved into place, so
+ * readers never see a partial file. {@link #open(Path)} memory-maps the file
+ * and verifies its checksum; students are decoded lazily while iterating.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class StudentSnapshot implements Iterable<Student> {
+
+    private static final int MAGIC = 0x534D5353; // "SMSS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int FOOTER_SIZE = Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final byte UUID_ID = 0;
+    private static final byte TEXT_ID = 1;
+
+    private final String databaseID;
+    private final long dataVersion;
+    private final int size;
+    private final ByteBuffer records;
+    private final String[] courses;
+
+    private StudentSnapshot(String databaseID, long dataVersion, int size, ByteBuffer records, String[] courses) {
+        this.databaseID = databaseID;
+        this.dataVersion = dataVersion;
+        this.size = size;
+        this.records = records;
+        this.courses = courses;
+    }
+
+    /**
+     * Writes a snapshot, replacing any existing file atomically.
+     *
+     * @param file        the snapshot file
+     * @param databaseID  the ID of the database the students were read from
+     * @param dataVersion the database's {@code data_version} at the time of
+     *                    reading
+     * @param students    all students, with their courses
+     * @return the number of students written
+     * @throws IOException if the file cannot be written
+     */
+    public static int write(Path file, String databaseID, long dataVersion, Iterator<Student> students)
+            throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try {
+            int count;
+            CRC32C crc = new CRC32C();
+            try (OutputStream fileOut = Files.newOutputStream(temp);
+                    CountingOutputStream counting = new CountingOutputStream(
+                            new BufferedOutputStream(fileOut, 1 << 16), crc);
+                    DataOutputStream out = new DataOutputStream(counting)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                writeString(out, databaseID);
+                out.writeLong(dataVersion);
+
+                Map<String, Integer> dictionary = new HashMap<>();
+                List<String> codes = new ArrayList<>();
+                count = 0;
+                while (students.hasNext()) {
+                    writeStudent(out, students.next(), dictionary, codes);
+                    count++;
+                }
+
+                out.flush();
+                long dictionaryOffset = counting.count;
+                out.writeInt(codes.size());
+                for (String code : codes) {
+                    writeString(out, code);
+                }
+                out.writeInt(count);
+                out.writeLong(dictionaryOffset);
+                out.flush();
+                out.writeLong(crc.getValue());
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps a snapshot file and verifies its format and checksum.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot or is
+     *                     corrupt
+     */
+    public static StudentSnapshot open(Path file) throws IOException {
+        MappedByteBuffer map;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < 16 + FOOTER_SIZE || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a student snapshot: " + file);
+            }
+            map = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+
+        try {
+            int footer = map.limit() - FOOTER_SIZE;
+            CRC32C crc = new CRC32C();
+            crc.update(map.slice(0, footer + Integer.BYTES + Long.BYTES));
+            if (crc.getValue() != map.getLong(footer + Integer.BYTES + Long.BYTES)) {
+                throw new IOException("Student snapshot checksum mismatch: " + file);
+            }
+            if (map.getInt(0) != MAGIC || map.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported student snapshot format: " + file);
+            }
+
+            ByteBuffer header = map.slice(8, footer - 8);
+            String databaseID = readString(header);
+            long dataVersion = header.getLong();
+            int recordsStart = 8 + header.position();
+
+            int size = map.getInt(footer);
+            int dictionaryOffset = Math.toIntExact(map.getLong(footer + Integer.BYTES));
+            ByteBuffer dictionary = map.slice(dictionaryOffset, footer - dictionaryOffset);
+            String[] courses = new String[dictionary.getInt()];
+            for (int i = 0; i < courses.length; i++) {
+                courses[i] = readString(dictionary);
+            }
+
+            ByteBuffer records = map.slice(recordsStart, dictionaryOffset - recordsStart);
+            return new StudentSnapshot(databaseID, dataVersion, size, records, courses);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | ArithmeticException
+                | NegativeArraySizeException e) {
+            throw new IOException("Corrupt student snapshot: " + file, e);
+        }
+    }
+
+    /**
+     * Returns the ID of the database the snapshot was taken from.
+     *
+     * @return the database ID
+     */
+    public String databaseID() {
+        return databaseID;
+    }
+
+    /**
+     * Returns the {@code data_version} the snapshot was taken at.
+     *
+     * @return the data version
+     */
+    public long dataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * Tells whether the snapshot still matches a database.
+     *
+     * @param databaseID  the database's current ID
+     * @param dataVersion the database's current {@code data_version}
+     * @return true if nothing has changed since the snapshot was taken
+     */
+    public boolean isCurrent(String databaseID, long dataVersion) {
+        return this.databaseID.equals(databaseID) && this.dataVersion == dataVersion;
+    }
+
+    /**
+     * Returns the number of students in the snapshot.
+     *
+     * @return the student count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes the students one at a time, in the order they were written.
+     *
+     * @return an iterator over new Student objects
+     */
+    @Override
+    public Iterator<Student> iterator() {
+        ByteBuffer in = records.duplicate();
+        return new Iterator<>() {
+            private int remaining = size;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public Student next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                return readStudent(in);
+            }
+        };
+    }
+
+    private static void writeStudent(DataOutputStream out, Student s, Map<String, Integer> dictionary,
+            List<String> codes) throws IOException {
+        UUID uuid = CompactStudent.parseUuid(s.getStudentID());
+        if (uuid != null) {
+            out.writeByte(UUID_ID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else {
+            out.writeByte(TEXT_ID);
+            writeString(out, s.getStudentID());
+        }
+        writeString(out, s.getName());
+        out.writeShort(s.getAge());
+        out.writeDouble(s.getGrade());
+        out.writeInt(s.getEnrollmentDate() == null ? NO_DATE : (int) s.getEnrollmentDate().toEpochDay());
+        out.writeShort(s.getCourses().size());
+        for (String code : s.getCourses()) {
+            Integer index = dictionary.get(code);
+            if (index == null) {
+                index = codes.size();
+                dictionary.put(code, index);
+                codes.add(code);
+            }
+            out.writeInt(index);
+        }
+    }
+
+    private Student readStudent(ByteBuffer in) {
+        String id;
+        if (in.get() == UUID_ID) {
+            id = new UUID(in.getLong(), in.getLong()).toString();
+        } else {
+            id = readString(in);
+        }
+        String name = readString(in);
+        int age = in.getShort();
+        double grade = in.getDouble();
+        int epochDay = in.getInt();
+        int courseCount = in.getShort() & 0xFFFF;
+        ArrayList<String> studentCourses = new ArrayList<>(courseCount);
+        for (int i = 0; i < courseCount; i++) {
+            studentCourses.add(courses[in.getInt()]);
+        }
+        return new Student(id, name, age, grade, epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                studentCourses);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Counts and checksums the bytes passing through it.
+     */
+    private static final class CountingOutputStream extends java.io.FilterOutputStream {
+        private final CRC32C crc;
+        private long count;
+
+        private CountingOutputStream(OutputStream out, CRC32C crc) {
+            super(out);
+            this.crc = crc;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            crc.update(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            crc.update(b, off, len);
+            count += len;
+        }
+    }
+}
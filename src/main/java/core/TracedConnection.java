@@ -0,0 +1,299 @@
+package core;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Arrays;
+
+/**
+ * Connection wrapper that records every statement run through it as a
+ * {@link DatabaseStatementEvent} and reports slow ones to a
+ * {@link SlowQueryLog}.
+ *
+ * <p>
+ * Statements created with {@code createStatement} or {@code prepareStatement}
+ * are wrapped as well, and so are the result sets of their queries. A
+ * statement keeps the values bound to it. The event of an update ends when it
+ * returns; the event of a query ends when its result set is exhausted or
+ * closed, or its statement is closed or executed again. The duration reported
+ * to the slow query log only counts the time spent inside the driver, executing
+ * the statement and fetching rows, so time the caller spends processing the
+ * rows never makes a fast query look slow. Everything else is passed through to
+ * the wrapped objects unchanged.
+ * </p>
+ *
+ * <p>
+ * Connections should only be wrapped when {@link #isNeeded(SlowQueryLog)}, so
+ * that statements run without proxies while nothing consumes the timings.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class TracedConnection implements InvocationHandler {
+
+    private static final Object[] NO_PARAMS = {};
+
+    private final Connection connection;
+    private final SlowQueryLog slowQueries;
+    private long acquireNanos;
+
+    private TracedConnection(Connection connection, long acquireNanos, SlowQueryLog slowQueries) {
+        this.connection = connection;
+        this.acquireNanos = acquireNanos;
+        this.slowQueries = slowQueries;
+    }
+
+    /**
+     * Tells whether there is anything to trace: a recording has the
+     * {@link DatabaseStatementEvent} enabled, or the slow query log is on.
+     *
+     * @param slowQueries the slow query log
+     * @return true if a connection obtained now should be wrapped
+     */
+    static boolean isNeeded(SlowQueryLog slowQueries) {
+        return new DatabaseStatementEvent().isEnabled() || slowQueries.isEnabled();
+    }
+
+    /**
+     * Wraps a connection.
+     *
+     * @param connection   the connection to trace
+     * @param acquireNanos the time it took to obtain the connection, reported
+     *                     with its first statement
+     * @param slowQueries  receives the statements that reach its threshold
+     * @return the traced connection
+     */
+    static Connection wrap(Connection connection, long acquireNanos, SlowQueryLog slowQueries) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new TracedConnection(connection, acquireNanos, slowQueries));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        switch (method.getName()) {
+            case "equals" -> {
+                return proxy == args[0];
+            }
+            case "hashCode" -> {
+                return System.identityHashCode(proxy);
+            }
+            case "toString" -> {
+                return "Traced[" + connection + "]";
+            }
+            case "prepareStatement" -> {
+                Statement stmt = (Statement) call(connection, method, args);
+                return traced(stmt, PreparedStatement.class, (String) args[0]);
+            }
+            case "createStatement" -> {
+                Statement stmt = (Statement) call(connection, method, args);
+                return traced(stmt, Statement.class, null);
+            }
+            default -> {
+                return call(connection, method, args);
+            }
+        }
+    }
+
+    private Object traced(Statement stmt, Class<? extends Statement> type, String sql) {
+        return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { type },
+                new TracedStatement(stmt, sql));
+    }
+
+    /**
+     * Hands the connection acquire time to the first statement that asks.
+     */
+    private long takeAcquireNanos() {
+        long nanos = acquireNanos;
+        acquireNanos = 0;
+        return nanos;
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Traces the executions of one statement.
+     */
+    private final class TracedStatement implements InvocationHandler {
+        private final Statement statement;
+        private String sql;
+        private int binds;
+        private Object[] params = NO_PARAMS;
+        private int paramCount;
+        private DatabaseStatementEvent open;
+        private long driverNanos;
+        private long rows;
+
+        private TracedStatement(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            switch (name) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Traced[" + statement + "]";
+                }
+                case "executeQuery", "execute", "executeUpdate", "executeLargeUpdate", "executeBatch",
+                        "executeLargeBatch" -> {
+                    return execute(name, method, args);
+                }
+                case "close" -> {
+                    finish();
+                    return call(statement, method, args);
+                }
+                case "clearParameters" -> {
+                    params = NO_PARAMS;
+                    paramCount = 0;
+                    return call(statement, method, args);
+                }
+                default -> {
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer i) {
+                        bind(i, name.equals("setNull") ? null : args[1]);
+                    }
+                    return call(statement, method, args);
+                }
+            }
+        }
+
+        private void bind(int index, Object value) {
+            if (index > params.length) {
+                params = Arrays.copyOf(params, Math.max(index, params.length * 2));
+            }
+            params[index - 1] = value;
+            paramCount = Math.max(paramCount, index);
+            binds++;
+        }
+
+        private Object execute(String name, Method method, Object[] args) throws Throwable {
+            finish();
+            if (args != null && args.length > 0 && args[0] instanceof String text) {
+                sql = text;
+            }
+            DatabaseStatementEvent event = new DatabaseStatementEvent();
+            event.begin();
+            open = event;
+            rows = 0;
+            boolean query = false;
+            long start = System.nanoTime();
+            try {
+                Object result = call(statement, method, args);
+                driverNanos = System.nanoTime() - start;
+                if (result instanceof ResultSet rs) {
+                    query = true;
+                    return fetching(rs, event);
+                }
+                if (result instanceof Boolean isQuery) {
+                    query = isQuery;
+                    rows = isQuery ? -1 : Math.max(statement.getUpdateCount(), 0);
+                } else {
+                    rows = updateCount(result);
+                }
+                return result;
+            } finally {
+                if (!query) {
+                    finish();
+                }
+            }
+        }
+
+        /**
+         * Wraps the result set of an execution to count its rows and the time
+         * spent fetching them, and to finish the execution once the rows are
+         * exhausted or the result set is closed.
+         */
+        private ResultSet fetching(ResultSet rs, DatabaseStatementEvent event) {
+            return (ResultSet) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { ResultSet.class }, (proxy, method, args) -> {
+                        switch (method.getName()) {
+                            case "next" -> {
+                                long start = System.nanoTime();
+                                Object result = call(rs, method, args);
+                                if (open == event) {
+                                    driverNanos += System.nanoTime() - start;
+                                    if (result == Boolean.TRUE) {
+                                        rows++;
+                                    } else {
+                                        finish();
+                                    }
+                                }
+                                return result;
+                            }
+                            case "close" -> {
+                                if (open == event) {
+                                    finish();
+                                }
+                                return call(rs, method, args);
+                            }
+                            default -> {
+                                return call(rs, method, args);
+                            }
+                        }
+                    });
+        }
+
+        private static long updateCount(Object result) {
+            long count = 0;
+            if (result instanceof Number n) {
+                count = n.longValue();
+            } else if (result instanceof int[] counts) {
+                for (int c : counts) {
+                    count += Math.max(c, 0);
+                }
+            } else if (result instanceof long[] counts) {
+                for (long c : counts) {
+                    count += Math.max(c, 0);
+                }
+            }
+            return Math.max(count, 0);
+        }
+
+        /**
+         * Ends and commits the event of the current execution, if any, and
+         * then reports the execution if it was slow, so the event does not
+         * include capturing the plan.
+         */
+        private void finish() {
+            DatabaseStatementEvent event = open;
+            if (event == null) {
+                return;
+            }
+            open = null;
+            event.end();
+            long acquire = takeAcquireNanos();
+            if (event.shouldCommit()) {
+                event.operation = OperationMetrics.currentOperation();
+                event.sql = sql == null ? null : sql.strip().replaceAll("\\s+", " ");
+                event.bindCount = binds;
+                event.rows = rows;
+                event.connectionAcquireTime = acquire;
+                event.commit();
+            }
+            if (slowQueries.isSlow(driverNanos) && sql != null) {
+                slowQueries.record(connection, OperationMetrics.currentOperation(), sql, driverNanos, rows, params,
+                        paramCount);
+            }
+            binds = 0;
+        }
+    }
+}
@@ -0,0 +1,513 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index for substring search over students.
+ *
+ * <p>
+ * Every student is indexed by the lower-cased text of their name, student ID
+ * and course codes. Each distinct three-character sequence (trigram) of that
+ * text maps to a posting list of the students containing it. A substring query
+ * of three or more characters only has to verify the students in the shortest
+ * posting list of its trigrams, so live search does not need to touch the
+ * database at all.
+ * </p>
+ *
+ * <p>
+ * Students are identified internally by dense integer ordinals, and posting
+ * lists are sorted, growable {@code int[]} arrays. UUID IDs are mapped to
+ * ordinals by their two {@code long} halves and indexed from them, so neither
+ * the ordinal map nor the stored text holds a copy of the 36-character ID. Removing or changing a
+ * student retires its ordinal instead of editing the posting lists; the index
+ * is compacted once retired ordinals outnumber live ones. Students are held
+ * as {@link CompactStudent} views, with course codes coded by the shared
+ * {@link CourseDictionary}, and converted back to Student objects only for
+ * search results. All operations are thread-safe.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class TrigramIndex {
+
+    /**
+     * Separator placed between indexed fields so no trigram spans two fields.
+     */
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    /**
+     * Minimum number of retired ordinals before a compaction is considered.
+     */
+    private static final int MIN_COMPACTION_GARBAGE = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final HashMap<Long, PostingList> postings = new HashMap<>();
+    private final UuidOrdinals uuidOrdinals = new UuidOrdinals();
+    private final HashMap<String, Integer> textOrdinals = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private CompactStudent[] docs = new CompactStudent[256];
+    private String[] texts = new String[256];
+    private int nextOrdinal;
+
+    /**
+     * Receives UUID IDs being indexed; only used under the write lock.
+     */
+    private final char[] idBuffer = new char[36];
+
+    /**
+     * Replaces the contents of the index with the given students.
+     *
+     * @param students the students to index
+     */
+    public void rebuild(Iterator<Student> students) {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            while (students.hasNext()) {
+                putLocked(compact(students.next()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a student to the index, replacing any entry with the same ID.
+     *
+     * @param student the student to index
+     */
+    public void put(Student student) {
+        lock.writeLock().lock();
+        try {
+            retireLocked(student.getStudentID());
+            putLocked(compact(student));
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Updates the name, age, grade and enrollment date of an indexed student,
+     * keeping their courses. Does nothing if the student is not indexed.
+     *
+     * @param studentID the ID of the student to update
+     * @param updated   the new student details
+     */
+    public void update(String studentID, Student updated) {
+        lock.writeLock().lock();
+        try {
+            CompactStudent current = getLocked(studentID);
+            if (current != null) {
+                retireLocked(studentID);
+                putLocked(current.withDetails(updated.getName(), updated.getAge(), updated.getGrade(),
+                        updated.getEnrollmentDate()));
+                compactIfNeededLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a course to an indexed student. Does nothing if the student is not
+     * indexed.
+     *
+     * @param studentID  the ID of the student
+     * @param courseCode the course code to add
+     */
+    public void addCourse(String studentID, String courseCode) {
+        lock.writeLock().lock();
+        try {
+            CompactStudent current = getLocked(studentID);
+            CompactStudent changed = current == null ? null : current.withCourse(courseCode);
+            if (changed != current) {
+                retireLocked(studentID);
+                putLocked(changed);
+                compactIfNeededLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a course from an indexed student. Does nothing if the student is
+     * not indexed.
+     *
+     * @param studentID  the ID of the student
+     * @param courseCode the course code to remove
+     */
+    public void removeCourse(String studentID, String courseCode) {
+        lock.writeLock().lock();
+        try {
+            CompactStudent current = getLocked(studentID);
+            CompactStudent changed = current == null ? null : current.withoutCourse(courseCode);
+            if (changed != current) {
+                retireLocked(studentID);
+                putLocked(changed);
+                compactIfNeededLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a student from the index.
+     *
+     * @param studentID the ID of the student to remove
+     */
+    public void remove(String studentID) {
+        lock.writeLock().lock();
+        try {
+            retireLocked(studentID);
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds all students whose name, ID or one of whose course codes contains the
+     * query, ignoring case.
+     *
+     * @param query the substring to look for
+     * @return copies of the matching students, sorted by name
+     */
+    public ArrayList<Student> search(String query) {
+        String q = query.toLowerCase(Locale.ROOT);
+        ArrayList<Student> result = new ArrayList<>();
+        char[] id = new char[36];
+
+        lock.readLock().lock();
+        try {
+            if (q.length() < 3) {
+                for (int ord = live.nextSetBit(0); ord >= 0; ord = live.nextSetBit(ord + 1)) {
+                    if (matchesLocked(ord, q, id)) {
+                        result.add(docs[ord].toStudent());
+                    }
+                }
+            } else {
+                PostingList shortest = null;
+                for (int i = 0; i + 3 <= q.length(); i++) {
+                    PostingList list = postings.get(trigram(q, i));
+                    if (list == null) {
+                        return result;
+                    }
+                    if (shortest == null || list.size < shortest.size) {
+                        shortest = list;
+                    }
+                }
+                for (int i = 0; i < shortest.size; i++) {
+                    int ord = shortest.values[i];
+                    if (live.get(ord) && matchesLocked(ord, q, id)) {
+                        result.add(docs[ord].toStudent());
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        result.sort(Comparator.comparing(Student::getName).thenComparing(Student::getStudentID));
+        return result;
+    }
+
+    /**
+     * Returns the number of indexed students.
+     *
+     * @return the live student count
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return sizeLocked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int sizeLocked() {
+        return uuidOrdinals.size + textOrdinals.size();
+    }
+
+    private CompactStudent getLocked(String studentID) {
+        UUID uuid = CompactStudent.parseUuid(studentID);
+        int ord;
+        if (uuid != null) {
+            ord = uuidOrdinals.get(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        } else {
+            Integer text = textOrdinals.get(studentID);
+            ord = text == null ? -1 : text;
+        }
+        return ord < 0 ? null : docs[ord];
+    }
+
+    private void putLocked(CompactStudent student) {
+        int ord = nextOrdinal++;
+        if (ord == docs.length) {
+            docs = Arrays.copyOf(docs, ord * 2);
+            texts = Arrays.copyOf(texts, ord * 2);
+        }
+
+        String text = indexText(student);
+        docs[ord] = student;
+        texts[ord] = text;
+        live.set(ord);
+
+        // Ordinals only grow, so appending keeps every list sorted; a repeated
+        // trigram of the same student is appended only once.
+        if (student.hasUuid()) {
+            uuidOrdinals.put(student.idHigh(), student.idLow(), ord);
+            student.uuidChars(idBuffer);
+            for (int i = 0; i + 3 <= idBuffer.length; i++) {
+                postings.computeIfAbsent(trigram(idBuffer[i], idBuffer[i + 1], idBuffer[i + 2]),
+                        k -> new PostingList()).addIfAbsent(ord);
+            }
+        } else {
+            textOrdinals.put(student.studentID(), ord);
+        }
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            postings.computeIfAbsent(trigram(text, i), k -> new PostingList()).addIfAbsent(ord);
+        }
+    }
+
+    private void retireLocked(String studentID) {
+        UUID uuid = CompactStudent.parseUuid(studentID);
+        int ord;
+        if (uuid != null) {
+            ord = uuidOrdinals.remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        } else {
+            Integer text = textOrdinals.remove(studentID);
+            ord = text == null ? -1 : text;
+        }
+        if (ord >= 0) {
+            live.clear(ord);
+            docs[ord] = null;
+            texts[ord] = null;
+        }
+    }
+
+    /**
+     * Rebuilds the index from its live students once retired ordinals outnumber
+     * them, reclaiming posting list space.
+     */
+    private void compactIfNeededLocked() {
+        int size = sizeLocked();
+        int garbage = nextOrdinal - size;
+        if (garbage < MIN_COMPACTION_GARBAGE || garbage < size) {
+            return;
+        }
+        ArrayList<CompactStudent> survivors = new ArrayList<>(size);
+        for (int ord = live.nextSetBit(0); ord >= 0; ord = live.nextSetBit(ord + 1)) {
+            survivors.add(docs[ord]);
+        }
+        clearLocked();
+        for (CompactStudent s : survivors) {
+            putLocked(s);
+        }
+        for (PostingList list : postings.values()) {
+            list.trim();
+        }
+    }
+
+    private void clearLocked() {
+        postings.clear();
+        uuidOrdinals.clear();
+        textOrdinals.clear();
+        live.clear();
+        docs = new CompactStudent[256];
+        texts = new String[256];
+        nextOrdinal = 0;
+    }
+
+    /**
+     * Tells whether the indexed text or the UUID ID of a student contains a
+     * lower-cased query.
+     *
+     * @param id a buffer of 36 characters for the UUID ID
+     */
+    private boolean matchesLocked(int ord, String q, char[] id) {
+        if (texts[ord].contains(q)) {
+            return true;
+        }
+        CompactStudent s = docs[ord];
+        if (!s.hasUuid() || q.length() > id.length) {
+            return false;
+        }
+        s.uuidChars(id);
+        for (int start = 0; start + q.length() <= id.length; start++) {
+            int i = 0;
+            while (i < q.length() && id[start + i] == q.charAt(i)) {
+                i++;
+            }
+            if (i == q.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Builds the lower-cased text indexed for a student: the name, the course
+     * codes and an ID that is not a UUID.
+     */
+    private static String indexText(CompactStudent s) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(s.name());
+        if (!s.hasUuid()) {
+            sb.append(FIELD_SEPARATOR).append(s.studentID());
+        }
+        for (int i = 0; i < s.courseCount(); i++) {
+            sb.append(FIELD_SEPARATOR).append(s.courseCode(i));
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    private static long trigram(String text, int start) {
+        return trigram(text.charAt(start), text.charAt(start + 1), text.charAt(start + 2));
+    }
+
+    private static long trigram(char a, char b, char c) {
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static CompactStudent compact(Student s) {
+        return CompactStudent.of(s, CourseDictionary.SHARED);
+    }
+
+    /**
+     * Open-addressing map from UUID IDs, as their two halves, to ordinals,
+     * without boxing or ID strings. Uses linear probing and backward-shift
+     * deletion, so removals leave no tombstones.
+     */
+    private static final class UuidOrdinals {
+        private long[] highs;
+        private long[] lows;
+
+        /**
+         * Ordinal plus one of each slot; 0 marks an empty slot.
+         */
+        private int[] values;
+        private int size;
+
+        private UuidOrdinals() {
+            clear();
+        }
+
+        private int get(long high, long low) {
+            int mask = values.length - 1;
+            for (int i = slot(high, low, mask); values[i] != 0; i = (i + 1) & mask) {
+                if (highs[i] == high && lows[i] == low) {
+                    return values[i] - 1;
+                }
+            }
+            return -1;
+        }
+
+        private void put(long high, long low, int ord) {
+            if ((size + 1) * 4 > values.length * 3) {
+                resize(values.length * 2);
+            }
+            int mask = values.length - 1;
+            int i = slot(high, low, mask);
+            while (values[i] != 0) {
+                if (highs[i] == high && lows[i] == low) {
+                    values[i] = ord + 1;
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            highs[i] = high;
+            lows[i] = low;
+            values[i] = ord + 1;
+            size++;
+        }
+
+        private int remove(long high, long low) {
+            int mask = values.length - 1;
+            int hole = slot(high, low, mask);
+            while (values[hole] != 0 && (highs[hole] != high || lows[hole] != low)) {
+                hole = (hole + 1) & mask;
+            }
+            if (values[hole] == 0) {
+                return -1;
+            }
+            int ord = values[hole] - 1;
+            // Move back every later entry of the probe run whose home slot does
+            // not lie between the hole and its current slot.
+            for (int i = (hole + 1) & mask; values[i] != 0; i = (i + 1) & mask) {
+                int home = slot(highs[i], lows[i], mask);
+                if (((i - home) & mask) >= ((i - hole) & mask)) {
+                    highs[hole] = highs[i];
+                    lows[hole] = lows[i];
+                    values[hole] = values[i];
+                    hole = i;
+                }
+            }
+            values[hole] = 0;
+            size--;
+            return ord;
+        }
+
+        private void resize(int capacity) {
+            long[] oldHighs = highs;
+            long[] oldLows = lows;
+            int[] oldValues = values;
+            highs = new long[capacity];
+            lows = new long[capacity];
+            values = new int[capacity];
+            size = 0;
+            for (int i = 0; i < oldValues.length; i++) {
+                if (oldValues[i] != 0) {
+                    put(oldHighs[i], oldLows[i], oldValues[i] - 1);
+                }
+            }
+        }
+
+        private void clear() {
+            highs = new long[16];
+            lows = new long[16];
+            values = new int[16];
+            size = 0;
+        }
+
+        private static int slot(long high, long low, int mask) {
+            return (int) (((high ^ low) * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+
+    /**
+     * Sorted list of student ordinals backed by a growable int array.
+     */
+    private static final class PostingList {
+        private int[] values = new int[4];
+        private int size;
+
+        private void addIfAbsent(int ord) {
+            if (size > 0 && values[size - 1] == ord) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ord;
+        }
+
+        private void trim() {
+            values = Arrays.copyOf(values, Math.max(size, 1));
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package core.exceptions;
+
+/**
+ * Exception thrown when a database error occurs while a lazily evaluated
+ * result is being consumed.
+ * 
+ * <p>
+ * Most StudentManager operations log database errors and return an empty
+ * result. Streaming reads cannot do that once the caller has started
+ * iterating, so a failure while reading further rows is reported with this
+ * unchecked exception, wrapping the original SQLException.
+ * </p>
+ * 
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ * @see core.StudentManager#streamStudents(String)
+ */
+public class DataAccessException extends RuntimeException {
+    /**
+     * Constructs a new DataAccessException with the specified detail message and
+     * cause.
+     * 
+     * @param message the detail message describing the failed operation
+     * @param cause   the underlying database exception
+     */
+    public DataAccessException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -3,7 +3,6 @@ package gui;
 import core.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.concurrent.Task;
 import javafx.scene.Node;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
@@ -11,8 +10,12 @@ import javafx.scene.layout.VBox;
 import javafx.stage.FileChooser;
 
 import java.io.File;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,18 +30,18 @@ import java.util.Optional;
  * <ul>
  * <li>Event handling for all UI buttons and controls</li>
  * <li>Background task execution for database operations</li>
- * <li>Pagination of student data (15 rows per page)</li>
+ * <li>Keyset pagination of student data (15 rows per page)</li>
  * <li>Real-time search functionality</li>
  * <li>Data validation and error handling</li>
  * <li>Chart updates for grade distribution</li>
  * </ul>
  * 
  * <p>
- * All database operations are executed in background threads to prevent UI
- * freezing.
- * The controller uses JavaFX Task API for asynchronous operations with proper
- * success
- * and failure handlers.
+ * All database operations are executed in the background to prevent UI
+ * freezing, through a shared {@link TaskScheduler}. Reads that replace what the
+ * table shows (paging, browsing, searching) are coalesced per operation so
+ * only the latest request delivers its result; live search is additionally
+ * debounced. Writes always run to completion.
  * </p>
  * 
  * @author Student Management System Team
@@ -51,10 +54,46 @@ public class StudentController {
      */
     private static final int ROWS_PER_PAGE = 15;
 
+    /**
+     * Delay after the last keystroke before a live search runs.
+     */
+    private static final Duration LIVE_SEARCH_DEBOUNCE = Duration.ofMillis(150);
+
     private StudentView view;
     private StudentManagerImpl manager;
+    private AsyncStudentManager asyncManager;
+    private TaskScheduler scheduler;
     private ObservableList<Student> studentList;
-    private ArrayList<Student> fullDataList = new ArrayList<>();
+
+    /**
+     * Search results currently shown, or null when browsing the database page by
+     * page.
+     */
+    private ArrayList<Student> searchResults;
+
+    /**
+     * Full-text query that produced {@link #searchResults}, or null if they came
+     * from the quick search.
+     */
+    private String searchQuery;
+
+    /**
+     * Sort key and course filter of the list currently being browsed.
+     */
+    private String browseSort = "name";
+    private String browseGroup;
+
+    /**
+     * Keyset cursors of the browsed list, keyed by page index. Page 0 always
+     * starts from the beginning (null cursor).
+     */
+    private final Map<Integer, PageCursor> pageCursors = new HashMap<>();
+
+    /**
+     * Incremented whenever the browsed list changes, so page loads that finish
+     * after the list was re-sorted or filtered are discarded.
+     */
+    private int browseGeneration;
 
     /**
      * Constructs a new StudentController and initializes the system components.
@@ -65,11 +104,36 @@ public class StudentController {
     public StudentController(StudentView view) {
         this.view = view;
         this.manager = StudentManagerImpl.getInstance();
+        this.asyncManager = new AsyncStudentManager(manager);
+        this.scheduler = new TaskScheduler(asyncManager, this::reportQueueDepth);
         this.studentList = FXCollections.observableArrayList();
 
         initController();
     }
 
+    /**
+     * Cancels pending background reads, releases the background executor and
+     * saves a student snapshot for the next start. Called when the application
+     * exits.
+     */
+    public void shutdown() {
+        scheduler.close();
+        asyncManager.close();
+        manager.saveSnapshot();
+    }
+
+    /**
+     * Logs the number of unfinished background tasks when more than one is
+     * outstanding.
+     *
+     * @param depth The number of submitted but unfinished tasks.
+     */
+    private void reportQueueDepth(int depth) {
+        if (depth > 1) {
+            view.appendLog("Background tasks pending: " + depth);
+        }
+    }
+
     /**
      * Initializes the controller by binding events and setting up the UI state.
      * Connects all buttons to their respective actions and initializes pagination.
@@ -103,36 +167,69 @@ public class StudentController {
             if (newValue.isEmpty()) {
                 refreshTable();
             } else {
-                searchStudent();
+                liveSearch();
             }
         });
     }
 
     /**
      * Creates a page of student data for the pagination control.
+     * 
+     * <p>
+     * Search results are sliced in memory. When browsing, only the requested
+     * page is fetched from the database using its keyset cursor; pages reached
+     * by jumping ahead are located with a key-only seek first.
+     * </p>
      *
      * @param pageIndex The index of the page to create.
      * @return A {@link Node} representing the table for the specified page.
      */
     private Node createPage(int pageIndex) {
-        int fromIndex = pageIndex * ROWS_PER_PAGE;
-        int toIndex = Math.min(fromIndex + ROWS_PER_PAGE, fullDataList.size());
+        if (searchResults != null) {
+            int fromIndex = pageIndex * ROWS_PER_PAGE;
+            int toIndex = Math.min(fromIndex + ROWS_PER_PAGE, searchResults.size());
 
-        if (fromIndex < toIndex) {
-            studentList.setAll(fullDataList.subList(fromIndex, toIndex));
-        } else {
-            studentList.clear();
+            if (fromIndex < toIndex) {
+                studentList.setAll(searchResults.subList(fromIndex, toIndex));
+            } else {
+                studentList.clear();
+            }
+            return new VBox(); // Dummy node, as we update items directly
         }
 
+        int generation = browseGeneration;
+        String sortBy = browseSort;
+        String group = browseGroup;
+        boolean cursorKnown = pageCursors.containsKey(pageIndex);
+        PageCursor cursor = pageCursors.get(pageIndex);
+
+        scheduler.latest("page", "loadPage", Duration.ZERO, () -> {
+            PageCursor start = cursorKnown ? cursor
+                    : manager.seekCursor(sortBy, group, pageIndex * ROWS_PER_PAGE);
+            return manager.displayStudentsPage(sortBy, group, start, ROWS_PER_PAGE);
+        }, page -> {
+            if (generation != browseGeneration || searchResults != null) {
+                return;
+            }
+            if (page.hasNext()) {
+                pageCursors.put(pageIndex + 1, page.next());
+            }
+            if (view.getPagination().getCurrentPageIndex() == pageIndex) {
+                studentList.setAll(page.students());
+            }
+        }, error -> view.appendLog("Error loading page: " + error.getMessage()));
+
         return new VBox(); // Dummy node, as we update items directly
     }
 
     /**
-     * Updates the pagination control based on the current student list size.
+     * Updates the pagination control for a list of the given size.
      * Recalculates the total number of pages and resets the UI.
+     *
+     * @param totalRows The number of rows in the list being shown.
      */
-    private void updatePagination() {
-        int pageCount = (int) Math.ceil((double) fullDataList.size() / ROWS_PER_PAGE);
+    private void updatePagination(int totalRows) {
+        int pageCount = (int) Math.ceil((double) totalRows / ROWS_PER_PAGE);
         if (pageCount == 0)
             pageCount = 1;
         view.getPagination().setPageCount(pageCount);
@@ -144,7 +241,6 @@ public class StudentController {
             // Force refresh of current page
             createPage(view.getPagination().getCurrentPageIndex());
         }
-        updateCharts();
     }
 
     /**
@@ -153,32 +249,7 @@ public class StudentController {
      * Supports filtering by group (course) and sorting.
      */
     private void refreshTable() {
-        String selectedGroup = view.getGroupFilter().getValue();
-        boolean filterApplied = selectedGroup != null && !selectedGroup.equals("All Students");
-
-        Task<ArrayList<Student>> task = new Task<>() {
-            @Override
-            protected ArrayList<Student> call() throws Exception {
-                ArrayList<Student> data = manager.displayAllStudents();
-                if (filterApplied) {
-                    data.removeIf(s -> !s.getCourses().contains(selectedGroup));
-                }
-                return data;
-            }
-        };
-
-        task.setOnSucceeded(e -> {
-            fullDataList = task.getValue();
-            updatePagination();
-            String filterMsg = filterApplied ? " [Filtered by: " + selectedGroup + "]" : "";
-            view.appendLog("Refreshed list. Total students: " + fullDataList.size() + filterMsg);
-        });
-
-        task.setOnFailed(e -> {
-            view.appendLog("Error refreshing table: " + task.getException().getMessage());
-        });
-
-        new Thread(task).start();
+        browse("name", null);
     }
 
     /**
@@ -187,31 +258,52 @@ public class StudentController {
      * @param sortBy The field to sort by.
      */
     private void refreshTable(String sortBy) {
+        browse(sortBy, "Sorted list by: " + sortBy);
+    }
+
+    /**
+     * Switches the table to browsing the database with the given sort order and
+     * the selected group filter. Only the total count and grade distribution are
+     * computed up front; rows are fetched one page at a time by
+     * {@link #createPage(int)}.
+     *
+     * @param sortBy     The field to sort by.
+     * @param successLog The log message on success, or null for the default
+     *                   refresh message.
+     */
+    private void browse(String sortBy, String successLog) {
         String selectedGroup = view.getGroupFilter().getValue();
         boolean filterApplied = selectedGroup != null && !selectedGroup.equals("All Students");
-
-        Task<ArrayList<Student>> task = new Task<>() {
-            @Override
-            protected ArrayList<Student> call() throws Exception {
-                ArrayList<Student> data = manager.displayAllStudents(sortBy);
-                if (filterApplied) {
-                    data.removeIf(s -> !s.getCourses().contains(selectedGroup));
-                }
-                return data;
+        String group = filterApplied ? selectedGroup : null;
+
+        scheduler.latest("table", "refreshTable", Duration.ZERO, () -> {
+            int[] stats = Arrays.copyOf(manager.gradeDistribution(group), 6);
+            stats[5] = manager.countStudents(group);
+            return stats;
+        }, stats -> {
+            int total = stats[5];
+
+            searchResults = null;
+            searchQuery = null;
+            browseSort = sortBy;
+            browseGroup = group;
+            browseGeneration++;
+            pageCursors.clear();
+            pageCursors.put(0, null);
+
+            updatePagination(total);
+            updateCharts(Arrays.copyOf(stats, 5));
+
+            if (successLog != null) {
+                view.appendLog(successLog);
+            } else {
+                String filterMsg = filterApplied ? " [Filtered by: " + selectedGroup + "]" : "";
+                view.appendLog("Refreshed list. Total students: " + total + filterMsg);
             }
-        };
-
-        task.setOnSucceeded(e -> {
-            fullDataList = task.getValue();
-            updatePagination();
-            view.appendLog("Sorted list by: " + sortBy);
+        }, error -> {
+            String action = successLog != null ? "sorting" : "refreshing";
+            view.appendLog("Error " + action + " table: " + error.getMessage());
         });
-
-        task.setOnFailed(e -> {
-            view.appendLog("Error sorting table: " + task.getException().getMessage());
-        });
-
-        new Thread(task).start();
     }
 
     /**
@@ -249,31 +341,22 @@ public class StudentController {
 
             Student s = new Student(name, age, grade, date, selectedCourses);
 
-            Task<Void> task = new Task<>() {
-                @Override
-                protected Void call() throws Exception {
-                    manager.addStudent(s);
-                    // Add courses
-                    for (String courseCode : selectedCourses) {
-                        manager.addCourseToStudent(s.getStudentID(), courseCode, "Course " + courseCode, 4);
-                    }
-                    return null;
+            scheduler.submit("addStudent", () -> {
+                manager.addStudent(s);
+                // Add courses
+                for (String courseCode : selectedCourses) {
+                    manager.addCourseToStudent(s.getStudentID(), courseCode, "Course " + courseCode, 4);
                 }
-            };
-
-            task.setOnSucceeded(e -> {
+                return null;
+            }, ignored -> {
                 view.appendLog("Added student: " + name);
                 refreshTable();
                 clearInputs();
+            }, error -> {
+                view.appendLog("Error adding student: " + error.getMessage());
+                showAlert("Error", error.getMessage());
             });
 
-            task.setOnFailed(e -> {
-                view.appendLog("Error adding student: " + task.getException().getMessage());
-                showAlert("Error", task.getException().getMessage());
-            });
-
-            new Thread(task).start();
-
         } catch (Exception e) {
             view.appendLog("Error adding student: " + e.getMessage());
             showAlert("Error", e.getMessage());
@@ -298,22 +381,15 @@ public class StudentController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            Task<Void> task = new Task<>() {
-                @Override
-                protected Void call() throws Exception {
-                    for (Student s : selectedItems) {
-                        manager.removeStudent(s.getStudentID());
-                    }
-                    return null;
+            scheduler.submit("removeStudents", () -> {
+                for (Student s : selectedItems) {
+                    manager.removeStudent(s.getStudentID());
                 }
-            };
-
-            task.setOnSucceeded(e -> {
+                return null;
+            }, ignored -> {
                 view.appendLog("Removed " + selectedItems.size() + " student(s).");
                 refreshTable();
-            });
-
-            new Thread(task).start();
+            }, error -> view.appendLog("Error removing students: " + error.getMessage()));
         }
     }
 
@@ -381,30 +457,25 @@ public class StudentController {
         Optional<Student> result = dialog.showAndWait();
 
         result.ifPresent(updatedStudent -> {
-            Task<Void> task = new Task<>() {
-                @Override
-                protected Void call() throws Exception {
-                    manager.updateStudent(selected.getStudentID(), updatedStudent);
-                    return null;
-                }
-            };
-
-            task.setOnSucceeded(e -> {
+            scheduler.submit("updateStudent", () -> {
+                manager.updateStudent(selected.getStudentID(), updatedStudent);
+                return null;
+            }, ignored -> {
                 view.appendLog("Updated student: " + updatedStudent.getName());
                 refreshTable();
-            });
-
-            new Thread(task).start();
+            }, error -> view.appendLog("Error updating student: " + error.getMessage()));
         });
     }
 
     /**
-     * Updates the UI charts based on the current student data.
-     * Categorizes students into grade buckets for visualization.
+     * Categorizes students into the grade buckets used by the chart.
+     *
+     * @param students The students to categorize.
+     * @return Five counts: 0-59, 60-69, 70-79, 80-89, 90-100.
      */
-    private void updateCharts() {
+    private static int[] gradeRanges(ArrayList<Student> students) {
         int[] ranges = new int[5]; // 0-59, 60-69, 70-79, 80-89, 90-100
-        for (Student s : fullDataList) {
+        for (Student s : students) {
             double g = s.getGrade();
             if (g < 60)
                 ranges[0]++;
@@ -417,7 +488,15 @@ public class StudentController {
             else
                 ranges[4]++;
         }
+        return ranges;
+    }
 
+    /**
+     * Updates the grade distribution chart.
+     *
+     * @param ranges Five counts: 0-59, 60-69, 70-79, 80-89, 90-100.
+     */
+    private void updateCharts(int[] ranges) {
         view.getGradeChart().getData().clear();
         javafx.scene.chart.XYChart.Series<String, Number> series = new javafx.scene.chart.XYChart.Series<>();
         series.setName("Grade Distribution");
@@ -430,25 +509,41 @@ public class StudentController {
     }
 
     /**
-     * Performs a real-time search on the student list.
-     * Filters the table automatically as the user types.
+     * Performs a ranked full-text search on the student list.
      */
     private void searchStudent() {
         String query = view.getSearchField().getText().toLowerCase();
-        Task<ArrayList<Student>> task = new Task<>() {
-            @Override
-            protected ArrayList<Student> call() {
-                return manager.searchStudents(query);
-            }
-        };
-
-        task.setOnSucceeded(e -> {
-            fullDataList = task.getValue();
-            updatePagination();
+        scheduler.latest("table", "searchStudents", Duration.ZERO, () -> manager.searchStudents(query), results -> {
+            showSearchResults(results, query);
             view.appendLog("Search completed for: " + query);
-        });
+        }, error -> view.appendLog("Error searching: " + error.getMessage()));
+    }
+
+    /**
+     * Shows a list of search results in the table and chart, paged in memory.
+     *
+     * @param results The students to show.
+     * @param query   The full-text query that found them, or null for quick
+     *                search results.
+     */
+    private void showSearchResults(ArrayList<Student> results, String query) {
+        searchResults = results;
+        searchQuery = query;
+        browseGeneration++;
+        updatePagination(searchResults.size());
+        updateCharts(gradeRanges(searchResults));
+    }
 
-        new Thread(task).start();
+    /**
+     * Filters the table as the user types using the in-memory quick search
+     * index, without querying the database. Runs once typing pauses for
+     * {@link #LIVE_SEARCH_DEBOUNCE}.
+     */
+    private void liveSearch() {
+        String query = view.getSearchField().getText();
+        scheduler.latest("table", "quickSearch", LIVE_SEARCH_DEBOUNCE, () -> manager.quickSearch(query),
+                results -> showSearchResults(results, null),
+                error -> view.appendLog("Error searching: " + error.getMessage()));
     }
 
     /**
@@ -459,26 +554,15 @@ public class StudentController {
         String selectedGroup = view.getGroupFilter().getValue();
         boolean filterApplied = selectedGroup != null && !selectedGroup.equals("All Students");
 
-        Task<Double> task = new Task<>() {
-            @Override
-            protected Double call() {
-                if (filterApplied) {
-                    return manager.calculateAverageGrade(selectedGroup);
-                }
-                return manager.calculateAverageGrade();
-            }
-        };
-
-        task.setOnSucceeded(e -> {
-            double avg = task.getValue();
-            String title = filterApplied ? "Average Grade - " + selectedGroup : "Average Grade";
-            String scope = filterApplied ? "students in " + selectedGroup : "all students";
+        scheduler.latest("average", "calculateAverage", Duration.ZERO, () -> filterApplied
+                ? manager.calculateAverageGrade(selectedGroup)
+                : manager.calculateAverageGrade(), avg -> {
+                    String title = filterApplied ? "Average Grade - " + selectedGroup : "Average Grade";
+                    String scope = filterApplied ? "students in " + selectedGroup : "all students";
 
-            showAlert(title, String.format("The average grade of %s is: %.2f", scope, avg));
-            view.appendLog("Calculated average for " + scope + ": " + avg);
-        });
-
-        new Thread(task).start();
+                    showAlert(title, String.format("The average grade of %s is: %.2f", scope, avg));
+                    view.appendLog("Calculated average for " + scope + ": " + avg);
+                }, error -> view.appendLog("Error calculating average: " + error.getMessage()));
     }
 
     /**
@@ -514,7 +598,10 @@ public class StudentController {
     }
 
     /**
-     * Exports the current student list to a CSV file selected by the user.
+     * Exports the students currently shown to a CSV file selected by the user:
+     * the search results while searching, otherwise the selected group. Full-text
+     * results are exported by running their query again; quick search results,
+     * which only the in-memory index produces, are exported as shown.
      */
     private void exportCSV() {
         FileChooser fileChooser = new FileChooser();
@@ -522,8 +609,15 @@ public class StudentController {
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
         File file = fileChooser.showSaveDialog(null);
         if (file != null) {
-            manager.exportStudentsToCSV(file.getAbsolutePath());
-            view.appendLog("Exported student data to: " + file.getName());
+            ArrayList<Student> shown = searchResults;
+            String query = searchQuery;
+            String group = shown != null ? null : browseGroup;
+            scheduler.submit("exportCsv", () -> shown != null && query == null
+                    ? manager.exportStudentsToCSV(file.getAbsolutePath(), shown)
+                    : manager.exportStudentsToCSV(file.getAbsolutePath(), query, group),
+                    rows -> view.appendLog(rows < 0 ? "Error exporting to: " + file.getName()
+                            : "Exported " + rows + " students to: " + file.getName()),
+                    error -> view.appendLog("Error exporting: " + error.getMessage()));
         }
     }
 
@@ -536,9 +630,13 @@ public class StudentController {
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
         File file = fileChooser.showOpenDialog(null);
         if (file != null) {
-            manager.importStudentsFromCSV(file.getAbsolutePath());
-            refreshTable();
-            view.appendLog("Imported student data from: " + file.getName());
+            scheduler.submit("importCsv", () -> {
+                manager.importStudentsFromCSV(file.getAbsolutePath());
+                return null;
+            }, ignored -> {
+                refreshTable();
+                view.appendLog("Imported student data from: " + file.getName());
+            }, error -> view.appendLog("Error importing: " + error.getMessage()));
         }
     }
 
@@ -30,6 +30,8 @@ import javafx.scene.layout.BorderPane;
  */
 public class StudentManagementApp extends Application {
 
+    private StudentController controller;
+
     /**
      * Initializes and displays the JavaFX application window.
      * 
@@ -56,7 +58,7 @@ public class StudentManagementApp extends Application {
 
             // Initialize MVC
             StudentView view = new StudentView();
-            StudentController controller = new StudentController(view);
+            controller = new StudentController(view);
 
             root.setCenter(view.getView());
 
@@ -69,6 +71,18 @@ public class StudentManagementApp extends Application {
         }
     }
 
+    /**
+     * Stops background work and releases pooled database connections when the
+     * application exits.
+     */
+    @Override
+    public void stop() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+        ConnectionFactory.shutdown();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
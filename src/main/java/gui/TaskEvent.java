@@ -0,0 +1,38 @@
+package gui;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event for one background task of the controller, emitted by
+ * {@link TaskScheduler}. The event lasts while the task runs; the time it
+ * waited for a thread and a database permit before that is reported as the
+ * queue time.
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Name("studentmanagement.Task")
+@Label("UI Task")
+@Category({ "Student Management", "UI Tasks" })
+@Description("A background task started from the user interface")
+final class TaskEvent extends Event {
+
+    @Label("Operation")
+    @Description("The user action the task performs")
+    String operation;
+
+    @Label("Queue Time")
+    @Description("Time between submitting the task and the start of its work")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueTime;
+
+    @Label("Succeeded")
+    @Description("False if the task failed or was cancelled")
+    boolean succeeded;
+}
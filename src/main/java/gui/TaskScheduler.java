@@ -0,0 +1,242 @@
+package gui;
+
+import core.AsyncStudentManager;
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs the controller's background work and delivers results on the JavaFX
+ * application thread.
+ *
+ * <p>
+ * All work runs through one shared {@link AsyncStudentManager}, so it is
+ * executed on virtual threads and bounded by the same concurrency limit as the
+ * database connections, instead of starting a new platform thread per action.
+ * Two kinds of tasks are supported:
+ * </p>
+ * <ul>
+ * <li><b>Coalesced</b> tasks ({@link #latest}) are keyed by operation. A new
+ * request for a key supersedes the previous one: a request still waiting for
+ * its debounce delay is dropped, and a running one is cancelled. Only the
+ * latest request's result is delivered, so reads that finish out of order can
+ * never overwrite newer results.</li>
+ * <li><b>Independent</b> tasks ({@link #submit}) always run to completion
+ * and are not bounded by the manager's timeout, since their duration grows
+ * with the data; they are used for writes, imports and exports.</li>
+ * </ul>
+ *
+ * <p>
+ * The number of submitted but unfinished tasks is reported to a depth listener
+ * whenever it changes. Every task that starts is recorded as a
+ * {@link TaskEvent} for Flight Recorder, under the operation name given by the
+ * caller. Methods of this class must be called on the JavaFX application
+ * thread.
+ * </p>
+ *
+ * @author Student Management System Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class TaskScheduler implements AutoCloseable {
+
+    private final AsyncStudentManager async;
+    private final AsyncStudentManager unbounded;
+    private final Consumer<Integer> depthListener;
+    private final Executor fxThread;
+
+    /**
+     * Fires debounce delays; the delayed work itself runs on {@link #async}.
+     */
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "task-scheduler-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<String, Pending> latest = new HashMap<>();
+    private int depth;
+
+    /**
+     * Creates a scheduler.
+     *
+     * @param async         executes the work
+     * @param depthListener receives the number of unfinished tasks whenever it
+     *                      changes, on the JavaFX application thread
+     */
+    public TaskScheduler(AsyncStudentManager async, Consumer<Integer> depthListener) {
+        this(async, depthListener, Platform::runLater);
+    }
+
+    /**
+     * Creates a scheduler that delivers results through the given executor
+     * instead of the JavaFX application thread, so it can be tested without
+     * the toolkit.
+     *
+     * @param async         executes the work
+     * @param depthListener receives the number of unfinished tasks whenever it
+     *                      changes, on {@code fxThread}
+     * @param fxThread      runs the callbacks; the scheduler's methods must be
+     *                      called on the thread it uses
+     */
+    TaskScheduler(AsyncStudentManager async, Consumer<Integer> depthListener, Executor fxThread) {
+        this.async = async;
+        this.unbounded = async.withoutTimeout();
+        this.depthListener = depthListener;
+        this.fxThread = fxThread;
+    }
+
+    /**
+     * Runs work on behalf of an operation, superseding any earlier unfinished
+     * request of the same operation.
+     *
+     * @param <T>       the result type
+     * @param key       requests with equal keys coalesce
+     * @param operation the name of the operation, for Flight Recorder
+     * @param debounce  how long to wait for a newer request before starting, or
+     *                  {@link Duration#ZERO}
+     * @param work      the background work
+     * @param onSuccess receives the result on the JavaFX thread, unless the
+     *                  request was superseded
+     * @param onFailure receives the error on the JavaFX thread, unless the
+     *                  request was superseded
+     */
+    public <T> void latest(String key, String operation, Duration debounce, Callable<T> work,
+            Consumer<T> onSuccess, Consumer<Throwable> onFailure) {
+        Pending previous = latest.remove(key);
+        if (previous != null) {
+            previous.cancel();
+            changeDepth(-1);
+        }
+
+        Pending pending = new Pending();
+        latest.put(key, pending);
+        changeDepth(1);
+
+        Runnable launch = () -> {
+            if (latest.get(key) != pending) {
+                return;
+            }
+            CompletableFuture<T> running = async.submit(traced(operation, work));
+            pending.running = running;
+            running.whenComplete((result, error) -> fxThread.execute(() -> {
+                if (latest.get(key) != pending) {
+                    return;
+                }
+                latest.remove(key);
+                changeDepth(-1);
+                deliver(result, error, onSuccess, onFailure);
+            }));
+        };
+
+        if (debounce.isZero()) {
+            launch.run();
+        } else {
+            pending.timer = timer.schedule(() -> fxThread.execute(launch), debounce.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs work that must not be superseded, such as a write.
+     *
+     * @param <T>       the result type
+     * @param operation the name of the operation, for Flight Recorder
+     * @param work      the background work
+     * @param onSuccess receives the result on the JavaFX thread
+     * @param onFailure receives the error on the JavaFX thread
+     */
+    public <T> void submit(String operation, Callable<T> work, Consumer<T> onSuccess,
+            Consumer<Throwable> onFailure) {
+        changeDepth(1);
+        unbounded.submit(traced(operation, work)).whenComplete((result, error) -> fxThread.execute(() -> {
+            changeDepth(-1);
+            deliver(result, error, onSuccess, onFailure);
+        }));
+    }
+
+    /**
+     * Cancels all coalesced requests and stops the debounce timer. Independent
+     * tasks already submitted still complete.
+     */
+    @Override
+    public void close() {
+        latest.values().forEach(Pending::cancel);
+        latest.clear();
+        timer.shutdownNow();
+    }
+
+    /**
+     * Wraps work so that its run is recorded as a {@link TaskEvent}, with the
+     * time from this call to the start of the work as queue time.
+     */
+    private static <T> Callable<T> traced(String operation, Callable<T> work) {
+        long submitted = System.nanoTime();
+        return () -> {
+            TaskEvent event = new TaskEvent();
+            event.begin();
+            long queueTime = System.nanoTime() - submitted;
+            boolean succeeded = false;
+            try {
+                T result = work.call();
+                succeeded = true;
+                return result;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.operation = operation;
+                    event.queueTime = queueTime;
+                    event.succeeded = succeeded;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    private static <T> void deliver(T result, Throwable error, Consumer<T> onSuccess,
+            Consumer<Throwable> onFailure) {
+        if (error == null) {
+            onSuccess.accept(result);
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause()
+                : error;
+        if (!(cause instanceof CancellationException)) {
+            onFailure.accept(cause);
+        }
+    }
+
+    private void changeDepth(int delta) {
+        depth += delta;
+        depthListener.accept(depth);
+    }
+
+    /**
+     * State of the latest request of one coalesced operation.
+     */
+    private static final class Pending {
+        private ScheduledFuture<?> timer;
+        private CompletableFuture<?> running;
+
+        private void cancel() {
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            if (running != null) {
+                running.cancel(true);
+            }
+        }
+    }
+}
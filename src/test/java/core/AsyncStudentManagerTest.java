@@ -0,0 +1,138 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit 5 test suite for the AsyncStudentManager class.
+ *
+ * <p>
+ * Verifies delegation, the concurrency bound, timeouts and cancellation
+ * against a stub StudentManager, so no database is involved.
+ * </p>
+ */
+class AsyncStudentManagerTest {
+
+    private AsyncStudentManager async;
+
+    @BeforeEach
+    void createManager() {
+        StudentManager stub = (StudentManager) Proxy.newProxyInstance(StudentManager.class.getClassLoader(),
+                new Class<?>[] { StudentManager.class }, (proxy, method, args) -> switch (method.getName()) {
+                    case "countStudents" -> 42;
+                    case "searchStudents" -> new ArrayList<>(List.of(new Student("Eve", 20, 80.0)));
+                    case "importStudentsFromCSV" -> {
+                        Thread.sleep(200);
+                        yield null;
+                    }
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        async = new AsyncStudentManager(stub);
+    }
+
+    @AfterEach
+    void closeManager() {
+        async.close();
+    }
+
+    /**
+     * Verifies that calls are delegated and their results delivered.
+     */
+    @Test
+    void testDelegatesToManager() throws Exception {
+        assertEquals(42, async.countStudents(null).get(1, TimeUnit.SECONDS));
+        assertEquals("Eve", async.searchStudents("e").get(1, TimeUnit.SECONDS).get(0).getName());
+    }
+
+    /**
+     * Verifies that no more than the configured number of calls run at once.
+     */
+    @Test
+    void testConcurrencyIsBounded() throws Exception {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        List<CompletableFuture<Integer>> calls = new ArrayList<>();
+
+        for (int i = 0; i < 50; i++) {
+            calls.add(async.submit(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                Thread.sleep(5);
+                running.decrementAndGet();
+                return 1;
+            }));
+        }
+        CompletableFuture.allOf(calls.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        assertTrue(peak.get() <= AsyncStudentManager.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Verifies that a call exceeding its timeout fails with a TimeoutException
+     * and is interrupted.
+     */
+    @Test
+    void testTimeoutInterruptsCall() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Object> call = async.withTimeout(Duration.ofMillis(50)).submit(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Verifies that an import taking longer than the timeout completes on a
+     * view without timeout, as used for the UI's imports and exports.
+     */
+    @Test
+    void testImportOutlivesTimeout() throws Exception {
+        AsyncStudentManager bounded = async.withTimeout(Duration.ofMillis(50));
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> bounded.importStudentsFromCSV("students.csv").get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+
+        bounded.withoutTimeout().importStudentsFromCSV("students.csv").get(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Verifies that cancelling a future interrupts the running call.
+     */
+    @Test
+    void testCancelInterruptsCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CompletableFuture<Object> call = async.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(call.cancel(true));
+        assertThrows(CancellationException.class, call::join);
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
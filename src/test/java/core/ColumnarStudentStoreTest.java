@@ -0,0 +1,131 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit 5 test suite for the ColumnarStudentStore class.
+ *
+ * <p>
+ * Verifies the aggregates, filters and percentiles, and that updates keep the
+ * columns and the enrollment matrix consistent, without a database.
+ * </p>
+ */
+class ColumnarStudentStoreTest {
+
+    private ColumnarStudentStore store;
+
+    @BeforeEach
+    void fillStore() {
+        store = new ColumnarStudentStore();
+        store.rebuild(List.of(
+                student("a", 20, 55.0, "2024-01-10", "CS101"),
+                student("b", 25, 65.0, "2024-02-10", "CS101", "MA201"),
+                student("c", 30, 75.0, "2024-03-10", "MA201"),
+                student("d", 35, 85.0, "2024-04-10"),
+                student("e", 40, 95.0, "2024-05-10", "CS101")).iterator());
+    }
+
+    /**
+     * Verifies grade aggregates, histograms and percentiles over all students
+     * and over a course.
+     */
+    @Test
+    void testAggregates() {
+        ColumnarStudentStore.Filter all = ColumnarStudentStore.Filter.ALL;
+        GradeStats stats = store.gradeStats(all);
+        assertEquals(5, stats.count());
+        assertEquals(75.0, stats.average());
+        assertEquals(55.0, stats.min());
+        assertEquals(95.0, stats.max());
+
+        assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, store.gradeHistogram(all, 60, 70, 80, 90));
+        assertEquals(75.0, store.gradePercentile(all, 50));
+        assertEquals(60.0, store.gradePercentile(all, 12.5));
+
+        ColumnarStudentStore.Filter cs = ColumnarStudentStore.Filter.course("CS101");
+        assertEquals(3, store.count(cs));
+        assertEquals(95.0, store.gradePercentile(cs, 100));
+        assertEquals(0, store.count(ColumnarStudentStore.Filter.course("NONE")));
+    }
+
+    /**
+     * Verifies age and enrollment date filters, alone and combined with a
+     * course.
+     */
+    @Test
+    void testFilters() {
+        ColumnarStudentStore.Filter ages = ColumnarStudentStore.Filter.ALL.withAges(25, 35);
+        assertEquals(3, store.count(ages));
+        assertEquals(1, store.count(ages.withCourse("CS101")));
+
+        ColumnarStudentStore.Filter spring = ColumnarStudentStore.Filter.ALL
+                .withEnrollment(LocalDate.parse("2024-03-01"), null);
+        assertEquals(85.0, store.gradeStats(spring).average());
+        assertEquals(3, store.count(spring));
+    }
+
+    /**
+     * Verifies that removals, updates and course changes keep every column and
+     * the enrollment matrix in step.
+     */
+    @Test
+    void testWritesKeepRowsConsistent() {
+        store.remove("a");
+        assertEquals(4, store.size());
+        assertEquals(2, store.count(ColumnarStudentStore.Filter.course("CS101")));
+
+        store.update("e", student("e", 41, 45.0, "2024-05-10"));
+        assertEquals(45.0, store.gradeStats(ColumnarStudentStore.Filter.course("CS101")
+                .withAges(41, 41)).max());
+
+        store.removeCourse("b", "CS101");
+        store.addCourse("d", "CS101");
+        assertEquals(85.0 + 45.0, store.gradeStats(ColumnarStudentStore.Filter.course("CS101")).sum());
+
+        List<Student> many = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            many.add(student("s" + i, 18 + i % 50, i % 101, "2024-01-01", i % 2 == 0 ? "CS101" : "MA201"));
+        }
+        many.forEach(store::put);
+        for (int i = 0; i < 1_000; i += 3) {
+            store.remove("s" + i);
+        }
+        int expected = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (i % 3 != 0 && i % 2 == 0) {
+                expected++;
+            }
+        }
+        assertEquals(expected + 2, store.count(ColumnarStudentStore.Filter.course("CS101")));
+    }
+
+    /**
+     * Verifies that removing the student in the last row clears its
+     * enrollments, so course filters never read past the stored rows.
+     */
+    @Test
+    void testRemoveLastRow() {
+        store.remove("e");
+        ColumnarStudentStore.Filter cs = ColumnarStudentStore.Filter.course("CS101");
+        assertEquals(2, store.count(cs));
+        assertArrayEquals(new int[] { 1, 1, 0 }, store.gradeHistogram(cs, 60, 70));
+
+        ColumnarStudentStore fresh = new ColumnarStudentStore();
+        fresh.put(student("A", 20, 50.0, "2024-01-10", "CS101"));
+        fresh.put(student("B", 21, 60.0, "2024-01-10", "CS101"));
+        fresh.remove("B");
+        assertEquals(1, fresh.count(cs));
+        assertArrayEquals(new int[] { 1, 0 }, fresh.gradeHistogram(cs, 55));
+        fresh.put(student("C", 22, 70.0, "2024-01-10"));
+        assertEquals(1, fresh.count(cs));
+    }
+
+    private static Student student(String id, int age, double grade, String date, String... courses) {
+        return new Student(id, id, age, grade, LocalDate.parse(date), new ArrayList<>(List.of(courses)));
+    }
+}
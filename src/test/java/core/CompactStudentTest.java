@@ -0,0 +1,81 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JUnit 5 test suite for the CompactStudent class.
+ *
+ * <p>
+ * Verifies that students convert to the compact view and back without loss,
+ * for generated UUID IDs as well as other IDs, and that the copy methods leave
+ * the original unchanged.
+ * </p>
+ */
+class CompactStudentTest {
+
+    private final CourseDictionary dictionary = new CourseDictionary();
+
+    /**
+     * Verifies the round trip of a student with a generated UUID ID.
+     */
+    @Test
+    void testRoundTripUuidStudent() {
+        Student s = new Student("Ada", 36, 99.5, LocalDate.of(1842, 1, 1),
+                new ArrayList<>(List.of("CS101", "MA201")));
+        CompactStudent compact = CompactStudent.of(s, dictionary);
+
+        Student back = compact.toStudent();
+        assertEquals(s.getStudentID(), back.getStudentID());
+        assertEquals("Ada", back.getName());
+        assertEquals(36, back.getAge());
+        assertEquals(99.5, back.getGrade());
+        assertEquals(LocalDate.of(1842, 1, 1), back.getEnrollmentDate());
+        assertEquals(List.of("CS101", "MA201"), back.getCourses());
+        assertEquals(2, dictionary.size());
+
+        char[] id = new char[36];
+        compact.uuidChars(id);
+        assertEquals(s.getStudentID(), new String(id));
+    }
+
+    /**
+     * Verifies that IDs which are not canonical UUIDs and missing dates are
+     * kept exactly.
+     */
+    @Test
+    void testRoundTripOtherIds() {
+        for (String id : List.of("S1", "6F9619FF-8B86-D011-B42D-00CF4FC964FF")) {
+            Student s = new Student(id, "Bo", 20, 70.0, null, new ArrayList<>());
+            Student back = CompactStudent.of(s, dictionary).toStudent();
+            assertEquals(id, back.getStudentID());
+            assertNull(back.getEnrollmentDate());
+            assertTrue(back.getCourses().isEmpty());
+        }
+    }
+
+    /**
+     * Verifies that the copy methods return updated copies and share course
+     * codes through the dictionary.
+     */
+    @Test
+    void testCopies() {
+        CompactStudent original = CompactStudent.of(new Student("S1", "Cy", 22, 80.0, LocalDate.of(2024, 1, 1),
+                new ArrayList<>(List.of("CS101"))), dictionary);
+
+        CompactStudent enrolled = original.withCourse("MA201");
+        assertEquals(1, original.courseCount());
+        assertEquals(2, enrolled.courseCount());
+        assertSame(enrolled, enrolled.withCourse("CS101"));
+        assertEquals(original, enrolled.withoutCourse("MA201"));
+
+        CompactStudent renamed = original.withDetails("Cyd", 23, 81.0, LocalDate.of(2024, 2, 1));
+        assertEquals("Cyd", renamed.name());
+        assertEquals("S1", renamed.studentID());
+        assertEquals("CS101", renamed.courseCode(0));
+    }
+}
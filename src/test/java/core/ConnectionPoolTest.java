@@ -0,0 +1,112 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * JUnit 5 test suite for the ConnectionPool class.
+ *
+ * <p>
+ * Verifies connection reuse, per-connection initialization, the size bound
+ * and the pool metrics using a temporary SQLite database file.
+ * </p>
+ */
+class ConnectionPoolTest {
+
+    private ConnectionPool pool;
+
+    /**
+     * Creates a two-connection pool over a temporary database file.
+     *
+     * @throws java.io.IOException If the temporary file cannot be created.
+     */
+    @BeforeEach
+    void setupPool() throws java.io.IOException {
+        File tempDb = File.createTempFile("test_pool_", ".db");
+        tempDb.deleteOnExit();
+        pool = new ConnectionPool("jdbc:sqlite:" + tempDb.getAbsolutePath(), 2, 200, 1_000);
+    }
+
+    @AfterEach
+    void closePool() {
+        pool.close();
+    }
+
+    /**
+     * Verifies that a returned connection is reused instead of reopened.
+     */
+    @Test
+    void testConnectionIsReused() throws SQLException {
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+        try (Connection c = pool.getConnection()) {
+            assertFalse(c.isClosed());
+        }
+
+        ConnectionPool.Stats stats = pool.getStats();
+        assertEquals(1, stats.created());
+        assertEquals(2, stats.acquired());
+        assertEquals(0, stats.active());
+        assertEquals(1, stats.idle());
+    }
+
+    /**
+     * Verifies that pooled connections are initialized with foreign keys
+     * enabled and WAL journaling.
+     */
+    @Test
+    void testConnectionIsInitialized() throws SQLException {
+        try (Connection c = pool.getConnection(); Statement stmt = c.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery("PRAGMA foreign_keys")) {
+                assertTrue(rs.next());
+                assertEquals(1, rs.getInt(1));
+            }
+            try (ResultSet rs = stmt.executeQuery("PRAGMA journal_mode")) {
+                assertTrue(rs.next());
+                assertEquals("wal", rs.getString(1).toLowerCase());
+            }
+        }
+    }
+
+    /**
+     * Verifies that the pool never hands out more than its maximum size and
+     * times out instead.
+     */
+    @Test
+    void testPoolIsBounded() throws SQLException {
+        try (Connection a = pool.getConnection(); Connection b = pool.getConnection()) {
+            assertNotSame(a, b);
+            assertThrows(SQLException.class, () -> pool.getConnection());
+            assertEquals(1, pool.getStats().timeouts());
+        }
+        assertEquals(0, pool.getStats().active());
+    }
+
+    /**
+     * Verifies that an uncommitted transaction is rolled back when the
+     * connection is returned to the pool.
+     */
+    @Test
+    void testOpenTransactionIsRolledBackOnRelease() throws SQLException {
+        try (Connection c = pool.getConnection(); Statement stmt = c.createStatement()) {
+            stmt.execute("CREATE TABLE t (x INTEGER)");
+        }
+        try (Connection c = pool.getConnection()) {
+            c.setAutoCommit(false);
+            c.createStatement().execute("INSERT INTO t VALUES (1)");
+        }
+        try (Connection c = pool.getConnection(); Statement stmt = c.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM t")) {
+            assertTrue(c.getAutoCommit());
+            rs.next();
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+}
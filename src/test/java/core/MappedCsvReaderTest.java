@@ -0,0 +1,110 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * JUnit 5 test suite for the MappedCsvReader class.
+ *
+ * <p>
+ * Verifies RFC 4180 quoting, line endings, typed field parsing and records
+ * that cross a mapping window, using temporary files.
+ * </p>
+ */
+class MappedCsvReaderTest {
+
+    private Path file;
+
+    @BeforeEach
+    void createFile() throws IOException {
+        file = Files.createTempFile("test_mapped_", ".csv");
+    }
+
+    @AfterEach
+    void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Verifies quoted fields with commas, doubled quotes and line breaks, and
+     * mixed LF and CRLF line endings.
+     */
+    @Test
+    void testQuotedFields() throws IOException {
+        write("\uFEFFname,note\r\n\"Doe, Jane\",\"say \"\"hi\"\"\"\n\"multi\nline\",x\r\nlast,");
+
+        try (MappedCsvReader csv = new MappedCsvReader(file)) {
+            assertTrue(csv.next());
+            assertEquals("name", csv.getString(0));
+
+            assertTrue(csv.next());
+            assertEquals(2, csv.lineNumber());
+            assertEquals("Doe, Jane", csv.getString(0));
+            assertEquals("say \"hi\"", csv.getString(1));
+
+            assertTrue(csv.next());
+            assertEquals("multi\nline", csv.getString(0));
+
+            assertTrue(csv.next());
+            assertEquals(5, csv.lineNumber());
+            assertEquals(2, csv.fieldCount());
+            assertTrue(csv.isBlank(1));
+
+            assertFalse(csv.next());
+        }
+    }
+
+    /**
+     * Verifies that numbers, dates and lists are parsed from the bytes with the
+     * same results as the JDK parsers.
+     */
+    @Test
+    void testTypedFields() throws IOException {
+        write("-42,87.35,2024-02-29, CS101 ;;MA201,1e2,2024-02-30,12x\n");
+
+        try (MappedCsvReader csv = new MappedCsvReader(file)) {
+            assertTrue(csv.next());
+            assertEquals(-42, csv.getInt(0));
+            assertEquals(87.35, csv.getDouble(1));
+            assertEquals(LocalDate.of(2024, 2, 29), csv.getDate(2));
+            assertEquals(List.of("CS101", "MA201"), csv.getList(3, ';'));
+            assertEquals(100.0, csv.getDouble(4));
+            assertThrows(java.time.DateTimeException.class, () -> csv.getDate(5));
+            assertThrows(NumberFormatException.class, () -> csv.getInt(6));
+        }
+    }
+
+    /**
+     * Verifies that records crossing the end of a mapping window are read
+     * intact.
+     */
+    @Test
+    void testRecordsCrossWindows() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            sb.append(i).append(",\"name, ").append(i).append("\"\n");
+        }
+        write(sb.toString());
+
+        try (MappedCsvReader csv = new MappedCsvReader(file, 64)) {
+            for (int i = 0; i < 1_000; i++) {
+                assertTrue(csv.next());
+                assertEquals(i, csv.getInt(0));
+                assertEquals("name, " + i, csv.getString(1));
+            }
+            assertFalse(csv.next());
+            assertEquals(Files.size(file), csv.bytesRead());
+        }
+    }
+
+    private void write(String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JUnit 5 test suite for the OperationMetrics class.
+ *
+ * <p>
+ * Verifies the accuracy of the latency histogram, that nested operations are
+ * counted once under the outermost name and that rows, connection waits and
+ * errors are attributed to the operation open on the current thread.
+ * </p>
+ */
+@SuppressWarnings("try") // OperationMetrics scopes are only opened and closed, never read
+class OperationMetricsTest {
+
+    /**
+     * Verifies that every value lands in a bucket whose upper bound is within
+     * 1/16 above it.
+     */
+    @Test
+    void testHistogramBuckets() {
+        for (long v : new long[] { 0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789L, Long.MAX_VALUE / 3 }) {
+            long upper = OperationMetrics.Histogram.upperBound(OperationMetrics.Histogram.bucket(v));
+            assertTrue(upper >= v, "upper bound below " + v);
+            assertTrue(upper - v <= v / 16, "bucket too wide at " + v);
+        }
+
+        OperationMetrics.Histogram histogram = new OperationMetrics.Histogram();
+        for (long v = 1; v <= 10_000; v++) {
+            histogram.record(v * 1_000);
+        }
+        assertEquals(5_000_000, histogram.percentile(0.50, 10_000_000), 5_000_000 / 16.0);
+        assertEquals(9_900_000, histogram.percentile(0.99, 10_000_000), 9_900_000 / 16.0);
+        assertEquals(10_000_000, histogram.percentile(1.0, 10_000_000));
+        assertEquals(0, new OperationMetrics.Histogram().percentile(0.5, 0));
+    }
+
+    /**
+     * Verifies that nested scopes are recorded once under the outer name and
+     * that reports made inside them are attributed to it.
+     */
+    @Test
+    void testNestingAndAttribution() {
+        OperationMetrics metrics = new OperationMetrics();
+        try (OperationMetrics.Scope outer = metrics.begin("outer")) {
+            OperationMetrics.rowsRead(3);
+            try (OperationMetrics.Scope inner = metrics.begin("inner")) {
+                OperationMetrics.rowsWritten(2);
+                OperationMetrics.connectionWait(1_000);
+            }
+        }
+        OperationMetrics.rowsRead(100); // no open scope, ignored
+
+        assertNull(metrics.snapshot("inner"));
+        OperationMetrics.Snapshot outer = metrics.snapshot("outer");
+        assertEquals(1, outer.calls());
+        assertEquals(3, outer.rowsRead());
+        assertEquals(2, outer.rowsWritten());
+        assertEquals(1_000, outer.connectionWaitNanos());
+        assertEquals(0, outer.errors());
+    }
+
+    /**
+     * Verifies that failures are counted per call and that the JMX view and
+     * reset reflect the recorded operations.
+     */
+    @Test
+    void testErrorsAndReset() {
+        OperationMetrics metrics = new OperationMetrics();
+        for (int i = 0; i < 4; i++) {
+            try (OperationMetrics.Scope scope = metrics.begin("op")) {
+                if (i % 2 == 0) {
+                    OperationMetrics.failed();
+                }
+            }
+        }
+
+        assertEquals(java.util.List.of("op"), metrics.getOperations());
+        assertEquals(4L, metrics.getOperationMetrics("op").get("calls"));
+        assertEquals(2L, metrics.getOperationMetrics("op").get("errors"));
+        assertTrue(metrics.getReport().get(0).startsWith("op calls=4 errors=2"));
+
+        metrics.reset();
+        assertTrue(metrics.snapshot().isEmpty());
+        assertTrue(metrics.getOperationMetrics("op").isEmpty());
+    }
+}
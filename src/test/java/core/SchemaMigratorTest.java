@@ -0,0 +1,164 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * JUnit 5 test suite for the SchemaMigrator class.
+ *
+ * <p>
+ * Verifies that the application migrations build the full schema, that an
+ * up-to-date database is left untouched and that edited migrations are
+ * detected, using a temporary SQLite database file.
+ * </p>
+ */
+class SchemaMigratorTest {
+
+    private Connection conn;
+
+    /**
+     * Opens a connection to a new temporary database file.
+     *
+     * @throws Exception If the file or the connection cannot be created.
+     */
+    @BeforeEach
+    void openDatabase() throws Exception {
+        File tempDb = File.createTempFile("test_migrate_", ".db");
+        tempDb.deleteOnExit();
+        conn = DriverManager.getConnection("jdbc:sqlite:" + tempDb.getAbsolutePath());
+    }
+
+    @AfterEach
+    void closeDatabase() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * Verifies that a new database gets every migration, the secondary indexes
+     * and planner statistics, and that a second run applies nothing.
+     */
+    @Test
+    void testMigrateNewDatabase() throws SQLException {
+        int latest = DatabaseInitializer.MIGRATIONS.size();
+        assertEquals(latest, DatabaseInitializer.migrate(conn));
+
+        assertEquals(latest, count("SELECT COUNT(*) FROM schema_version"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE name = 'idx_course_code'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE name = 'idx_student_grade'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM sqlite_master WHERE name = 'sqlite_stat1'"));
+
+        assertEquals(0, DatabaseInitializer.migrate(conn));
+    }
+
+    /**
+     * Verifies that a database created before schema versioning is adopted
+     * and its existing rows are indexed.
+     */
+    @Test
+    void testMigrateUnversionedDatabase() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE students (studentID TEXT PRIMARY KEY, name TEXT NOT NULL,"
+                    + " age INTEGER, grade REAL, enrollmentDate DATE)");
+            stmt.execute("INSERT INTO students VALUES ('S1', 'Ada', 20, 80.0, '2024-01-01')");
+        }
+
+        DatabaseInitializer.migrate(conn);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM student_search WHERE student_search MATCH 'ada'"));
+        assertEquals(1, count("SELECT n FROM grade_stats WHERE scope = ''"));
+    }
+
+    /**
+     * Verifies that UUID student IDs stored as text are converted to 16-byte
+     * blobs in students and enrollments, that other IDs stay text and that the
+     * search index still matches the IDs' text form.
+     */
+    @Test
+    void testMigrateTextStudentKeys() throws SQLException {
+        new SchemaMigrator(DatabaseInitializer.MIGRATIONS.subList(0, 5)).migrate(conn);
+        String uuid = "0f8fad5b-d9cb-469f-a165-70867728950e";
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            stmt.execute("INSERT INTO students VALUES ('" + uuid + "', 'Ada', 20, 80.0, '2024-01-01')");
+            stmt.execute("INSERT INTO students VALUES ('S1', 'Bob', 21, 70.0, '2024-01-01')");
+            stmt.execute("INSERT INTO courses VALUES ('CS101', 'Intro', 4)");
+            stmt.execute("INSERT INTO enrollments VALUES ('" + uuid + "', 'CS101', 0)");
+        }
+
+        assertEquals(DatabaseInitializer.MIGRATIONS.size() - 5, DatabaseInitializer.migrate(conn));
+
+        assertEquals(1, count("SELECT COUNT(*) FROM students WHERE studentID = x'"
+                + uuid.replace("-", "") + "'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM students WHERE studentID = 'S1'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM enrollments WHERE typeof(studentID) = 'blob'"));
+        assertEquals(0, count("SELECT COUNT(*) FROM pragma_foreign_key_check"));
+        assertEquals(1, count("SELECT COUNT(*) FROM student_search WHERE student_search MATCH '\"d9cb\" AND cs101'"));
+        assertEquals(1, count("SELECT n FROM grade_stats WHERE scope = 'CS101'"));
+    }
+
+    /**
+     * Verifies that students keep their ids, and with them their search index
+     * rows, when an existing table is rebuilt with an id column and when the
+     * database is vacuumed afterwards.
+     */
+    @Test
+    void testSearchIndexSurvivesVacuum() throws SQLException {
+        new SchemaMigrator(DatabaseInitializer.MIGRATIONS.subList(0, 6)).migrate(conn);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA foreign_keys = ON");
+            for (String name : List.of("Ada", "Bob", "Cy")) {
+                stmt.execute("INSERT INTO students VALUES ('" + name + "1', '" + name + "', 20, 80.0, '2024-01-01')");
+            }
+            stmt.execute("INSERT INTO courses VALUES ('CS101', 'Intro', 4)");
+            stmt.execute("INSERT INTO enrollments VALUES ('Cy1', 'CS101', 0)");
+            stmt.execute("DELETE FROM students WHERE studentID = 'Ada1'");
+        }
+
+        DatabaseInitializer.migrate(conn);
+        assertEquals(1, count("SELECT COUNT(*) FROM enrollments"));
+        assertEquals(0, count("SELECT COUNT(*) FROM pragma_foreign_key_check"));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("VACUUM");
+        }
+
+        String search = "SELECT COUNT(*) FROM student_search f JOIN students s ON s.id = f.rowid"
+                + " WHERE student_search MATCH '%s' AND s.name = '%s'";
+        assertEquals(1, count(search.formatted("cy", "Cy")));
+        assertEquals(1, count(search.formatted("cs101", "Cy")));
+        assertEquals(1, count(search.formatted("bob", "Bob")));
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM students WHERE studentID = 'Cy1'");
+        }
+        assertEquals(0, count("SELECT COUNT(*) FROM enrollments"));
+        assertEquals(0, count("SELECT COUNT(*) FROM student_search WHERE student_search MATCH 'cy'"));
+    }
+
+    /**
+     * Verifies that editing an applied migration is detected instead of
+     * silently ignored.
+     */
+    @Test
+    void testChecksumMismatchFails() throws SQLException {
+        new SchemaMigrator(List.of(SchemaMigrator.Migration.of(1, "t", "CREATE TABLE t (x INTEGER)")))
+                .migrate(conn);
+
+        SchemaMigrator edited = new SchemaMigrator(
+                List.of(SchemaMigrator.Migration.of(1, "t", "CREATE TABLE t (x TEXT)")));
+        assertThrows(SQLException.class, () -> edited.migrate(conn));
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * JUnit 5 test suite for the SlowQueryLog class.
+ *
+ * <p>
+ * Verifies plan capture, redaction of bound values, the rate limit, the ring
+ * buffer and statement timing, against an in-memory database.
+ * </p>
+ */
+class SlowQueryLogTest {
+
+    private static final String QUERY = "SELECT * FROM students WHERE name = ? AND age > ?";
+
+    private Connection conn;
+
+    @BeforeEach
+    void openDatabase() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE students (studentID TEXT PRIMARY KEY, name TEXT, age INTEGER)");
+            stmt.execute("CREATE INDEX idx_students_name ON students(name)");
+        }
+    }
+
+    @AfterEach
+    void closeDatabase() throws SQLException {
+        conn.close();
+    }
+
+    /**
+     * Verifies that the plan is captured with the values bound and that text is
+     * redacted unless value logging is enabled.
+     */
+    @Test
+    void testPlanAndRedaction() {
+        SlowQueryLog redacting = new SlowQueryLog(Duration.ZERO, Duration.ofMinutes(1), 10, false);
+        redacting.record(conn, "searchStudents", QUERY, 5_000_000, 3, new Object[] { "Ada", 30 }, 2);
+
+        SlowQueryLog.Entry entry = redacting.entries().get(0);
+        assertEquals("searchStudents", entry.operation());
+        assertEquals(List.of("<text, 3 chars>", "30"), entry.parameters());
+        assertTrue(entry.plan().contains("idx_students_name"), entry.plan());
+        assertFalse(entry.format().contains("Ada"));
+
+        SlowQueryLog showing = new SlowQueryLog(Duration.ZERO, Duration.ofMinutes(1), 10, true);
+        showing.record(conn, null, QUERY, 5_000_000, 3, new Object[] { "Ada", null }, 2);
+        assertEquals(List.of("'Ada'", "NULL"), showing.entries().get(0).parameters());
+    }
+
+    /**
+     * Verifies that repeats of a template within the log interval are buffered
+     * with the plan captured first, and that the buffer keeps the newest
+     * entries.
+     *
+     * @throws SQLException If the index cannot be dropped.
+     */
+    @Test
+    void testRateLimitAndRingBuffer() throws SQLException {
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(10), Duration.ofMinutes(1), 2, false);
+        assertFalse(log.isSlow(Duration.ofMillis(9).toNanos()));
+        assertTrue(log.isSlow(Duration.ofMillis(10).toNanos()));
+
+        log.record(conn, "a", QUERY, 1, 0, new Object[] { "x", 1 }, 2);
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP INDEX idx_students_name");
+        }
+        log.record(conn, "b", QUERY, 2, 0, new Object[] { "x", 1 }, 2);
+        log.record(conn, "c", "DELETE FROM students", 3, 0, new Object[0], 0);
+
+        List<SlowQueryLog.Entry> entries = log.entries();
+        assertEquals(List.of("b", "c"), entries.stream().map(SlowQueryLog.Entry::operation).toList());
+        assertTrue(entries.get(0).plan().contains("idx_students_name"), "plan not captured again");
+        assertEquals(1, log.entries("c").size());
+        assertEquals(3, log.getSlowStatementCount());
+
+        log.clear();
+        assertTrue(log.entries().isEmpty());
+        assertEquals(0, log.getSlowStatementCount());
+    }
+
+    /**
+     * Verifies that a query is timed through its execution and fetch only, so
+     * time spent processing rows does not make it slow, and that it is recorded
+     * as soon as its rows are exhausted.
+     *
+     * @throws Exception If the database cannot be accessed or the sleep is
+     *                   interrupted.
+     */
+    @Test
+    void testFetchTiming() throws Exception {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO students VALUES ('a', 'Ada', 31), ('b', 'Ben', 32), ('c', 'Cy', 33)");
+        }
+        SlowQueryLog log = new SlowQueryLog(Duration.ofMillis(100), Duration.ofMinutes(1), 10, false);
+        Connection traced = TracedConnection.wrap(conn, 0, log);
+        try (PreparedStatement ps = traced.prepareStatement("SELECT name FROM students WHERE age > ?")) {
+            ps.setInt(1, 30);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Thread.sleep(60);
+                }
+            }
+        }
+        assertTrue(log.entries().isEmpty(), "row processing counted as query time");
+
+        log.setThresholdMillis(0);
+        try (PreparedStatement ps = traced.prepareStatement("SELECT name FROM students WHERE age > ?")) {
+            ps.setInt(1, 30);
+            ResultSet rs = ps.executeQuery();
+            while (rs.next()) {
+                assertTrue(log.entries().isEmpty());
+            }
+            assertEquals(3, log.entries().get(0).rows());
+        }
+        assertEquals(1, log.getSlowStatementCount());
+    }
+}
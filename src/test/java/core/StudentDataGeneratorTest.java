@@ -0,0 +1,136 @@
+package core;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JUnit 5 test suite for the StudentDataGenerator class.
+ *
+ * <p>
+ * Verifies that generation is reproducible, that generated students pass the
+ * insert validation, that course popularity is skewed and that the CSV and
+ * database outputs are complete.
+ * </p>
+ */
+class StudentDataGeneratorTest {
+
+    /**
+     * Verifies that a seed always yields the same students, whatever total is
+     * requested, and that a different seed yields different ones.
+     */
+    @Test
+    void testDeterministic() {
+        Iterator<Student> shortRun = new StudentDataGenerator(7).students(50);
+        Iterator<Student> longRun = new StudentDataGenerator(7).students(5_000);
+        while (shortRun.hasNext()) {
+            Student a = shortRun.next();
+            Student b = longRun.next();
+            assertEquals(a.getStudentID(), b.getStudentID());
+            assertEquals(a.getName(), b.getName());
+            assertEquals(a.getGrade(), b.getGrade());
+            assertEquals(a.getCourses(), b.getCourses());
+        }
+        assertNotEquals(new StudentDataGenerator(7).students(1).next().getStudentID(),
+                new StudentDataGenerator(8).students(1).next().getStudentID());
+    }
+
+    /**
+     * Verifies that generated values are valid and that enrollments follow the
+     * course popularity order.
+     */
+    @Test
+    void testDistributions() {
+        StudentDataGenerator generator = new StudentDataGenerator(StudentDataGenerator.DEFAULT_SEED);
+        List<Course> courses = generator.courses();
+        int[] enrollments = new int[courses.size()];
+        Iterator<Student> students = generator.students(20_000);
+        while (students.hasNext()) {
+            Student s = students.next();
+            assertTrue(s.getAge() >= 18 && s.getAge() <= 100);
+            assertTrue(s.getGrade() >= 0 && s.getGrade() <= 100);
+            assertNotNull(CompactStudent.parseUuid(s.getStudentID()));
+            assertFalse(s.getCourses().isEmpty());
+            assertEquals(s.getCourses().size(), s.getCourses().stream().distinct().count());
+            for (String code : s.getCourses()) {
+                for (int i = 0; i < courses.size(); i++) {
+                    if (courses.get(i).getCourseCode().equals(code)) {
+                        enrollments[i]++;
+                    }
+                }
+            }
+        }
+        assertTrue(enrollments[0] > 4 * enrollments[courses.size() - 1]);
+    }
+
+    /**
+     * Verifies that the CSV output reads back field for field and that the
+     * database output fills the students, the enrollments and the derived tables.
+     */
+    @Test
+    void testCsvAndDatabaseOutput() throws Exception {
+        StudentDataGenerator generator = new StudentDataGenerator(3);
+
+        Path csv = Files.createTempFile("test_generated_", ".csv");
+        csv.toFile().deleteOnExit();
+        assertEquals(500, generator.writeCsv(csv, 500));
+        Iterator<Student> expected = generator.students(500);
+        try (MappedCsvReader reader = new MappedCsvReader(csv)) {
+            assertTrue(reader.next()); // header
+            while (reader.next()) {
+                Student s = expected.next();
+                assertEquals(s.getName(), reader.getString(0));
+                assertEquals(s.getAge(), reader.getInt(1));
+                assertEquals(s.getGrade(), reader.getDouble(2));
+                assertEquals(s.getEnrollmentDate(), reader.getDate(3));
+                assertEquals(s.getCourses(), reader.getList(4, ';'));
+            }
+        }
+        assertFalse(expected.hasNext());
+
+        File tempDb = File.createTempFile("test_generated_", ".db");
+        tempDb.deleteOnExit();
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + tempDb.getAbsolutePath())) {
+            DatabaseInitializer.migrate(conn);
+            int version = count(conn, "SELECT version FROM data_version");
+            assertEquals(2_000, generator.writeDatabase(conn, 2_000));
+            assertEquals(version + 1, count(conn, "SELECT version FROM data_version"));
+
+            assertEquals(2_000, count(conn, "SELECT COUNT(*) FROM students WHERE typeof(studentID) = 'blob'"));
+            assertEquals(count(conn, "SELECT COUNT(*) FROM enrollments"),
+                    count(conn, "SELECT SUM(n) FROM grade_stats WHERE scope <> ''"));
+            assertEquals(2_000, count(conn, "SELECT n FROM grade_stats WHERE scope = ''"));
+            assertEquals(2_000, count(conn, "SELECT COUNT(*) FROM student_search"));
+            assertEquals(0, count(conn, "SELECT COUNT(*) FROM pragma_foreign_key_check"));
+
+            String code = generator.courses().get(0).getCourseCode();
+            assertEquals(count(conn, "SELECT COUNT(*) FROM enrollments WHERE courseCode = '" + code + "'"),
+                    count(conn, "SELECT COUNT(*) FROM student_search WHERE student_search MATCH '" + code + "'"));
+
+            // The search and change counter triggers are back in place for
+            // ordinary writes.
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("INSERT INTO students (studentID, name, age, grade, enrollmentDate)"
+                        + " VALUES ('S1', 'Zed Unique', 20, 50, '2024-01-01')");
+            }
+            assertEquals(1, count(conn, "SELECT COUNT(*) FROM student_search WHERE student_search MATCH 'zed'"));
+            assertEquals(version + 2, count(conn, "SELECT version FROM data_version"));
+        }
+    }
+
+    private static int count(Connection conn, String sql) throws SQLException {
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
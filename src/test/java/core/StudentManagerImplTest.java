@@ -106,6 +106,70 @@ class StudentManagerImplTest {
         assertEquals("John Doe", students.get(0).getName());
     }
 
+    /**
+     * Verifies that a bulk insert reports inserted, duplicate and invalid rows
+     * in input order across several commit chunks.
+     */
+    @Test
+    void testAddStudentsBatch() {
+        ArrayList<String> courses = new ArrayList<>();
+        courses.add("CS101");
+        Student a = new Student("Ann", 20, 70.0, LocalDate.now(), courses);
+        Student b = new Student("Ben", 21, 90.0, LocalDate.now(), new ArrayList<>());
+        Student invalid = new Student("Old", 150, 50.0, LocalDate.now(), new ArrayList<>());
+        manager.addStudent(b);
+
+        BatchInsertReport report = manager.addStudents(java.util.List.of(a, b, invalid, a), 2);
+
+        assertEquals(4, report.size());
+        assertEquals(BatchInsertReport.Outcome.INSERTED, report.getRows().get(0).outcome());
+        assertEquals(BatchInsertReport.Outcome.DUPLICATE, report.getRows().get(1).outcome());
+        assertEquals(BatchInsertReport.Outcome.INVALID, report.getRows().get(2).outcome());
+        assertEquals(BatchInsertReport.Outcome.DUPLICATE, report.getRows().get(3).outcome());
+        assertEquals(1, report.getInserted());
+
+        assertEquals(2, manager.displayAllStudents().size());
+        assertEquals(1, manager.displayStudentsByCourse("CS101", "name").size());
+    }
+
+    /**
+     * Verifies the skip, replace and merge conflict policies for single and
+     * bulk inserts, including their effect on enrollments and aggregates.
+     */
+    @Test
+    void testUpsertPolicies() {
+        ArrayList<String> courses = new ArrayList<>();
+        courses.add("CH1");
+        Student original = new Student("Cy", 20, 50.0, LocalDate.now(), courses);
+        assertEquals(BatchInsertReport.Outcome.INSERTED, manager.addStudent(original, ConflictPolicy.SKIP));
+
+        Student sameId = new Student(original.getStudentID(), "Cyd", 22, 70.0, LocalDate.now(),
+                new ArrayList<>(java.util.List.of("PH1")));
+        assertEquals(BatchInsertReport.Outcome.DUPLICATE, manager.addStudent(sameId, ConflictPolicy.SKIP));
+        assertEquals("Cy", manager.findStudent(original.getStudentID()).getName());
+
+        assertEquals(1, manager.displayStudentsByCourse("CH1", "name").get(0).getCourses().size());
+        assertEquals(BatchInsertReport.Outcome.UPDATED, manager.addStudent(sameId, ConflictPolicy.MERGE_COURSES));
+        Student merged = manager.findStudent(original.getStudentID());
+        assertEquals("Cy", merged.getName());
+        assertEquals(2, merged.getCourses().size());
+        assertEquals(2, manager.displayStudentsByCourse("CH1", "name").get(0).getCourses().size(),
+                "cached listing of an existing course not invalidated");
+
+        Student fresh = new Student("Dee", 23, 90.0, LocalDate.now(), new ArrayList<>());
+        BatchInsertReport report = manager.addStudents(java.util.List.of(sameId, fresh), 10, ConflictPolicy.REPLACE);
+        assertEquals(1, report.getInserted());
+        assertEquals(1, report.getConflicts());
+        assertEquals(BatchInsertReport.Outcome.UPDATED, report.getRows().get(0).outcome());
+
+        Student replaced = manager.findStudent(original.getStudentID());
+        assertEquals("Cyd", replaced.getName());
+        assertEquals(java.util.List.of("PH1"), replaced.getCourses());
+        assertEquals(0, manager.countStudents("CH1"));
+        assertEquals(80.0, manager.calculateAverageGrade(), 1e-9);
+        assertEquals(1, manager.quickSearch("Cyd").size());
+    }
+
     /**
      * Verifies that a student can be removed from the database by ID.
      */
@@ -150,6 +214,90 @@ class StudentManagerImplTest {
         assertEquals(0, manager.displayAllStudents().get(0).getCourses().size());
     }
 
+    /**
+     * Verifies that students are loaded with all of their courses and that the
+     * course filter returns only enrolled students.
+     */
+    @Test
+    void testDisplayStudentsWithCourses() {
+        ArrayList<String> courses = new ArrayList<>();
+        courses.add("CS101");
+        courses.add("MATH101");
+        manager.addStudent(new Student("Ann", 20, 70.0, LocalDate.now(), courses));
+        manager.addStudent(new Student("Ben", 21, 90.0, LocalDate.now(), new ArrayList<>()));
+
+        var byGrade = manager.displayAllStudents("grade");
+        assertEquals(2, byGrade.size());
+        assertEquals("Ben", byGrade.get(0).getName());
+        assertEquals(2, byGrade.get(1).getCourses().size());
+
+        var inMath = manager.displayStudentsByCourse("MATH101", "name");
+        assertEquals(1, inMath.size());
+        assertEquals("Ann", inMath.get(0).getName());
+        assertEquals(2, inMath.get(0).getCourses().size());
+
+        var found = manager.searchStudents("CS1");
+        assertEquals(1, found.size());
+        assertEquals(2, found.get(0).getCourses().size());
+    }
+
+    /**
+     * Verifies that streaming returns the same students, with courses, as the
+     * list-based read.
+     */
+    @Test
+    void testStreamStudents() {
+        ArrayList<String> courses = new ArrayList<>();
+        courses.add("CS101");
+        courses.add("MATH101");
+        manager.addStudent(new Student("Ann", 20, 70.0, LocalDate.now(), courses));
+        manager.addStudent(new Student("Ben", 21, 90.0, LocalDate.now(), new ArrayList<>()));
+
+        var listed = manager.displayAllStudents("grade");
+        try (var stream = manager.streamStudents("grade")) {
+            var streamed = stream.toList();
+            assertEquals(listed, streamed);
+            assertEquals(2, streamed.get(1).getCourses().size());
+        }
+        OperationMetrics.Snapshot streaming = manager.metrics().snapshot().stream()
+                .filter(m -> m.operation().equals("streamStudents")).findFirst().orElseThrow();
+        assertEquals(1, streaming.calls());
+        assertEquals(3, streaming.rowsRead());
+    }
+
+    /**
+     * Verifies that keyset pages cover every student exactly once in sort order,
+     * including ties on the sort key, and that jumping ahead lands on the same
+     * page as walking there.
+     */
+    @Test
+    void testKeysetPagination() {
+        ArrayList<Student> batch = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            batch.add(new Student("Student", 20 + (i % 3), 50.0 + i, LocalDate.now(), new ArrayList<>()));
+        }
+        manager.addStudents(batch);
+
+        for (String sortBy : new String[] { "name", "grade", "age" }) {
+            var expected = manager.displayAllStudents(sortBy);
+            ArrayList<Student> paged = new ArrayList<>();
+            StudentPage page = manager.displayStudentsPage(sortBy, null, null, 3);
+            paged.addAll(page.students());
+            while (page.hasNext()) {
+                page = manager.displayStudentsPage(sortBy, null, page.next(), 3);
+                paged.addAll(page.students());
+            }
+            assertEquals(expected, paged, "paging by " + sortBy);
+
+            PageCursor jump = manager.seekCursor(sortBy, null, 6);
+            var lastPage = manager.displayStudentsPage(sortBy, null, jump, 3).students();
+            assertEquals(expected.subList(6, 7), lastPage);
+        }
+
+        assertEquals(7, manager.countStudents(null));
+        assertEquals(0, manager.countStudents("NONE"));
+    }
+
     /**
      * Verifies that the average grade calculation is correct.
      */
@@ -162,6 +310,52 @@ class StudentManagerImplTest {
         assertEquals(85.0, avg);
     }
 
+    /**
+     * Verifies that the running grade aggregates and the analytics store follow
+     * inserts, grade updates, enrollment changes and deletes, globally and per
+     * course.
+     */
+    @Test
+    void testGradeStatsStayInSync() {
+        ArrayList<String> courses = new ArrayList<>();
+        courses.add("MA1");
+        Student a = new Student("Al", 20, 60.0, LocalDate.now(), courses);
+        Student b = new Student("Bo", 21, 80.0, LocalDate.now(), new ArrayList<>());
+        manager.addStudent(a);
+        manager.addStudents(java.util.List.of(b));
+        manager.addCourseToStudent(b.getStudentID(), "MA1", "Math", 3);
+
+        GradeStats all = manager.getGradeStats(null);
+        assertEquals(2, all.count());
+        assertEquals(70.0, all.average(), 1e-9);
+        assertEquals(100.0, all.variance(), 1e-9);
+        assertEquals(60.0, all.min());
+        assertEquals(80.0, all.max());
+        assertEquals(70.0, manager.calculateAverageGrade("MA1"), 1e-9);
+
+        manager.updateStudent(a.getStudentID(), new Student("Al", 20, 90.0, LocalDate.now(), new ArrayList<>()));
+        GradeStats math = manager.getGradeStats("MA1");
+        assertEquals(85.0, math.average(), 1e-9);
+        assertEquals(80.0, math.min());
+        assertEquals(90.0, math.max());
+        assertEquals(math, manager.analytics().gradeStats(ColumnarStudentStore.Filter.course("MA1")));
+        assertArrayEquals(new int[] { 0, 0, 0, 1, 1 }, manager.gradeDistribution("MA1"));
+
+        manager.removeCourseFromStudent(a.getStudentID(), "MA1");
+        assertEquals(1, manager.getGradeStats("MA1").count());
+        assertEquals(80.0, manager.getGradeStats("MA1").max());
+
+        assertArrayEquals(new int[] { 0, 0, 0, 1, 0 }, manager.gradeDistribution("MA1"));
+
+        manager.removeStudent(b.getStudentID());
+        assertEquals(0, manager.getGradeStats("MA1").count());
+        assertEquals(90.0, manager.getGradeStats(null).min());
+        assertEquals(90.0, manager.calculateAverageGrade(), 1e-9);
+
+        manager.removeStudent(a.getStudentID());
+        assertEquals(GradeStats.EMPTY, manager.getGradeStats(null));
+    }
+
     /**
      * Verifies that students can be searched by name or ID.
      */
@@ -174,25 +368,355 @@ class StudentManagerImplTest {
     }
 
     /**
-     * Verifies that exporting to CSV and importing from CSV works without data
-     * loss.
+     * Verifies that repeated reads are served from the cache and that every
+     * write path invalidates the affected results.
      */
     @Test
-    void testExportImportCSV() {
-        String file = "test_students.csv";
+    void testReadCacheInvalidation() {
+        Student s = new Student("Ivy", 20, 60.0, LocalDate.now(), new ArrayList<>());
+        manager.addStudent(s);
+
+        manager.displayAllStudents("grade");
+        long hits = manager.getCacheStats().queryHits();
+        manager.displayAllStudents("grade");
+        assertEquals(hits + 1, manager.getCacheStats().queryHits());
+
+        manager.updateStudent(s.getStudentID(), new Student("Ivy", 20, 75.0, LocalDate.now(), new ArrayList<>()));
+        assertEquals(75.0, manager.displayAllStudents("grade").get(0).getGrade());
+        assertEquals(75.0, manager.findStudent(s.getStudentID()).getGrade());
+
+        assertEquals(0, manager.countStudents("BIO1"));
+        manager.addCourseToStudent(s.getStudentID(), "BIO1", "Biology", 4);
+        assertEquals(1, manager.countStudents("BIO1"));
+        assertEquals(1, manager.findStudent(s.getStudentID()).getCourses().size());
+        manager.removeCourseFromStudent(s.getStudentID(), "BIO1");
+        assertEquals(0, manager.countStudents("BIO1"));
 
-        Student s = new Student("Dana", 20, 95.0, LocalDate.now(), new ArrayList<>());
+        manager.displayAllStudents().get(0).addCourse("MUTATED");
+        assertEquals(0, manager.displayAllStudents().get(0).getCourses().size());
+
+        manager.removeStudent(s.getStudentID());
+        assertNull(manager.findStudent(s.getStudentID()));
+        assertEquals(0, manager.countStudents(null));
+    }
+
+    /**
+     * Verifies that the in-memory quick search matches substrings of names,
+     * IDs and course codes and follows every write path.
+     */
+    @Test
+    void testQuickSearch() {
+        Student s = new Student("Charlie Brown", 22, 70.0, LocalDate.now(), new ArrayList<>());
         manager.addStudent(s);
+        manager.addStudents(java.util.List.of(
+                new Student("Lucy van Pelt", 21, 80.0, LocalDate.now(), new ArrayList<>())));
+
+        assertEquals(1, manager.quickSearch("arli").size());
+        assertEquals(1, manager.quickSearch(s.getStudentID().substring(4, 12)).size());
+        assertEquals(1, manager.quickSearch(s.getStudentID().toUpperCase()).size());
+        assertEquals(1, manager.quickSearch(s.getStudentID().substring(30)).size());
+        assertEquals(1, manager.quickSearch("PELT").size());
+        assertEquals(2, manager.quickSearch("c").size());
+
+        manager.addCourseToStudent(s.getStudentID(), "PHYS301", "Physics", 4);
+        assertEquals(1, manager.quickSearch("ys30").size());
+        manager.removeCourseFromStudent(s.getStudentID(), "PHYS301");
+        assertEquals(0, manager.quickSearch("ys30").size());
+
+        manager.updateStudent(s.getStudentID(),
+                new Student("Snoopy", 22, 70.0, LocalDate.now(), new ArrayList<>()));
+        assertEquals(0, manager.quickSearch("arli").size());
+        assertEquals(1, manager.quickSearch("noop").size());
 
-        manager.exportStudentsToCSV(file);
         manager.removeStudent(s.getStudentID());
+        assertEquals(0, manager.quickSearch("noop").size());
+    }
 
-        assertEquals(0, manager.displayAllStudents().size());
+    /**
+     * Verifies that the search index follows renames, enrollments and deletions
+     * and that multi-word queries require every word to match.
+     */
+    @Test
+    void testSearchIndexStaysInSync() {
+        Student s = new Student("Grace Hopper", 30, 99.0, LocalDate.now(), new ArrayList<>());
+        manager.addStudent(s);
+        manager.addCourseToStudent(s.getStudentID(), "CS200", "Compilers", 4);
 
-        manager.importStudentsFromCSV(file);
+        assertEquals(1, manager.searchStudents("grace comp").size());
+        assertEquals(1, manager.searchStudents("cs2").size());
+        assertEquals(0, manager.searchStudents("grace turing").size());
 
-        assertEquals(1, manager.displayAllStudents().size());
-        assertEquals("Dana", manager.displayAllStudents().get(0).getName());
+        manager.updateStudent(s.getStudentID(),
+                new Student("Ada Lovelace", 30, 99.0, LocalDate.now(), new ArrayList<>()));
+        assertEquals(0, manager.searchStudents("grace").size());
+        assertEquals(1, manager.searchStudents("lovel").size());
+
+        manager.removeCourseFromStudent(s.getStudentID(), "CS200");
+        assertEquals(0, manager.searchStudents("compilers").size());
+
+        manager.removeStudent(s.getStudentID());
+        assertEquals(0, manager.searchStudents("ada").size());
+    }
+
+    /**
+     * Verifies that exporting to CSV and importing from CSV works without data
+     * loss.
+     *
+     * @throws java.io.IOException If the temporary CSV file cannot be created
+     *                             or deleted.
+     */
+    @Test
+    void testExportImportCSV() throws java.io.IOException {
+        java.nio.file.Path path = java.nio.file.Files.createTempFile("test_students_", ".csv");
+        String file = path.toString();
+        try {
+            Student s = new Student("Dana", 20, 95.0, LocalDate.now(), new ArrayList<>());
+            manager.addStudent(s);
+
+            manager.exportStudentsToCSV(file);
+            manager.removeStudent(s.getStudentID());
+
+            assertEquals(0, manager.displayAllStudents().size());
+
+            manager.importStudentsFromCSV(file);
+
+            assertEquals(1, manager.displayAllStudents().size());
+            assertEquals("Dana", manager.displayAllStudents().get(0).getName());
+        } finally {
+            java.nio.file.Files.deleteIfExists(path);
+        }
+    }
+
+    /**
+     * Verifies that a snapshot round-trips students and courses, is used only
+     * while the data is unchanged and feeds the quick search index.
+     *
+     * @throws java.io.IOException If the temporary snapshot file cannot be
+     *                             created or read.
+     */
+    @Test
+    void testSnapshotRoundTrip() throws java.io.IOException {
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("test_snapshot_", ".bin");
+        file.toFile().deleteOnExit();
+        ArrayList<String> courses = new ArrayList<>(java.util.List.of("CS101", "MA201"));
+        Student ada = new Student("Ada", 36, 99.5, LocalDate.of(1842, 1, 1), courses);
+        manager.addStudent(ada);
+        manager.addStudent(new Student("Alan", 41, 88.0, LocalDate.of(1950, 10, 1),
+                new ArrayList<>(java.util.List.of("CS101"))));
+
+        assertEquals(2, manager.saveSnapshot(file));
+        StudentSnapshot snapshot = StudentSnapshot.open(file);
+        Student read = snapshot.iterator().next();
+        assertEquals(ada.getStudentID(), read.getStudentID());
+        assertEquals("Ada", read.getName());
+        assertEquals(99.5, read.getGrade());
+        assertEquals(LocalDate.of(1842, 1, 1), read.getEnrollmentDate());
+        assertEquals(courses, read.getCourses());
+
+        assertTrue(manager.loadSnapshot(file));
+        assertEquals(1, manager.quickSearch("ada").size());
+
+        manager.addStudent(new Student("Grace", 30, 95.0, LocalDate.now(), new ArrayList<>()));
+        assertFalse(manager.loadSnapshot(file));
+        assertEquals(3, manager.saveSnapshot(file));
+        assertTrue(manager.loadSnapshot(file));
+
+        java.nio.file.Files.write(file, new byte[] { 1, 2, 3 }, java.nio.file.StandardOpenOption.APPEND);
+        assertFalse(manager.loadSnapshot(file));
+    }
+
+    /**
+     * Verifies that the export quotes fields, formats grades with two decimals,
+     * aggregates courses and applies the search and course filters.
+     *
+     * @throws java.io.IOException If the exported file cannot be read.
+     */
+    @Test
+    void testFilteredExport() throws java.io.IOException {
+        java.io.File csv = java.io.File.createTempFile("test_export_", ".csv");
+        csv.deleteOnExit();
+        ArrayList<String> courses = new ArrayList<>(java.util.List.of("MA201", "CS101"));
+        manager.addStudent(new Student("Lovelace, Ada", 36, 99.5, LocalDate.of(1842, 1, 1), courses));
+        manager.addStudent(new Student("Alan", 41, 88.255, LocalDate.of(1950, 10, 1), new ArrayList<>()));
+
+        assertEquals(2, manager.exportStudentsToCSV(csv.getPath(), null, null));
+        java.util.List<String> lines = java.nio.file.Files.readAllLines(csv.toPath());
+        assertEquals("name,age,grade,enrollmentDate,courses", lines.get(0));
+        assertEquals("Alan,41,88.26,1950-10-01,", lines.get(1));
+        assertEquals("\"Lovelace, Ada\",36,99.50,1842-01-01,CS101;MA201", lines.get(2));
+
+        assertEquals(1, manager.exportStudentsToCSV(csv.getPath(), null, "CS101"));
+        assertEquals(1, manager.exportStudentsToCSV(csv.getPath(), "alan", null));
+        assertEquals(0, manager.exportStudentsToCSV(csv.getPath(), "alan", "CS101"));
+        assertEquals(0, manager.exportStudentsToCSV(csv.getPath(), "%%", null));
+
+        assertEquals(1, manager.exportStudentsToCSV(csv.getPath(), manager.quickSearch("ace, a")));
+        assertEquals("\"Lovelace, Ada\",36,99.50,1842-01-01,CS101;MA201",
+                java.nio.file.Files.readAllLines(csv.toPath()).get(1));
+
+        manager.exportStudentsToCSV(csv.getPath(), null, null);
+        for (Student s : manager.displayAllStudents()) {
+            manager.removeStudent(s.getStudentID());
+        }
+        manager.importStudentsFromCSV(csv.getPath());
+        assertEquals(1, manager.searchStudents("Lovelace").size());
+        assertEquals("Lovelace, Ada", manager.searchStudents("Lovelace").get(0).getName());
+    }
+
+    /**
+     * Verifies that the pipelined CSV import inserts every valid line across
+     * several chunks, counts invalid lines and reports progress.
+     *
+     * @throws java.io.IOException If the temporary CSV file cannot be written.
+     */
+    @Test
+    void testPipelinedImport() throws java.io.IOException {
+        java.io.File csv = java.io.File.createTempFile("test_import_", ".csv");
+        csv.deleteOnExit();
+        int valid = StudentManagerImpl.DEFAULT_COMMIT_INTERVAL * 2 + 17;
+        try (java.io.PrintWriter out = new java.io.PrintWriter(csv)) {
+            out.println("name,age,grade,enrollmentDate,courses");
+            for (int i = 0; i < valid; i++) {
+                out.println("Student" + i + "," + (18 + i % 60) + "," + (i % 100) + ".5,2024-09-01,"
+                        + (i % 3 == 0 ? "CS101;MA201" : ""));
+                if (i % 500 == 0) {
+                    out.println("Broken" + i + ",not-a-number,50,2024-09-01,");
+                    out.println("TooYoung" + i + ",12,50,2024-09-01,");
+                }
+            }
+        }
+
+        java.util.List<CsvImportPipeline.ImportStats> progress = new java.util.ArrayList<>();
+        CsvImportPipeline.ImportStats stats = manager.importStudentsFromCSV(csv.getPath(), progress::add);
+
+        assertNotNull(stats);
+        assertEquals(valid, stats.inserted());
+        assertEquals(10, stats.invalid());
+        assertEquals(valid + 10, stats.linesRead());
+        assertEquals(0, stats.skipped());
+        assertTrue(progress.size() >= 3);
+        assertEquals(stats, progress.get(progress.size() - 1));
+        assertEquals(valid, manager.countStudents(null));
+    }
+
+    /**
+     * Verifies that the memory-mapped import handles quoted names and skips
+     * invalid rows.
+     *
+     * @throws java.io.IOException If the temporary CSV file cannot be written.
+     */
+    @Test
+    void testMappedImport() throws java.io.IOException {
+        java.io.File csv = java.io.File.createTempFile("test_import_", ".csv");
+        csv.deleteOnExit();
+        java.nio.file.Files.writeString(csv.toPath(), "name,age,grade,enrollmentDate,courses\n"
+                + "\"Lovelace, Ada\",36,99.5,1842-01-01,CS101;MA201\n"
+                + "Grace,17,90,2024-01-01,\n"
+                + ",30,90,2024-01-01,\n"
+                + "Alan,41,88.25,1950-10-01,\n");
+
+        CsvImportPipeline.ImportStats stats = manager.importStudentsFromCSV(csv.getPath(), CsvImportMode.MAPPED,
+                null);
+
+        assertNotNull(stats);
+        assertEquals(4, stats.linesRead());
+        assertEquals(2, stats.inserted());
+        assertEquals(2, stats.invalid());
+        Student ada = manager.searchStudents("Lovelace").get(0);
+        assertEquals("Lovelace, Ada", ada.getName());
+        assertEquals(2, ada.getCourses().size());
+    }
+
+    /**
+     * Verifies that operations are recorded under their own name with their
+     * rows, and that an operation delegating to another is recorded once.
+     */
+    @Test
+    void testOperationMetrics() {
+        Student s = new Student("Metric", 30, 80.0, LocalDate.now(), new ArrayList<>(java.util.List.of("CS101")));
+        manager.addStudent(s);
+        manager.metrics().reset();
+
+        manager.updateStudent(s.getStudentID(), new Student("Metric", 31, 81.0, LocalDate.now(), new ArrayList<>()));
+        manager.searchStudents("Metric");
+        manager.searchStudents("Metric");
+        manager.calculateAverageGrade();
+
+        OperationMetrics.Snapshot update = manager.metrics().snapshot("updateStudent");
+        assertEquals(1, update.calls());
+        assertEquals(0, update.errors());
+        assertEquals(1, update.rowsWritten());
+        assertTrue(update.maxNanos() > 0);
+
+        OperationMetrics.Snapshot search = manager.metrics().snapshot("searchStudents");
+        assertEquals(2, search.calls());
+        assertEquals(2, search.rowsRead());
+        assertTrue(search.p50Nanos() <= search.p99Nanos() && search.p99Nanos() <= search.maxNanos());
+
+        assertEquals(1, manager.metrics().snapshot("calculateAverageGrade").calls());
+        assertNull(manager.metrics().snapshot("getGradeStats"));
+    }
+
+    /**
+     * Verifies that statements are recorded as Flight Recorder events carrying
+     * the operation, SQL template, bind count and rows.
+     *
+     * @throws Exception If the recording cannot be written or read.
+     */
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        Student s = new Student("Recorded", 30, 80.0, LocalDate.now(), new ArrayList<>(java.util.List.of("CS101")));
+        java.nio.file.Path file = java.nio.file.Files.createTempFile("test_recording_", ".jfr");
+        file.toFile().deleteOnExit();
+
+        try (jdk.jfr.Recording recording = new jdk.jfr.Recording()) {
+            recording.enable("studentmanagement.DatabaseStatement").withThreshold(java.time.Duration.ZERO);
+            recording.start();
+            manager.addStudent(s);
+            manager.searchStudents("Recorded");
+            recording.stop();
+            recording.dump(file);
+        }
+
+        java.util.List<jdk.jfr.consumer.RecordedEvent> events = jdk.jfr.consumer.RecordingFile.readAllEvents(file);
+        jdk.jfr.consumer.RecordedEvent insert = events.stream()
+                .filter(e -> e.getString("sql").startsWith("INSERT INTO students"))
+                .findFirst().orElseThrow();
+        assertEquals("addStudent", insert.getString("operation"));
+        assertEquals(5, insert.getInt("bindCount"));
+        assertEquals(1, insert.getLong("rows"));
+
+        jdk.jfr.consumer.RecordedEvent search = events.stream()
+                .filter(e -> "searchStudents".equals(e.getString("operation")))
+                .findFirst().orElseThrow();
+        assertTrue(search.getString("sql").contains("student_search MATCH ?"));
+        assertEquals(1, search.getLong("rows"));
+        assertFalse(search.getString("sql").contains("\n"));
+    }
+
+    /**
+     * Verifies that statements over the slow query threshold are kept with
+     * their operation, redacted values and query plan.
+     */
+    @Test
+    void testSlowQueryLog() {
+        manager.addStudent(new Student("Slowpoke", 30, 80.0, LocalDate.now(), new ArrayList<>()));
+        SlowQueryLog log = manager.slowQueries();
+        long threshold = log.getThresholdMillis();
+        log.setThresholdMillis(-1);
+        assertFalse(TracedConnection.isNeeded(log), "connections traced without a recording or slow log");
+        log.setThresholdMillis(0);
+        try {
+            log.clear();
+            assertEquals(1, manager.searchStudents("Slowpoke").size());
+
+            SlowQueryLog.Entry search = log.entries("searchStudents").get(0);
+            assertTrue(search.sql().contains("student_search MATCH ?"));
+            assertTrue(search.plan().contains("student_search"), search.plan());
+            assertFalse(search.parameters().toString().contains("slowpoke"));
+        } finally {
+            log.setThresholdMillis(threshold);
+        }
     }
 
     /**
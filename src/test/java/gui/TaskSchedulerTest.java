@@ -0,0 +1,127 @@
+package gui;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import core.AsyncStudentManager;
+import core.StudentManager;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JUnit 5 test suite for the TaskScheduler class.
+ *
+ * <p>
+ * Verifies that coalesced requests deliver only the latest result, that a
+ * superseded request is cancelled and that debounced requests run once. A
+ * single-thread executor stands in for the JavaFX application thread, so the
+ * toolkit is not needed.
+ * </p>
+ */
+class TaskSchedulerTest {
+
+    private ExecutorService fxThread;
+    private AsyncStudentManager async;
+    private TaskScheduler scheduler;
+    private final AtomicInteger depth = new AtomicInteger();
+    private final List<Object> delivered = new CopyOnWriteArrayList<>();
+    private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void createScheduler() throws Exception {
+        fxThread = Executors.newSingleThreadExecutor();
+        StudentManager stub = (StudentManager) Proxy.newProxyInstance(StudentManager.class.getClassLoader(),
+                new Class<?>[] { StudentManager.class }, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        async = new AsyncStudentManager(stub);
+        onFxThread(() -> scheduler = new TaskScheduler(async, depth::set, fxThread));
+    }
+
+    @AfterEach
+    void closeScheduler() throws Exception {
+        onFxThread(scheduler::close);
+        async.close();
+        fxThread.shutdownNow();
+    }
+
+    /**
+     * Verifies that a newer request for a key cancels the running one and that
+     * only the newer result is delivered.
+     */
+    @Test
+    void testLatestWins() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        onFxThread(() -> scheduler.latest("search", "search", Duration.ZERO, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "first";
+        }, delivered::add, failures::add));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        assertEquals(1, depth.get());
+
+        onFxThread(() -> scheduler.latest("search", "search", Duration.ZERO, () -> "second", result -> {
+            delivered.add(result);
+            done.countDown();
+        }, failures::add));
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS), "superseded task not cancelled");
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        onFxThread(() -> {
+        });
+        assertEquals(List.of("second"), delivered);
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertEquals(0, depth.get());
+    }
+
+    /**
+     * Verifies that requests arriving within the debounce delay replace each
+     * other before running, so only the last one runs.
+     */
+    @Test
+    void testDebounce() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(1);
+        for (int i = 1; i <= 3; i++) {
+            int request = i;
+            onFxThread(() -> scheduler.latest("filter", "filter", Duration.ofMillis(200), () -> {
+                runs.incrementAndGet();
+                return request;
+            }, result -> {
+                delivered.add(result);
+                done.countDown();
+            }, failures::add));
+        }
+        assertEquals(1, depth.get());
+
+        assertTrue(done.await(2, TimeUnit.SECONDS));
+        onFxThread(() -> {
+        });
+        assertEquals(1, runs.get());
+        assertEquals(List.of(3), delivered);
+        assertEquals(0, depth.get());
+    }
+
+    /**
+     * Runs an action on the stand-in application thread and waits for it.
+     */
+    private void onFxThread(Runnable action) throws Exception {
+        fxThread.submit(action).get(1, TimeUnit.SECONDS);
+    }
+}